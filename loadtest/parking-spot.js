@@ -0,0 +1,69 @@
+// k6 load test for the parking spot API.
+//
+// Compare the two request execution modes against the same PostgreSQL database:
+//   java -jar target/parking-control-0.0.1-SNAPSHOT.jar                                      (platform threads)
+//   java -jar target/parking-control-0.0.1-SNAPSHOT.jar --spring.profiles.active=virtual-threads
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=800 loadtest/parking-spot.js
+//
+// Report http_req_duration p95/p99, http_reqs rate and the http_req_failed ratio of each run.
+//
+// k6 sends every request from one address, so keep the rate limit at its default (off) for both runs. Requests
+// shed by the concurrency limit (503) show up in http_req_failed.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API = `${BASE_URL}/rest/api/v1/parking-spot`;
+const VUS = parseInt(__ENV.VUS || '400');
+
+export const options = {
+    scenarios: {
+        gate_peak: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function plate() {
+    const chars = 'ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789';
+    let value = '';
+    for (let i = 0; i < 7; i++) {
+        value += chars.charAt(Math.floor(Math.random() * chars.length));
+    }
+    return value;
+}
+
+export default function () {
+    const roll = Math.random();
+
+    if (roll < 0.2) {
+        const id = `${__VU}-${__ITER}-${Math.floor(Math.random() * 1e6)}`;
+        const body = JSON.stringify({
+            parkingSpotNumber: id.substring(0, 10),
+            licensePlateCar: plate(),
+            brandCar: 'Hyundai',
+            modelCar: 'Veloster',
+            colorCar: 'Black',
+            responsibleName: 'Load Test',
+            apartment: id,
+            block: 'LT',
+        });
+        const res = http.post(API, body, { headers: { 'Content-Type': 'application/json' } });
+        check(res, { 'registered or conflict': (r) => r.status === 201 || r.status === 409 });
+    } else if (roll < 0.6) {
+        const res = http.get(`${API}?cursor=&size=20`);
+        check(res, { 'slice ok': (r) => r.status === 200 });
+    } else {
+        const res = http.get(`${API}?page=${Math.floor(Math.random() * 5)}&size=20`);
+        check(res, { 'page ok': (r) => r.status === 200 });
+    }
+}
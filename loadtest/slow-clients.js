@@ -0,0 +1,93 @@
+// k6 load test for many slow clients: every VU keeps one keep-alive connection and thinks between requests, so the
+// servlet and the reactive variant can be compared by latency and by server memory per open connection.
+//
+// Both applications run from the jar of the reactive build, against the same PostgreSQL database:
+//   mvn -Preactive -DskipTests package
+//   java -Dloader.main=com.api.parkingcontrol.ParkingControlApplication -cp target/parking-control-0.0.1-SNAPSHOT.jar \
+//        org.springframework.boot.loader.PropertiesLauncher --parking-spot.rate-limit.enabled=false    (servlet, migrates)
+//   java -jar target/parking-control-0.0.1-SNAPSHOT.jar --spring.r2dbc.url=r2dbc:postgresql://localhost:5432/parking
+//   k6 run -e BASE_URL=http://localhost:8080 -e CONNECTIONS=2000 loadtest/slow-clients.js
+//
+// Give both the same -Xmx. Report http_req_duration p95/p99, http_req_failed, and server_memory_per_connection_kb and
+// server_threads, which are sampled from /actuator/metrics while all connections are open.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API = `${BASE_URL}/rest/api/v1/parking-spot`;
+const CONNECTIONS = parseInt(__ENV.CONNECTIONS || '1000');
+const THINK_TIME = parseFloat(__ENV.THINK_TIME || '1');
+const SPOTS = 50;
+
+const memoryPerConnection = new Trend('server_memory_per_connection_kb');
+const threads = new Trend('server_threads');
+
+export const options = {
+    scenarios: {
+        slow_clients: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: CONNECTIONS },
+                { duration: '2m', target: CONNECTIONS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+        server_probe: {
+            executor: 'constant-arrival-rate',
+            exec: 'probe',
+            rate: 1,
+            timeUnit: '5s',
+            startTime: '45s',
+            duration: '1m45s',
+            preAllocatedVUs: 1,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function metric(name, tag) {
+    const query = tag ? `?tag=${tag}` : '';
+    const res = http.get(`${BASE_URL}/actuator/metrics/${name}${query}`, { tags: { name: 'actuator' } });
+    return res.json('measurements.0.value');
+}
+
+function spot(n) {
+    return JSON.stringify({
+        parkingSpotNumber: `SC${n}`,
+        licensePlateCar: `SLC${String(n).padStart(4, '0')}`,
+        brandCar: 'Hyundai',
+        modelCar: 'Veloster',
+        colorCar: 'Black',
+        responsibleName: 'Load Test',
+        apartment: `SC${n}`,
+        block: 'SC',
+    });
+}
+
+// Registers the spots the clients read (409 when a previous run left them) and records the idle memory.
+export function setup() {
+    for (let n = 0; n < SPOTS; n++) {
+        http.post(API, spot(n), { headers: { 'Content-Type': 'application/json' } });
+    }
+    return { idleMemory: metric('jvm.memory.used') };
+}
+
+export default function () {
+    if (Math.random() < 0.5) {
+        const res = http.get(`${API}?cursor=&size=20`);
+        check(res, { 'slice ok': (r) => r.status === 200 });
+    } else {
+        const res = http.get(`${API}/search?block=SC&size=10&page=${Math.floor(Math.random() * 5)}`);
+        check(res, { 'search ok': (r) => r.status === 200 });
+    }
+    sleep(THINK_TIME * (0.5 + Math.random()));
+}
+
+export function probe(data) {
+    memoryPerConnection.add((metric('jvm.memory.used') - data.idleMemory) / CONNECTIONS / 1024);
+    threads.add(metric('jvm.threads.live'));
+}
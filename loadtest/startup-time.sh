@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Startup time and time to first request of the parking spot API, per launch mode.
+#
+#   mvn -Pfast-startup -DskipTests package
+#   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/parking loadtest/startup-time.sh [runs]
+#
+# Every mode runs the thin jar from target/fast-startup on the same class path:
+#   default       plain JVM start
+#   aot           Spring AOT bean definitions (-Dspring.aot.enabled=true)
+#   aot-lazy      plus the fast-startup profile (lazy initialization, deferred JPA bootstrap)
+#   aot-lazy-cds  plus an AppCDS archive, recorded by a training run on the first invocation
+#
+# For each mode the script prints the median over the runs of the startup time Spring logs and of the wall-clock
+# time from launching the JVM until GET /rest/api/v1/parking-spot answers 200. Extra JVM options go in JAVA_OPTS,
+# extra class path entries (e.g. a JDBC driver) in EXTRA_CLASSPATH; keep them identical between runs to compare.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+DIR=target/fast-startup
+JAR=$(ls "$DIR"/*-app.jar)
+CLASSPATH="$JAR${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}"
+ARCHIVE="$DIR/app.jsa"
+MAIN=com.api.parkingcontrol.ParkingControlApplication
+URL="http://localhost:$PORT/rest/api/v1/parking-spot?size=1"
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+# Starts the application with the given JVM options, waits for the first 200 and stops it again.
+# Prints "<spring startup ms> <first request ms>".
+measure() {
+  local start now pid
+  start=$(date +%s%N)
+  # shellcheck disable=SC2086
+  java ${JAVA_OPTS:-} "$@" -cp "$CLASSPATH" "$MAIN" --server.port="$PORT" --parking-spot.rate-limit.enabled=false \
+    >"$LOG" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      cat "$LOG" >&2
+      echo "Application exited before answering." >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  now=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" || true
+  local started
+  started=$(sed -n 's/.*Started ParkingControlApplication in \([0-9.]*\) seconds.*/\1/p' "$LOG" | head -1)
+  echo "$(awk -v s="$started" 'BEGIN { printf "%d", s * 1000 }') $(( (now - start) / 1000000 ))"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run_mode() {
+  local mode=$1
+  shift
+  local results=()
+  for ((i = 0; i < RUNS; i++)); do
+    results+=("$(measure "$@")")
+  done
+  printf '%-14s %10s %14s\n' "$mode" \
+    "$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)" \
+    "$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)"
+}
+
+AOT=(-Dspring.aot.enabled=true)
+LAZY=(-Dspring.profiles.active=fast-startup)
+
+if [[ ! -f "$ARCHIVE" ]]; then
+  echo "Recording the CDS archive $ARCHIVE ..." >&2
+  measure "${AOT[@]}" "${LAZY[@]}" -XX:ArchiveClassesAtExit="$ARCHIVE" >/dev/null
+fi
+
+printf '%-14s %10s %14s\n' mode started-ms first-request-ms
+run_mode default
+run_mode aot "${AOT[@]}"
+run_mode aot-lazy "${AOT[@]}" "${LAZY[@]}"
+run_mode aot-lazy-cds "${AOT[@]}" "${LAZY[@]}" -XX:SharedArchiveFile="$ARCHIVE"
@@ -0,0 +1,83 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.ParkingControlApplication;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Test data and application bootstrap shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Starts the application without a web server against a private in-memory H2 database. The given properties
+     * are passed as command line arguments, so they win over the configuration files.
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        return new SpringApplicationBuilder(ParkingControlApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    static ParkingSpotRequestDto request(int n) {
+        return ParkingSpotRequestDto.builder()
+                .parkingSpotNumber("S" + n)
+                .licensePlateCar(plate(n))
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .responsibleName("Responsible " + n)
+                .apartment(Integer.toString(n))
+                .block("B")
+                .build();
+    }
+
+    static List<ParkingSpotRequestDto> requests(int from, int count) {
+        List<ParkingSpotRequestDto> requests = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++)
+            requests.add(request(i));
+        return requests;
+    }
+
+    static ParkingSpotModel parkingSpot(int n) {
+        ParkingSpotRequestDto request = request(n);
+        return ParkingSpotModel.builder()
+                .id(UUID.randomUUID())
+                .parkingSpotNumber(request.getParkingSpotNumber())
+                .licensePlateCar(request.getLicensePlateCar())
+                .brandCar(request.getBrandCar())
+                .modelCar(request.getModelCar())
+                .colorCar(request.getColorCar())
+                .registrationDate(Instant.parse("2023-05-01T12:00:00Z").plusSeconds(n))
+                .responsibleName(request.getResponsibleName())
+                .apartment(request.getApartment())
+                .block(request.getBlock())
+                .build();
+    }
+
+    /**
+     * Unique 7-char plate for every n below 36^7.
+     */
+    static String plate(int n) {
+        String base36 = Integer.toString(n, 36).toUpperCase(Locale.ROOT);
+        return "0".repeat(7 - base36.length()) + base36;
+    }
+}
@@ -0,0 +1,94 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uniqueness check before a registration: the former three {@code exists*} queries against the single
+ * {@code findConflictingKeys} query. Each benchmark also prints the JDBC statements it issued per operation. The query
+ * cache is off, since it would answer the repeated {@code exists*} checks without a statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ParkingSpotRepository parkingSpotRepository;
+    private Statistics statistics;
+    private ParkingSpotRequestDto candidate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("spring.jpa.properties.hibernate.generate_statistics=true",
+                "parking-spot.second-level-cache.query-cache=false");
+        parkingSpotRepository = context.getBean(ParkingSpotRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        ParkingSpotService parkingSpotService = context.getBean(ParkingSpotService.class);
+        for (int from = 0; from < rows; from += 1_000)
+            parkingSpotService.saveAll(BenchmarkFixtures.requests(from, Math.min(1_000, rows - from)));
+
+        candidate = BenchmarkFixtures.request(rows + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void threeExistsQueries(StatementCounter counter, Blackhole blackhole) {
+        long before = statistics.getPrepareStatementCount();
+        blackhole.consume(parkingSpotRepository.existsByParkingSpotNumber(candidate.getParkingSpotNumber()));
+        blackhole.consume(parkingSpotRepository.existsByLicensePlateCar(candidate.getLicensePlateCar()));
+        blackhole.consume(parkingSpotRepository.existsByApartmentAndBlock(candidate.getApartment(), candidate.getBlock()));
+        counter.record(statistics.getPrepareStatementCount() - before);
+    }
+
+    @Benchmark
+    public List<ParkingSpotKeysDto> singleConflictQuery(StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        List<ParkingSpotKeysDto> conflicts = parkingSpotRepository.findConflictingKeys(candidate.getParkingSpotNumber(),
+                candidate.getLicensePlateCar(), candidate.getApartment(), candidate.getBlock());
+        counter.record(statistics.getPrepareStatementCount() - before);
+        return conflicts;
+    }
+
+    /**
+     * Counts JDBC statements per operation and prints the ratio at the end of the trial.
+     */
+    @State(Scope.Thread)
+    public static class StatementCounter {
+        long statements;
+        long operations;
+
+        void record(long statementCount) {
+            statements += statementCount;
+            operations++;
+        }
+
+        @TearDown(Level.Trial)
+        public void report(BenchmarkParams params) {
+            System.out.printf("%n%s: %.2f JDBC statements/op%n", params.getBenchmark(), (double) statements / operations);
+        }
+    }
+}
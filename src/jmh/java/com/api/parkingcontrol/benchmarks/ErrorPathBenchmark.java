@@ -0,0 +1,82 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Rejected requests through the whole MVC stack (dispatcher, controller, proxies, exception handler, JSON): a
+ * duplicate license plate (409), an unknown id (404) and, as a reference, a successful read of the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String duplicatePlate;
+    private String knownUri;
+    private String unknownUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("spring.main.web-application-type=servlet", "server.port=0",
+                "parking-spot.rate-limit.enabled=false");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        ParkingSpotService parkingSpotService = context.getBean(ParkingSpotService.class);
+        parkingSpotService.saveAll(BenchmarkFixtures.requests(0, 1_000));
+
+        String plate = BenchmarkFixtures.plate(500);
+        duplicatePlate = "{\"parkingSpotNumber\":\"D1\",\"licensePlateCar\":\"" + plate + "\",\"brandCar\":\"Hyundai\"," +
+                "\"modelCar\":\"Veloster\",\"colorCar\":\"Black\",\"responsibleName\":\"Anyone\",\"apartment\":\"D1\",\"block\":\"D\"}";
+
+        UUID knownId = context.getBean(ParkingSpotRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        knownUri = "/rest/api/v1/parking-spot/" + knownId;
+        unknownUri = "/rest/api/v1/parking-spot/" + UUID.randomUUID();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String duplicateLicensePlate() throws Exception {
+        return check(mockMvc.perform(post("/rest/api/v1/parking-spot").contentType(MediaType.APPLICATION_JSON).content(duplicatePlate))
+                .andReturn().getResponse(), 409);
+    }
+
+    @Benchmark
+    public String unknownId() throws Exception {
+        return check(mockMvc.perform(get(unknownUri)).andReturn().getResponse(), 404);
+    }
+
+    @Benchmark
+    public String knownIdCached() throws Exception {
+        return check(mockMvc.perform(get(knownUri)).andReturn().getResponse(), 200);
+    }
+
+    private static String check(MockHttpServletResponse response, int expectedStatus) throws Exception {
+        if (response.getStatus() != expectedStatus)
+            throw new IllegalStateException("Expected " + expectedStatus + " but got " + response.getStatus());
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.config.DateConfig;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.mapper.ModelMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization through the ObjectMapper registered by {@link DateConfig}, i.e. what the GET endpoints pay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new DateConfig().objectMapper();
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ParkingSpotResponseDto responseDto;
+    private Page<ParkingSpotResponseDto> responsePage;
+
+    @Setup
+    public void setUp() {
+        ModelMapper modelMapper = Mappers.getMapper(ModelMapper.class);
+        responseDto = modelMapper.toResponseDto(BenchmarkFixtures.parkingSpot(1));
+
+        List<ParkingSpotResponseDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++)
+            content.add(modelMapper.toResponseDto(BenchmarkFixtures.parkingSpot(i)));
+        responsePage = new PageImpl<>(content, PageRequest.of(3, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responsePage);
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mixed reads and writes without the Hibernate second-level cache, with its query cache, and with the entity region
+ * as well. Reads are the ones a check-in issues: the spot loaded by id, the license plate lookup and an
+ * {@code exists*} check. Writes are updates, whose single UPDATE statement empties the entity region and invalidates
+ * the cached query results. Runs on H2 by default; pass {@code -Dbenchmark.datasource.url=jdbc:postgresql://...} to
+ * the fork to run on PostgreSQL, where the spots are kept in a facility of their own and its partition is emptied
+ * first. {@code prepareThreshold} only applies there. Each trial prints the JDBC statements per operation and the
+ * cache hit ratios of its last iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MixedWorkloadBenchmark {
+    private static final String FACILITY = "mixed";
+    private static final String[] COLORS = {"Black", "White", "Silver", "Red"};
+
+    /**
+     * none (the default configuration), query or all, which adds the entity region.
+     */
+    @Param({"none", "query", "all"})
+    private String cache;
+
+    @Param({"0", "5", "25"})
+    private int writePercent;
+
+    @Param({"10000"})
+    private int rows;
+
+    /**
+     * Executions after which the PostgreSQL driver prepares a statement on the server; 5 is its default.
+     */
+    @Param({"5"})
+    private int prepareThreshold;
+
+    private ConfigurableApplicationContext context;
+    private ParkingSpotService parkingSpotService;
+    private ParkingSpotRepository parkingSpotRepository;
+    private Statistics statistics;
+    private UUID[] ids;
+    private final LongAdder operations = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                "parking-spot.second-level-cache.query-cache=" + !cache.equals("none"),
+                "parking-spot.second-level-cache.entity-cache=" + cache.equals("all"),
+                "parking-spot.facilities.ids=" + FACILITY,
+                "parking-spot.facilities.default-facility=" + FACILITY,
+                "spring.datasource.hikari.data-source-properties.prepareThreshold=" + prepareThreshold,
+                "spring.jpa.properties.hibernate.generate_statistics=true"));
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url != null)
+            properties.addAll(List.of(
+                    "spring.datasource.url=" + url,
+                    "spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "postgres"),
+                    "spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "postgres"),
+                    "spring.flyway.enabled=true",
+                    "spring.jpa.hibernate.ddl-auto=validate"));
+        context = BenchmarkFixtures.startApplication(properties.toArray(String[]::new));
+        parkingSpotService = context.getBean(ParkingSpotService.class);
+        parkingSpotRepository = context.getBean(ParkingSpotRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        parkingSpotRepository.deleteAllInBatch();
+        for (int from = 0; from < rows; from += 1_000)
+            parkingSpotService.saveAll(BenchmarkFixtures.requests(from, Math.min(1_000, rows - from)));
+
+        ids = new UUID[rows];
+        for (ParkingSpotModel parkingSpot : parkingSpotRepository.findAll())
+            ids[Integer.parseInt(parkingSpot.getApartment())] = parkingSpot.getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%ncache=%s writePercent=%d: %.2f JDBC statements/op, entity cache hit ratio %.2f, "
+                        + "query cache hit ratio %.2f%n", cache, writePercent,
+                (double) statistics.getPrepareStatementCount() / operations.sum(),
+                ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        context.close();
+    }
+
+    @Benchmark
+    public Object mixed(Workload workload) {
+        operations.increment();
+        int n = workload.random.nextInt(rows);
+        if (workload.random.nextInt(100) < writePercent)
+            return parkingSpotService.update(ids[n], workload.recolored(n), null);
+
+        String licensePlateCar = BenchmarkFixtures.plate(n);
+        return switch (n % 3) {
+            case 0 -> parkingSpotRepository.findById(ids[n]);
+            case 1 -> parkingSpotRepository.findIdByLicensePlateCar(licensePlateCar);
+            default -> parkingSpotService.existsByLicensePlateCar(licensePlateCar);
+        };
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    @State(Scope.Thread)
+    public static class Workload {
+        final SplittableRandom random = new SplittableRandom();
+
+        /**
+         * The same spot in another color, so updates never collide with the unique keys.
+         */
+        ParkingSpotRequestDto recolored(int n) {
+            ParkingSpotRequestDto request = BenchmarkFixtures.request(n);
+            request.setColorCar(COLORS[random.nextInt(COLORS.length)]);
+            return request;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.mapper.ModelMapper;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    private final ModelMapper modelMapper = Mappers.getMapper(ModelMapper.class);
+    private final Clock clock = Clock.systemUTC();
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ParkingSpotRequestDto requestDto;
+    private ParkingSpotModel parkingSpotModel;
+    private Page<ParkingSpotModel> parkingSpotPage;
+
+    @Setup
+    public void setUp() {
+        requestDto = BenchmarkFixtures.request(1);
+        parkingSpotModel = BenchmarkFixtures.parkingSpot(1);
+
+        List<ParkingSpotModel> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++)
+            content.add(BenchmarkFixtures.parkingSpot(i));
+        parkingSpotPage = new PageImpl<>(content, PageRequest.of(3, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public ParkingSpotModel toModel() {
+        return modelMapper.toModel(requestDto, clock);
+    }
+
+    @Benchmark
+    public ParkingSpotResponseDto toResponseDto() {
+        return modelMapper.toResponseDto(parkingSpotModel);
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> toPageResponseDto() {
+        return modelMapper.toPageResponseDto(parkingSpotPage);
+    }
+}
@@ -0,0 +1,97 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.config.CacheConfig;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ParkingSpotService} end to end (proxies, cache, JPA, H2) on a seeded in-memory database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParkingSpotServiceBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ParkingSpotService parkingSpotService;
+    private CacheManager cacheManager;
+    private UUID knownId;
+    private String knownPlate;
+    private final AtomicInteger nextSpot = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication();
+        parkingSpotService = context.getBean(ParkingSpotService.class);
+        cacheManager = context.getBean(CacheManager.class);
+
+        for (int from = 0; from < rows; from += 1_000)
+            parkingSpotService.saveAll(BenchmarkFixtures.requests(from, Math.min(1_000, rows - from)));
+        nextSpot.set(rows);
+
+        ParkingSpotModel known = context.getBean(ParkingSpotRepository.class)
+                .findAll(PageRequest.of(rows / 40, 1)).getContent().get(0);
+        knownId = known.getId();
+        knownPlate = known.getLicensePlateCar();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ParkingSpotResponseDto findByIdCached() {
+        return parkingSpotService.findById(knownId);
+    }
+
+    @Benchmark
+    public ParkingSpotResponseDto findByIdUncached() {
+        cacheManager.getCache(CacheConfig.PARKING_SPOTS).clear();
+        return parkingSpotService.findById(knownId);
+    }
+
+    @Benchmark
+    public boolean existsByLicensePlateCar() {
+        return parkingSpotService.existsByLicensePlateCar(knownPlate);
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> findAllDeepOffsetPage() {
+        return parkingSpotService.findAll(PageRequest.of(rows / 20 - 1, 20));
+    }
+
+    @Benchmark
+    public ParkingSpotSliceResponseDto findAllFirstKeysetSlice() {
+        return parkingSpotService.findAllAfter("", 20);
+    }
+
+    @Benchmark
+    public ParkingSpotResponseDto save() {
+        return parkingSpotService.save(BenchmarkFixtures.request(nextSpot.getAndIncrement()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public Object saveAllBatchOf100() {
+        return parkingSpotService.saveAll(BenchmarkFixtures.requests(nextSpot.getAndAdd(100), 100));
+    }
+}
@@ -0,0 +1,139 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParkingSpotService#search} for each filter of the search endpoint. Runs on H2 by default; pass
+ * {@code -Dbenchmark.datasource.url=jdbc:postgresql://...} (plus {@code .username}/{@code .password}) to the fork
+ * to migrate a PostgreSQL schema with Flyway and measure the real indexes at millions of rows. Seeded rows are kept
+ * between runs, so only the missing ones are inserted. The query plans are printed once per trial on PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String[][] CARS = {
+            {"Hyundai", "Veloster"}, {"Hyundai", "Tucson"}, {"Toyota", "Corolla"}, {"Toyota", "Yaris"},
+            {"Volkswagen", "Golf"}, {"Volkswagen", "Polo"}, {"Fiat", "Uno"}, {"Honda", "Civic"},
+            {"Ford", "Focus"}, {"Chevrolet", "Onix"}, {"Renault", "Kwid"}, {"Nissan", "Leaf"}};
+    private static final String[] COLORS = {"Black", "White", "Silver", "Red", "Blue", "Grey", "Green"};
+    private static final Instant FIRST_REGISTRATION = Instant.parse("2020-01-01T00:00:00Z");
+    private static final String INSERT = "insert into tb_parking_spot (id, facility, parking_spot_number, "
+            + "license_plate_car, brand_car, model_car, color_car, registration_date, responsible_name, apartment, block, "
+            + "version) values (?, 'default', ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ParkingSpotService parkingSpotService;
+    private final Pageable firstPage = PageRequest.of(0, 20, Sort.by("registrationDate"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.datasource.url");
+        context = url == null
+                ? BenchmarkFixtures.startApplication()
+                : BenchmarkFixtures.startApplication(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "postgres"),
+                        "spring.flyway.enabled=true",
+                        "spring.jpa.hibernate.ddl-auto=validate");
+        parkingSpotService = context.getBean(ParkingSpotService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from tb_parking_spot where facility = 'default'", Integer.class);
+        for (int from = existing; from < rows; from += 10_000)
+            jdbcTemplate.batchUpdate(INSERT, rows(from, Math.min(10_000, rows - from)));
+
+        if (url != null) {
+            jdbcTemplate.execute("analyze tb_parking_spot");
+            printPlans(jdbcTemplate);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> blockAndApartment() {
+        return search(new ParkingSpotSearchDto("C", "1234", null, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> licensePlatePrefix() {
+        return search(new ParkingSpotSearchDto(null, null, null, null, null, "0001", null, null));
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> modelContains() {
+        return search(new ParkingSpotSearchDto(null, null, null, "oroll", null, null, null, null));
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> colorAndBlock() {
+        return search(new ParkingSpotSearchDto("C", null, null, null, "red", null, null, null));
+    }
+
+    @Benchmark
+    public Page<ParkingSpotResponseDto> registrationWindow() {
+        return search(new ParkingSpotSearchDto(null, null, null, null, null, null,
+                FIRST_REGISTRATION.plusSeconds(3_600), FIRST_REGISTRATION.plusSeconds(7_200)));
+    }
+
+    private Page<ParkingSpotResponseDto> search(ParkingSpotSearchDto search) {
+        return parkingSpotService.search(search, firstPage);
+    }
+
+    /**
+     * One row per second, so the registration window selects 3600 rows; block and apartment stay unique together.
+     */
+    private static List<Object[]> rows(int from, int count) {
+        List<Object[]> batch = new ArrayList<>(count);
+        for (int n = from; n < from + count; n++) {
+            String[] car = CARS[n % CARS.length];
+            batch.add(new Object[]{UUID.randomUUID(), "S" + n, BenchmarkFixtures.plate(n), car[0], car[1],
+                    COLORS[n % COLORS.length], Timestamp.from(FIRST_REGISTRATION.plusSeconds(n)),
+                    "Responsible " + n, Integer.toString(n / 26), String.valueOf((char) ('A' + n % 26))});
+        }
+        return batch;
+    }
+
+    private static void printPlans(JdbcTemplate jdbcTemplate) {
+        String select = "explain select * from tb_parking_spot where ";
+        String order = " order by registration_date, id limit 20";
+        for (String where : List.of(
+                "block = 'C' and apartment = '1234'",
+                "license_plate_car like '0001%'",
+                "lower(model_car) like '%oroll%'",
+                "block = 'C' and lower(color_car) = 'red'",
+                "registration_date >= '2020-01-01T01:00:00Z' and registration_date < '2020-01-01T02:00:00Z'")) {
+            System.out.println(where);
+            jdbcTemplate.queryForList(select + where + order, String.class)
+                    .forEach(line -> System.out.println("  " + line));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.parkingcontrol.benchmarks;
+
+import com.api.parkingcontrol.config.DateConfig;
+import com.api.parkingcontrol.config.WireFormatConfig;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of one page of {@link ParkingSpotResponseDto} in each representation the API offers, with the mappers the
+ * message converters use. Payload sizes, raw and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<ParkingSpotResponseDto> page;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        WireFormatConfig wireFormatConfig = new WireFormatConfig();
+        mapper = switch (format) {
+            case "json" -> new DateConfig().objectMapper();
+            case "cbor" -> wireFormatConfig.cborHttpMessageConverter().getObjectMapper();
+            case "smile" -> wireFormatConfig.smileHttpMessageConverter().getObjectMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        page = new ArrayList<>(size);
+        for (int n = 0; n < size; n++) {
+            ParkingSpotModel parkingSpot = BenchmarkFixtures.parkingSpot(n);
+            page.add(new ParkingSpotResponseDto(parkingSpot.getParkingSpotNumber(), parkingSpot.getLicensePlateCar(),
+                    parkingSpot.getBrandCar(), parkingSpot.getModelCar(), parkingSpot.getColorCar(),
+                    parkingSpot.getRegistrationDate(), parkingSpot.getResponsibleName(), parkingSpot.getApartment(),
+                    parkingSpot.getBlock(), 0L));
+        }
+        payload = serialize();
+        System.out.printf("%n%s, %d spots: %d bytes, %d bytes gzipped%n", format, size, payload.length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload == null ? 8192 : payload.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public ParkingSpotResponseDto[] deserialize() throws IOException {
+        return mapper.readValue(payload, ParkingSpotResponseDto[].class);
+    }
+}
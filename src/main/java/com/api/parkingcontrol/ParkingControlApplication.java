@@ -3,11 +3,28 @@ package com.api.parkingcontrol;
 import com.api.parkingcontrol.models.ParkingSpotModel;
 import org.mapstruct.MapperConfig;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-@SpringBootApplication
+/**
+ * The servlet application. The R2DBC auto-configuration and the {@code reactive} package only belong to
+ * {@code ReactiveParkingControlApplication}, built with the {@code reactive} Maven profile.
+ */
+@SpringBootApplication(excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
+@ComponentScan(excludeFilters = {
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.api\\.parkingcontrol\\.reactive\\..*")
+})
+@ConfigurationPropertiesScan
+@EnableScheduling
 @RestController
 public class ParkingControlApplication {
 
@@ -0,0 +1,39 @@
+package com.api.parkingcontrol.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the in-process parking spot cache, bounded by size and time to live
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PARKING_SPOTS = "parkingSpots";
+
+    /**
+     * Cache key of a spot: the facility and the id, so a facility never gets a spot cached for another one.
+     */
+    public static final String PARKING_SPOT_KEY = "{@parkingFacilities.current(), #id}";
+
+    /**
+     * Evictions issued inside a transaction are applied only after it commits, so a concurrent read cannot
+     * re-cache the row it is about to replace.
+     */
+    @Bean
+    public CacheManager cacheManager(ParkingSpotProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PARKING_SPOTS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .expireAfterWrite(properties.getCache().getTimeToLive())
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,13 +1,19 @@
 package com.api.parkingcontrol.config;
 
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.ProblemDetailJacksonMixin;
 
-import java.time.format.DateTimeFormatter;
+import java.time.Clock;
+import java.time.Instant;
 
 /**
  * Configuration class for date and time settings for UTC
@@ -15,13 +21,32 @@ import java.time.format.DateTimeFormatter;
 @Configuration
 public class DateConfig {
 
-    public static final String DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+    /**
+     * Source of registration timestamps; replace it with a fixed clock to make time-dependent code deterministic.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
 
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        JavaTimeModule module = new JavaTimeModule();
-        module.addSerializer(new LocalDateTimeSerializer(DateTimeFormatter.ofPattern(DATETIME_FORMAT)));
-        return new ObjectMapper().registerModule(module);
+        return configure(new ObjectMapper());
+    }
+
+    /**
+     * Applies the JSON settings to a mapper of any format, so CBOR and Smile responses carry the same properties.
+     */
+    public static <T extends ObjectMapper> T configure(T mapper) {
+        SimpleModule instantModule = new SimpleModule("IsoInstantModule");
+        instantModule.addSerializer(Instant.class, new IsoInstantSerializer());
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(ParkingSpotResponseDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll());
+        mapper.registerModule(new JavaTimeModule())
+                .registerModule(instantModule)
+                .addMixIn(ProblemDetail.class, ProblemDetailJacksonMixin.class)
+                .setFilterProvider(filters);
+        return mapper;
     }
 }
@@ -0,0 +1,24 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class rejecting REST API requests for a facility this deployment does not serve.
+ */
+@Configuration
+public class FacilityConfig implements WebMvcConfigurer {
+
+    private final ParkingFacilities parkingFacilities;
+
+    public FacilityConfig(ParkingFacilities parkingFacilities) {
+        this.parkingFacilities = parkingFacilities;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(parkingFacilities).addPathPatterns("/rest/api/**");
+    }
+}
@@ -0,0 +1,23 @@
+package com.api.parkingcontrol.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Configuration class for the schema migrations under db/migration/{vendor}
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Flyway's default PostgreSQL lock keeps a transaction open for the whole run, and CREATE INDEX CONCURRENTLY
+     * waits for it forever; a session-level advisory lock avoids the deadlock.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer sessionLevelMigrationLock() {
+        return configuration -> configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
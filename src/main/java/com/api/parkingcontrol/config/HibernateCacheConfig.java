@@ -0,0 +1,82 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration class for Hibernate's second-level cache: JCache regions backed by Caffeine, each with its own size
+ * bound and time to live. Every application context gets a private cache manager, so contexts sharing a JVM (tests,
+ * benchmarks) never see each other's entries.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Region of the parking spot entities. Keys include the facility; the bulk updates and deletes of
+     * {@code ParkingSpotRepository} empty the whole region once their transaction completes.
+     */
+    public static final String PARKING_SPOT_REGION = ParkingSpotModel.class.getName();
+
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(ParkingSpotProperties properties) {
+        ParkingSpotProperties.SecondLevelCache secondLevelCache = properties.getSecondLevelCache();
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("parking-spot-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(PARKING_SPOT_REGION,
+                region(secondLevelCache.getMaximumSize(), secondLevelCache.getTimeToLive()));
+        cacheManager.createCache(QUERY_RESULTS_REGION,
+                region(secondLevelCache.getQueryCacheMaximumSize(), secondLevelCache.getTimeToLive()));
+        // Hibernate checks cached query results against these timestamps; evicting one would serve stale results.
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    /**
+     * The entity is only JPA {@code @Cacheable}, so the shared cache mode switches its region on and off and the query
+     * cache also works without it. The query cache is left off with replicas: its results are only invalidated by
+     * writes, which a lagging replica may not have applied yet when it answers.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                    ParkingSpotProperties properties) {
+        ParkingSpotProperties.SecondLevelCache secondLevelCache = properties.getSecondLevelCache();
+        boolean queryCache = secondLevelCache.isQueryCache() && !properties.getReplicas().isEnabled();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, secondLevelCache.isEntityCache() || queryCache);
+            hibernateProperties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE,
+                    secondLevelCache.isEntityCache() ? SharedCacheMode.ENABLE_SELECTIVE : SharedCacheMode.NONE);
+            hibernateProperties.put(AvailableSettings.DEFAULT_CACHE_CONCURRENCY_STRATEGY, AccessType.READ_WRITE.getExternalName());
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, queryCache);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        return configuration;
+    }
+}
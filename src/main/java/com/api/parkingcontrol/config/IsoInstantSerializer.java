@@ -0,0 +1,78 @@
+package com.api.parkingcontrol.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes an {@link Instant} as {@code yyyy-MM-ddTHH:mm:ssZ} (UTC, second precision) straight into a char
+ * buffer, without a formatter, a zone lookup or intermediate date objects. Years outside 0000-9999 fall back
+ * to {@link DateTimeFormatter#ISO_INSTANT}.
+ */
+public class IsoInstantSerializer extends StdSerializer<Instant> {
+
+    private static final int LENGTH = 20;
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long MIN_FAST_SECOND = -62_167_219_200L; // 0000-01-01T00:00:00Z
+    private static final long MAX_FAST_SECOND = 253_402_300_799L; // 9999-12-31T23:59:59Z
+
+    public IsoInstantSerializer() {
+        super(Instant.class);
+    }
+
+    @Override
+    public void serialize(Instant value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        long epochSecond = value.getEpochSecond();
+        if (epochSecond < MIN_FAST_SECOND || epochSecond > MAX_FAST_SECOND) {
+            generator.writeString(DateTimeFormatter.ISO_INSTANT.format(value.truncatedTo(ChronoUnit.SECONDS)));
+            return;
+        }
+
+        char[] buffer = new char[LENGTH];
+        format(epochSecond, buffer);
+        generator.writeString(buffer, 0, LENGTH);
+    }
+
+    /**
+     * Civil-from-days conversion (proleptic Gregorian calendar, eras of 400 years).
+     */
+    static void format(long epochSecond, char[] buffer) {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        long days = epochDay + 719_468;
+        long era = Math.floorDiv(days, 146_097);
+        int dayOfEra = (int) (days - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, secondOfDay / 3_600, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, secondOfDay / 60 % 60, 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, secondOfDay % 60, 2);
+        buffer[19] = 'Z';
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
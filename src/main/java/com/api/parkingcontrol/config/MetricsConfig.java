@@ -0,0 +1,24 @@
+package com.api.parkingcontrol.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the service timers, published next to the built-in HTTP, repository, pool and Hibernate meters
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "parking_spot.service";
+
+    /**
+     * Times every public method of classes annotated with {@link io.micrometer.core.annotation.Timed}, tagged
+     * with class, method and exception.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,367 @@
+package com.api.parkingcontrol.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tunables for the parking spot API, bound from the {@code parking-spot.*} properties
+ */
+@Data
+@ConfigurationProperties(prefix = "parking-spot")
+public class ParkingSpotProperties {
+
+    private Bulk bulk = new Bulk();
+
+    private Keyset keyset = new Keyset();
+
+    private Cache cache = new Cache();
+
+    private SecondLevelCache secondLevelCache = new SecondLevelCache();
+
+    private OccupancyIndex occupancyIndex = new OccupancyIndex();
+
+    private Events events = new Events();
+
+    private Replicas replicas = new Replicas();
+
+    private Sessions sessions = new Sessions();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private Facilities facilities = new Facilities();
+
+    @Data
+    public static class Bulk {
+        /**
+         * Rows written per transaction; keep it aligned with hibernate.jdbc.batch_size.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Largest list accepted by a single bulk request.
+         */
+        private int maxItems = 10_000;
+    }
+
+    @Data
+    public static class Keyset {
+        /**
+         * Largest slice a cursor request may ask for.
+         */
+        private int maxSize = 100;
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * Maximum number of parking spots kept by the findById cache.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a cached parking spot is reloaded from the database. Only this instance's updates and
+         * deletes evict an entry, so it bounds how long writes made by another instance, or by the reactive variant,
+         * go unseen, ETag included.
+         */
+        private Duration timeToLive = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class SecondLevelCache {
+        /**
+         * Keeps parking spot entities in their own region, so loads by id skip the database. Every update or
+         * delete empties the whole region, so it only pays off when writes are rare.
+         */
+        private boolean entityCache = false;
+
+        /**
+         * Maximum number of entities kept by the entity region.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a cached entity or query result is reloaded from the database; it bounds how long writes
+         * made by another instance, or by the reactive variant, go unseen.
+         */
+        private Duration timeToLive = Duration.ofSeconds(10);
+
+        /**
+         * Caches the results of the exists* checks and the license plate lookup until TB_PARKING_SPOT is next written.
+         * Only writes made through this instance invalidate it, so it assumes a single writer: one servlet instance
+         * and no reactive variant on the same database. Ignored with replicas, since the answer of a lagging replica
+         * would be cached as current.
+         */
+        private boolean queryCache = false;
+
+        /**
+         * Maximum number of query results kept by the query cache.
+         */
+        private long queryCacheMaximumSize = 10_000;
+    }
+
+    @Data
+    public static class OccupancyIndex {
+        /**
+         * Answers the exists* checks from memory instead of the database.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Full rebuild period, in ISO-8601 form (PT5M), to pick up writes made by other instances.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        /**
+         * Initial capacity of each key table; sizing it to the table avoids rehashing while warming.
+         */
+        private int expectedSize = 1024;
+    }
+
+    @Data
+    public static class Events {
+        /**
+         * Recent events kept in memory so a reconnecting client can resume from its Last-Event-ID.
+         */
+        private int replaySize = 1024;
+
+        /**
+         * Events queued per subscriber; a client that falls further behind is told to resync.
+         */
+        private int bufferSize = 256;
+
+        /**
+         * Threads writing events to subscribers, so a slow client never blocks a writer transaction.
+         */
+        private int dispatchThreads = 4;
+
+        /**
+         * Interval of the comment sent to every subscriber, in ISO-8601 form (PT15S), so proxies keep the stream open.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /**
+         * Lifetime of a single stream; EventSource clients reconnect and resume transparently.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Longest a single write to a subscriber may block, in ISO-8601 form (PT10S), before the subscriber is dropped.
+         */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Confirms that this is the only instance writing parking spots, so every change reaches its subscribers;
+         * without it a warning is logged at startup.
+         */
+        private boolean singleInstance = false;
+    }
+
+    @Data
+    public static class Replicas {
+        /**
+         * Sends read-only transactions to the replicas below; writes always use spring.datasource.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URLs of the replicas. Pool settings are copied from spring.datasource.hikari.
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * Replica credentials, when they differ from spring.datasource.
+         */
+        private String username;
+
+        private String password;
+
+        /**
+         * Pool size of each replica; 0 keeps the primary's maximum-pool-size.
+         */
+        private int maximumPoolSize = 0;
+
+        /**
+         * Largest replication lag at which a replica still serves reads.
+         */
+        private Duration maxLag = Duration.ofSeconds(1);
+
+        /**
+         * Period of the lag check, in ISO-8601 form (PT5S).
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        /**
+         * Query returning the lag in seconds; the default works on PostgreSQL streaming replicas. A replica that has
+         * replayed all it received is only up to date while its WAL receiver runs (the status is hidden from roles
+         * without pg_read_all_stats). Otherwise the lag is the age of the last replayed transaction, or infinite
+         * when nothing was replayed yet.
+         */
+        private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+                + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver "
+                + "WHERE status IS NULL OR status = 'streaming') THEN 0 "
+                + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::FLOAT8, 'Infinity'::FLOAT8) END";
+
+        /**
+         * How long a client reads from the primary after its own write; keep it above max-lag.
+         */
+        private Duration stickiness = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Sessions {
+        /**
+         * Most check-in/check-out events written per transaction; keep it aligned with hibernate.jdbc.batch_size.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Events waiting for the writer; check-ins and check-outs block while it is full.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Longest a check-in or check-out waits for its event to be queued and committed, in ISO-8601 form (PT10S);
+         * also the timeout of each batch transaction.
+         */
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Confirms that every /parking-session request is routed to this one instance, which holds the open sessions
+         * in memory; without it a warning is logged at startup.
+         */
+        private boolean singleInstance = false;
+
+        /**
+         * How far back open sessions are restored at startup, which bounds the scan to the recent partitions.
+         */
+        private Duration restoreWindow = Duration.ofDays(31);
+
+        /**
+         * Monthly partitions of the session log kept created ahead of time on PostgreSQL.
+         */
+        private int partitionsAhead = 3;
+
+        /**
+         * Period of the partition check, in ISO-8601 form (PT12H).
+         */
+        private Duration partitionCheckInterval = Duration.ofHours(12);
+    }
+
+    @Data
+    public static class RateLimit {
+        /**
+         * Whether requests to the REST API are rate limited per client. Needs client-id-header or
+         * server.forward-headers-strategy, so clients behind a proxy are told apart.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Sustained requests per second allowed to one client.
+         */
+        private double requestsPerSecond = 20;
+
+        /**
+         * Requests a client may send at once after being idle.
+         */
+        private int burst = 40;
+
+        /**
+         * Header identifying the client, e.g. a gate camera id set by the gateway; the remote address when blank
+         * or absent.
+         */
+        private String clientIdHeader = "";
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+        /**
+         * Whether the database-bound endpoints shed load beyond an adaptive concurrency limit.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Limit used until latency has been measured.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Floor of the limit, however slow requests get.
+         */
+        private int minLimit = 4;
+
+        /**
+         * Ceiling of the limit; there is no point going far beyond the Tomcat threads and pool connections.
+         */
+        private int maxLimit = 200;
+
+        /**
+         * Interval over which latencies are averaged before the limit is adjusted.
+         */
+        private Duration window = Duration.ofSeconds(1);
+
+        /**
+         * How much slower than the baseline requests may get before the limit shrinks.
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * Retry-After sent with a shed request.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class WriteBehind {
+        /**
+         * Whether single registrations are queued and saved in shared batches instead of one transaction each.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Largest number of registrations saved in one transaction.
+         */
+        private int batchSize = 200;
+
+        /**
+         * How long the writer waits for more registrations after the first one of a batch.
+         */
+        private Duration linger = Duration.ofMillis(2);
+
+        /**
+         * Registrations that may wait for the writer; beyond that callers get SERVICE_UNAVAILABLE.
+         */
+        private int queueCapacity = 2_000;
+
+        /**
+         * Longest a registration waits for the writer to pick it up, in ISO-8601 form (PT10S); beyond that it is
+         * withdrawn and the caller gets SERVICE_UNAVAILABLE.
+         */
+        private Duration writeTimeout = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Facilities {
+        /**
+         * Request header naming the facility a request works on.
+         */
+        private String header = "X-Facility-Id";
+
+        /**
+         * Facility of requests without the header, and of existing spots migrated from the unpartitioned table.
+         */
+        private String defaultFacility = "default";
+
+        /**
+         * Facilities served by this deployment; on PostgreSQL each gets its own partition of TB_PARKING_SPOT.
+         */
+        private List<String> ids = new ArrayList<>(List.of("default"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.datasource.ReadYourWritesFilter;
+import com.api.parkingcontrol.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for read replicas, active with {@code parking-spot.replicas.enabled}. The primary pool is
+ * built from {@code spring.datasource.*} as Spring Boot would; every replica gets a copy of its settings with its
+ * own URL. Flyway migrates the primary only.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "parking-spot.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ParkingSpotProperties properties) {
+        ParkingSpotProperties.Replicas replicaProperties = properties.getReplicas();
+        List<String> urls = replicaProperties.getUrls();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaDataSource(primaryDataSource, replicaProperties, name, urls.get(i)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties);
+    }
+
+    /**
+     * The data source used by JPA and JdbcTemplate; connections are only fetched, and routed, on first use.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ParkingSpotProperties properties, Clock clock) {
+        return new ReadYourWritesFilter(properties.getReplicas().getStickiness(), clock);
+    }
+
+    private static HikariDataSource replicaDataSource(HikariDataSource primary, ParkingSpotProperties.Replicas properties,
+                                                      String name, String url) {
+        HikariDataSource replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setPoolName(name);
+        replica.setJdbcUrl(url);
+        replica.setReadOnly(true);
+        if (properties.getUsername() != null)
+            replica.setUsername(properties.getUsername());
+        if (properties.getPassword() != null)
+            replica.setPassword(properties.getPassword());
+        if (properties.getMaximumPoolSize() > 0)
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        return replica;
+    }
+}
@@ -0,0 +1,28 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.facilities.ParkingSpotPartitions;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Configuration class for lazy initialization (the {@code fast-startup} profile): controllers and everything they
+ * depend on stay eager, so the first request does not build them, and so do the meter binders, which are the
+ * components with background work (session log, occupancy restore, registration queue, event dispatch). The
+ * facility partitions are created eagerly as well, before the first registration needs them, and so is
+ * {@link VirtualThreadModeCheck}, which would otherwise never run.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPath() {
+        return (beanName, beanDefinition, beanType) -> MeterBinder.class.isAssignableFrom(beanType)
+                || ParkingSpotPartitions.class.isAssignableFrom(beanType)
+                || VirtualThreadModeCheck.class.isAssignableFrom(beanType)
+                || AnnotatedElementUtils.hasAnnotation(beanType, Controller.class);
+    }
+}
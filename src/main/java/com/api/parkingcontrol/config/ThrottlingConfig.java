@@ -0,0 +1,49 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.throttling.AdaptiveConcurrencyLimiter;
+import com.api.parkingcontrol.throttling.ClientRateLimiter;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for load shedding on the REST API: the per-client rate limit runs first, so a looping
+ * client is turned away before it can take one of the concurrency permits.
+ */
+@Configuration
+public class ThrottlingConfig implements WebMvcConfigurer {
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public ThrottlingConfig(ClientRateLimiter clientRateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                            ParkingSpotProperties properties, ServerProperties serverProperties) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        checkClientIdentity(properties.getRateLimit(), serverProperties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(clientRateLimiter).addPathPatterns("/rest/api/**");
+        registry.addInterceptor(concurrencyLimiter).addPathPatterns("/rest/api/**");
+    }
+
+    /**
+     * Behind a load balancer or reverse proxy every request comes from the proxy's address, so keyed by remote
+     * address all clients would share a single bucket. The rate limit therefore needs a client id header, or
+     * forwarded headers so the remote address is the client's own.
+     */
+    static void checkClientIdentity(ParkingSpotProperties.RateLimit rateLimit, ServerProperties serverProperties) {
+        if (!rateLimit.isEnabled())
+            return;
+        if (rateLimit.getClientIdHeader() != null && !rateLimit.getClientIdHeader().isBlank())
+            return;
+        ServerProperties.ForwardHeadersStrategy strategy = serverProperties.getForwardHeadersStrategy();
+        if (strategy != null && strategy != ServerProperties.ForwardHeadersStrategy.NONE)
+            return;
+        throw new IllegalStateException("parking-spot.rate-limit.enabled needs parking-spot.rate-limit.client-id-header "
+                + "or server.forward-headers-strategy; keyed by remote address, every client behind a proxy would share one bucket.");
+    }
+}
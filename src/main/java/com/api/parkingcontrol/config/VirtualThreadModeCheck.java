@@ -0,0 +1,38 @@
+package com.api.parkingcontrol.config;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Refuses to start when {@code parking-spot.threads.virtual.enabled} and the registered {@code VirtualThreadConfig}
+ * disagree, rather than silently running requests on the wrong kind of thread with the pool settings of the other
+ * mode. That happens on a build without virtual-thread support, i.e. one made on a JDK before 21 without the
+ * virtual-threads Maven profile, and on an AOT-processed build started with a different setting than it was
+ * processed with: AOT fixes the conditions at build time, so the runtime value is ignored there.
+ * <p>
+ * Not conditional itself, and kept eager by {@link StartupConfig}, so the check runs in every mode.
+ */
+@Configuration
+public class VirtualThreadModeCheck {
+    static final String VIRTUAL_THREAD_CONFIG = "com.api.parkingcontrol.config.VirtualThreadConfig";
+
+    public VirtualThreadModeCheck(Environment environment, ListableBeanFactory beanFactory) {
+        boolean enabled = environment.getProperty("parking-spot.threads.virtual.enabled", Boolean.class, false);
+        ClassLoader classLoader = getClass().getClassLoader();
+        if (!ClassUtils.isPresent(VIRTUAL_THREAD_CONFIG, classLoader)) {
+            if (enabled)
+                throw new IllegalStateException("parking-spot.threads.virtual.enabled needs a build made on JDK 21 or later "
+                        + "(virtual-threads Maven profile); this one was built without virtual-thread support.");
+            return;
+        }
+
+        Class<?> configClass = ClassUtils.resolveClassName(VIRTUAL_THREAD_CONFIG, classLoader);
+        boolean registered = beanFactory.getBeanNamesForType(configClass, false, false).length > 0;
+        if (enabled != registered)
+            throw new IllegalStateException("parking-spot.threads.virtual.enabled is " + enabled + " but this AOT-processed "
+                    + "build was processed with " + registered + "; rebuild with the same setting or start without "
+                    + "-Dspring.aot.enabled=true.");
+    }
+}
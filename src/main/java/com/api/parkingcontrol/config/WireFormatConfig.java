@@ -0,0 +1,27 @@
+package com.api.parkingcontrol.config;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class for the binary representations a client can ask for with {@code Accept}: CBOR
+ * ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}). Both share the settings of the JSON
+ * mapper, so {@code fields=} and the timestamps behave the same in every format. JSON stays the default.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(DateConfig.configure(new CBORMapper()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(DateConfig.configure(new SmileMapper()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.parkingcontrol.controllers;
+
+import com.api.parkingcontrol.dtos.ParkingSessionRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+import com.api.parkingcontrol.services.ParkingSessionServiceImpl;
+import com.api.parkingcontrol.throttling.ConcurrencyLimited;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequestMapping(path = "/rest/api/v1/parking-session")
+public class ParkingSessionController {
+
+    private final ParkingSessionServiceImpl parkingSessionService;
+
+    public ParkingSessionController(ParkingSessionServiceImpl parkingSessionService) {
+        this.parkingSessionService = parkingSessionService;
+    }
+
+    @PostMapping("/check-in")
+    @ConcurrencyLimited
+    public ResponseEntity<ParkingSessionResponseDto> checkIn(@RequestBody @Valid ParkingSessionRequestDto parkingSessionRequestDto) {
+        ParkingSessionResponseDto sessionResponseDto = parkingSessionService.checkIn(parkingSessionRequestDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(sessionResponseDto);
+    }
+
+    @PostMapping("/check-out")
+    @ConcurrencyLimited
+    public ResponseEntity<ParkingSessionResponseDto> checkOut(@RequestBody @Valid ParkingSessionRequestDto parkingSessionRequestDto) {
+        return ResponseEntity.ok().body(parkingSessionService.checkOut(parkingSessionRequestDto));
+    }
+
+    @GetMapping("/parked")
+    public ResponseEntity<List<ParkingSessionResponseDto>> getParked() {
+        return ResponseEntity.ok().body(parkingSessionService.findParked());
+    }
+
+    @GetMapping("/parked/{parkingSpotId}")
+    public ResponseEntity<ParkingSessionResponseDto> getParked(@PathVariable("parkingSpotId") UUID parkingSpotId) {
+        return ResponseEntity.ok().body(parkingSessionService.findParked(parkingSpotId));
+    }
+}
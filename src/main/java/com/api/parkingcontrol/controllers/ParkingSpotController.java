@@ -1,60 +1,195 @@
 package com.api.parkingcontrol.controllers;
 
+import com.api.parkingcontrol.dtos.ParkingSpotBulkResponseDto;
 import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
 import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import com.api.parkingcontrol.events.ParkingSpotEventBroadcaster;
 import com.api.parkingcontrol.services.ParkingSpotServiceImpl;
+import com.api.parkingcontrol.throttling.ConcurrencyLimited;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RequestMapping(path = "/rest/api/v1/parking-spot")
 public class ParkingSpotController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * The formats the message converters write a parking spot in, in the order they are tried (WireFormatConfig).
+     */
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+
+    private static final Set<String> RESPONSE_FIELDS = Arrays.stream(ParkingSpotResponseDto.class.getRecordComponents())
+            .filter(component -> !component.getAccessor().isAnnotationPresent(JsonIgnore.class))
+            .map(RecordComponent::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
     private final ParkingSpotServiceImpl parkingSpotService;
+    private final ObjectMapper objectMapper;
+    private final ParkingSpotEventBroadcaster eventBroadcaster;
 
 
-    public ParkingSpotController(ParkingSpotServiceImpl parkingSpotService) {
+    public ParkingSpotController(ParkingSpotServiceImpl parkingSpotService, ObjectMapper objectMapper,
+                                 ParkingSpotEventBroadcaster eventBroadcaster) {
         this.parkingSpotService = parkingSpotService;
+        this.objectMapper = objectMapper;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
     @PostMapping
+    @ConcurrencyLimited
     public ResponseEntity<ParkingSpotResponseDto> saveParkingSpot(@RequestBody @Valid ParkingSpotRequestDto parkingSpotRequestDto) {
         ParkingSpotResponseDto parkingSpotResponseDto = parkingSpotService.save(parkingSpotRequestDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(parkingSpotResponseDto);
     }
 
+    @PostMapping("/bulk")
+    @ConcurrencyLimited
+    public ResponseEntity<ParkingSpotBulkResponseDto> saveParkingSpots(@RequestBody List<ParkingSpotRequestDto> parkingSpotRequestDtos) {
+        ParkingSpotBulkResponseDto bulkResponseDto = parkingSpotService.saveAll(parkingSpotRequestDtos);
+        HttpStatus status = bulkResponseDto.rejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(bulkResponseDto);
+    }
+
     @GetMapping
-    public ResponseEntity<Page<ParkingSpotResponseDto>> getAllParkingSpots(
-            @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+    @ConcurrencyLimited
+    public ResponseEntity<MappingJacksonValue> getAllParkingSpots(
+            @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(value = "fields", required = false) Set<String> fields) {
         Page<ParkingSpotResponseDto> page = parkingSpotService.findAll(pageable);
-        return ResponseEntity.ok().body(page);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(selectFields(page, fields));
+    }
+
+    @GetMapping(params = "cursor")
+    @ConcurrencyLimited
+    public ResponseEntity<MappingJacksonValue> getParkingSpotsAfterCursor(
+            @RequestParam("cursor") String cursor, @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "fields", required = false) Set<String> fields) {
+        ParkingSpotSliceResponseDto slice = parkingSpotService.findAllAfter(cursor, size);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(selectFields(slice, fields));
+    }
+
+    @GetMapping("/search")
+    @ConcurrencyLimited
+    public ResponseEntity<MappingJacksonValue> searchParkingSpots(
+            ParkingSpotSearchDto search,
+            @PageableDefault(page = 0, size = 10, sort = "registrationDate", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(value = "fields", required = false) Set<String> fields) {
+        Page<ParkingSpotResponseDto> page = parkingSpotService.search(search, pageable);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(selectFields(page, fields));
+    }
+
+    /**
+     * Streams every parking spot as newline-delimited JSON straight to the response, one row at a time. Rows are
+     * not flushed one by one: the generator and response buffers flush as they fill, so the client gets full chunks
+     * and gzip compresses across rows.
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public void exportParkingSpots(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"parking-spots.ndjson\"");
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            parkingSpotService.exportAll(parkingSpot -> {
+                try {
+                    writer.writeValue(generator, parkingSpot);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Server-sent events for every committed create, update and delete. EventSource clients send the
+     * {@code Last-Event-ID} header when they reconnect and get the events they missed.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamParkingSpotEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBroadcaster.subscribe(lastEventId);
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ParkingSpotResponseDto> getParkingSpotById(@PathVariable("id") UUID id) {
+    @ConcurrencyLimited
+    public ResponseEntity<MappingJacksonValue> getParkingSpotById(@PathVariable("id") UUID id,
+                                                                  @RequestParam(value = "fields", required = false) Set<String> fields,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         ParkingSpotResponseDto responseDto = parkingSpotService.findById(id);
-        return ResponseEntity.ok().body(responseDto);
+        MappingJacksonValue body = selectFields(responseDto, fields);
+        // An If-None-Match hit is answered with 304 before the body is serialized.
+        return ResponseEntity.ok().eTag(ParkingSpotETags.eTag(responseDto.version(), accept, FORMATS, fields))
+                .varyBy(HttpHeaders.ACCEPT).body(body);
     }
 
     @DeleteMapping("/{id}")
+    @ConcurrencyLimited
     public ResponseEntity<Void> deleteParkingSpot(@PathVariable("id") UUID id) {
         parkingSpotService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ParkingSpotResponseDto> updateParkingSpot(@PathVariable("id") UUID id, @RequestBody @Valid ParkingSpotRequestDto parkingSpotRequestDto) {
-        ParkingSpotResponseDto responseDto = parkingSpotService.update(id, parkingSpotRequestDto);
-        return ResponseEntity.ok().body(responseDto);
+    @ConcurrencyLimited
+    public ResponseEntity<ParkingSpotResponseDto> updateParkingSpot(@PathVariable("id") UUID id, @RequestBody @Valid ParkingSpotRequestDto parkingSpotRequestDto,
+                                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        ParkingSpotResponseDto responseDto = parkingSpotService.update(id, parkingSpotRequestDto, ParkingSpotETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ParkingSpotETags.eTag(responseDto.version(), accept, FORMATS, null))
+                .varyBy(HttpHeaders.ACCEPT).body(responseDto);
+    }
+
+    /**
+     * Limits every serialized parking spot in the body to the requested properties; no fields means all of them.
+     */
+    private static MappingJacksonValue selectFields(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null || fields.isEmpty())
+            return value;
+
+        List<String> unknown = fields.stream().filter(field -> !RESPONSE_FIELDS.contains(field)).sorted().toList();
+        if (!unknown.isEmpty())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown fields: " + String.join(", ", unknown));
+
+        value.setFilters(new SimpleFilterProvider().addFilter(ParkingSpotResponseDto.FIELDS_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
     }
 
 }
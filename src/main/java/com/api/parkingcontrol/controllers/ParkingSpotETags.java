@@ -0,0 +1,87 @@
+package com.api.parkingcontrol.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Strong entity tags of a parking spot, shared by the servlet and reactive controllers. Every representation of a
+ * version gets its own tag: the version, then the negotiated format unless it is JSON, then the {@code fields=}
+ * selection, e.g. {@code "3"}, {@code "3-cbor"} or {@code "3;block,parkingSpotNumber"}. A cache holding the JSON body
+ * therefore never gets a 304 for a request that negotiates CBOR. If-Match only compares the version, so a tag of any
+ * representation of the current version allows an update.
+ */
+public final class ParkingSpotETags {
+
+    private ParkingSpotETags() {
+    }
+
+    /**
+     * @param formats the media types the caller can write, in the order its message converters are tried; the
+     *                first one is the default
+     */
+    public static String eTag(long version, String accept, List<MediaType> formats, Set<String> fields) {
+        StringBuilder tag = new StringBuilder("\"").append(version);
+        MediaType format = format(accept, formats);
+        if (!format.equals(formats.get(0)))
+            tag.append('-').append(format.getSubtype());
+        if (fields != null && !fields.isEmpty())
+            tag.append(';').append(String.join(",", new TreeSet<>(fields)));
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Reads the version out of a single strong entity tag. No header or {@code *} means an unconditional update;
+     * weak, malformed or multiple tags can never match a version and are rejected.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*"))
+            return null;
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String opaque = tag.substring(1, tag.length() - 1);
+            int end = 0;
+            while (end < opaque.length() && Character.isDigit(opaque.charAt(end)))
+                end++;
+            if (end > 0 && (end == opaque.length() || opaque.charAt(end) == '-' || opaque.charAt(end) == ';')) {
+                try {
+                    return Long.parseLong(opaque.substring(0, end));
+                } catch (NumberFormatException ignored) {
+                    // falls through to the rejection below
+                }
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current version.");
+    }
+
+    /**
+     * The format content negotiation picks for the Accept header: the most specific, highest quality accepted type
+     * decides, ties go to the earlier format. An absent or unparseable header gets the default.
+     */
+    static MediaType format(String accept, List<MediaType> formats) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return formats.get(0);
+        }
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0)
+                continue;
+            for (MediaType format : formats) {
+                if (type.isCompatibleWith(format))
+                    return format;
+            }
+        }
+        return formats.get(0);
+    }
+}
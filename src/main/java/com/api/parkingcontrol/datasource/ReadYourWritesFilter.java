@@ -0,0 +1,77 @@
+package com.api.parkingcontrol.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes on top of replica routing. A write request hands the client a cookie with its time; for the
+ * next {@code stickiness} the requests carrying it read from the primary, so the client never sees its own change
+ * missing from a lagging replica. The cookie keeps it working across instances without shared state, as long as
+ * their clocks are synchronized.
+ * <p>
+ * The cookie is not signed, so a client can send any time. A time in the future is ignored; otherwise a client
+ * could pin all its reads to the primary for good. At worst a client stays on the primary for {@code stickiness}.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String LAST_WRITE_COOKIE = "parking-spot-last-write";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration stickiness;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration stickiness, Clock clock) {
+        this.stickiness = stickiness;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = clock.millis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write)
+            response.addCookie(lastWriteCookie(now));
+
+        ReplicaRoutingDataSource.setPinnedToPrimary(write || wroteRecently(request, now));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setPinnedToPrimary(false);
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        if (request.getCookies() == null)
+            return false;
+
+        for (Cookie cookie : request.getCookies()) {
+            if (!LAST_WRITE_COOKIE.equals(cookie.getName()))
+                continue;
+            try {
+                long lastWrite = Long.parseLong(cookie.getValue());
+                return lastWrite <= now && now - lastWrite < stickiness.toMillis();
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Cookie lastWriteCookie(long now) {
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(now));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+        return cookie;
+    }
+}
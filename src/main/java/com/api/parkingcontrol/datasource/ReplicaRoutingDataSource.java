@@ -0,0 +1,145 @@
+package com.api.parkingcontrol.datasource;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the connections of read-only transactions to a replica, round robin, and everything else to the primary.
+ * It has to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the read-only
+ * flag of a transaction is only known after the transaction manager asked for its connection.
+ * <p>
+ * Every {@code lag-check-interval} the lag of each replica is measured with {@code lag-query}. A replica that lags
+ * more than {@code max-lag}, or cannot be reached, gets no reads until it catches up; with no usable replica the
+ * reads fall back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ParkingSpotProperties.Replicas properties) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.lagQuery = properties.getLagQuery();
+        this.maxLag = properties.getMaxLag();
+    }
+
+    /**
+     * Keeps the read-only transactions of the current thread on the primary, e.g. right after the client's own write.
+     */
+    public static void setPinnedToPrimary(boolean pinned) {
+        if (pinned)
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        else
+            PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPinnedToPrimary() || replicas.isEmpty())
+            return PRIMARY;
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.usable)
+                return replica.name;
+        }
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${parking-spot.replicas.lag-check-interval:PT5S}")
+    public synchronized void checkLag() {
+        for (Replica replica : replicas)
+            replica.check();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("parking_spot.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag measured by the last check, NaN when the replica was unreachable")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("parking_spot.replica.usable", replica, r -> r.usable ? 1 : 0)
+                    .description("1 while the replica serves read-only transactions")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable)
+                closeable.close();
+        }
+    }
+
+    private final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void check() {
+            boolean wasUsable = usable;
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                usable = lagSeconds * 1_000 <= maxLag.toMillis();
+            } catch (SQLException ex) {
+                lagSeconds = Double.NaN;
+                usable = false;
+                log.warn("Replica {} is unreachable: {}", name, ex.getMessage());
+            }
+
+            if (usable != wasUsable)
+                log.info("Replica {} {} reads (lag {} s)", name, usable ? "now serves" : "no longer serves", lagSeconds);
+        }
+    }
+}
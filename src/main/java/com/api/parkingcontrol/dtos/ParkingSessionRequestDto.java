@@ -0,0 +1,14 @@
+package com.api.parkingcontrol.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.validator.constraints.Length;
+
+import java.util.UUID;
+
+/**
+ * Car entering or leaving. Without a {@code parkingSpotId} the spot registered for the license plate is used.
+ */
+public record ParkingSessionRequestDto(
+        @NotBlank @Length(max = 7, min = 7, message = "License Plate car must have 7 chars") String licensePlateCar,
+        UUID parkingSpotId) {
+}
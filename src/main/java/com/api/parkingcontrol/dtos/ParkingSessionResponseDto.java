@@ -0,0 +1,25 @@
+package com.api.parkingcontrol.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A parking session; {@code checkOutDate} is null while the car is still parked. The facility is not part of the
+ * body, callers only ever see sessions of their own.
+ */
+public record ParkingSessionResponseDto(UUID id, @JsonIgnore String facility, UUID parkingSpotId, String licensePlateCar,
+                                        Instant checkInDate, Instant checkOutDate) {
+
+    /**
+     * Open session, as selected by the repository projection.
+     */
+    public ParkingSessionResponseDto(UUID id, String facility, UUID parkingSpotId, String licensePlateCar, Instant checkInDate) {
+        this(id, facility, parkingSpotId, licensePlateCar, checkInDate, null);
+    }
+
+    public ParkingSessionResponseDto checkedOut(Instant checkOutDate) {
+        return new ParkingSessionResponseDto(id, facility, parkingSpotId, licensePlateCar, checkInDate, checkOutDate);
+    }
+}
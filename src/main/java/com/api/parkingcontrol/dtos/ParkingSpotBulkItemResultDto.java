@@ -0,0 +1,23 @@
+package com.api.parkingcontrol.dtos;
+
+/**
+ * Outcome of one entry of a bulk registration, identified by its position in the request list.
+ */
+public record ParkingSpotBulkItemResultDto(int index, Status status, ParkingSpotResponseDto parkingSpot, String error) {
+
+    public enum Status {
+        CREATED, INVALID, CONFLICT
+    }
+
+    public static ParkingSpotBulkItemResultDto created(int index, ParkingSpotResponseDto parkingSpot) {
+        return new ParkingSpotBulkItemResultDto(index, Status.CREATED, parkingSpot, null);
+    }
+
+    public static ParkingSpotBulkItemResultDto invalid(int index, String error) {
+        return new ParkingSpotBulkItemResultDto(index, Status.INVALID, null, error);
+    }
+
+    public static ParkingSpotBulkItemResultDto conflict(int index, String error) {
+        return new ParkingSpotBulkItemResultDto(index, Status.CONFLICT, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.parkingcontrol.dtos;
+
+import java.util.List;
+
+public record ParkingSpotBulkResponseDto(int created, int rejected, List<ParkingSpotBulkItemResultDto> items) {
+
+    public static ParkingSpotBulkResponseDto of(List<ParkingSpotBulkItemResultDto> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == ParkingSpotBulkItemResultDto.Status.CREATED)
+                .count();
+        return new ParkingSpotBulkResponseDto(created, items.size() - created, items);
+    }
+}
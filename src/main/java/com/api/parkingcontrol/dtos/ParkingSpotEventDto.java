@@ -0,0 +1,12 @@
+package com.api.parkingcontrol.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Data of a parking spot event: the spot as it is after the change, or only its id once it has been deleted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ParkingSpotEventDto(UUID id, ParkingSpotResponseDto parkingSpot) {
+}
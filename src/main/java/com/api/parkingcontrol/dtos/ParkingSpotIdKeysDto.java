@@ -0,0 +1,13 @@
+package com.api.parkingcontrol.dtos;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of the unique keys of a parking spot together with its id.
+ */
+public record ParkingSpotIdKeysDto(UUID id, ParkingSpotKeysDto keys) {
+
+    public ParkingSpotIdKeysDto(UUID id, String parkingSpotNumber, String licensePlateCar, String apartment, String block) {
+        this(id, new ParkingSpotKeysDto(parkingSpotNumber, licensePlateCar, apartment, block));
+    }
+}
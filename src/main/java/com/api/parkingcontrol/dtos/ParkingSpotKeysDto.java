@@ -0,0 +1,7 @@
+package com.api.parkingcontrol.dtos;
+
+/**
+ * Read-only projection of the columns that must be unique for a parking spot.
+ */
+public record ParkingSpotKeysDto(String parkingSpotNumber, String licensePlateCar, String apartment, String block) {
+}
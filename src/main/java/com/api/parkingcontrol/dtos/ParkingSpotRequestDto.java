@@ -1,12 +1,16 @@
 package com.api.parkingcontrol.dtos;
 
 import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.hibernate.validator.constraints.Length;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ParkingSpotRequestDto {
     @NotBlank
     private String parkingSpotNumber;
@@ -1,8 +1,18 @@
 package com.api.parkingcontrol.dtos;
 
-import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.time.Instant;
+
+/**
+ * Serialized through the {@value #FIELDS_FILTER} filter so a request can narrow the properties it receives.
+ * The version is not part of the body; the controller sends it as the ETag.
+ */
+@JsonFilter(ParkingSpotResponseDto.FIELDS_FILTER)
 public record ParkingSpotResponseDto(String parkingSpotNumber, String licensePlateCar, String brandCar, String modelCar,
-                                     String colorCar, LocalDateTime registrationDate, String responsibleName,
-                                     String apartment, String block) {
+                                     String colorCar, Instant registrationDate, String responsibleName,
+                                     String apartment, String block, @JsonIgnore Long version) {
+
+    public static final String FIELDS_FILTER = "parkingSpotFields";
 }
@@ -0,0 +1,12 @@
+package com.api.parkingcontrol.dtos;
+
+import java.time.Instant;
+
+/**
+ * Optional search filters; blank or missing ones are not applied. Brand and model match case-insensitive
+ * substrings, color matches case-insensitively, the plate matches by prefix and registrations fall in
+ * {@code [registeredFrom, registeredTo)}.
+ */
+public record ParkingSpotSearchDto(String block, String apartment, String brandCar, String modelCar, String colorCar,
+                                   String licensePlateCarPrefix, Instant registeredFrom, Instant registeredTo) {
+}
@@ -0,0 +1,10 @@
+package com.api.parkingcontrol.dtos;
+
+import java.util.List;
+
+/**
+ * Keyset page: no total count, {@code nextCursor} is null on the last slice.
+ */
+public record ParkingSpotSliceResponseDto(List<ParkingSpotResponseDto> content, int size, boolean hasNext,
+                                          String nextCursor) {
+}
@@ -0,0 +1,22 @@
+package com.api.parkingcontrol.events;
+
+import com.api.parkingcontrol.dtos.ParkingSpotEventDto;
+
+import java.util.Locale;
+
+/**
+ * A committed change to a parking spot of a facility, numbered in publication order across all facilities.
+ */
+public record ParkingSpotEvent(long id, String facility, Type type, ParkingSpotEventDto data) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED;
+
+        /**
+         * Name of the SSE event, so clients can register a listener per type.
+         */
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
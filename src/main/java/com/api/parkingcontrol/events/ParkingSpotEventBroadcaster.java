@@ -0,0 +1,367 @@
+package com.api.parkingcontrol.events;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotEventDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes committed parking spot changes to server-sent-event subscribers, so displays no longer poll the list.
+ * <p>
+ * Every subscriber has its own bounded queue drained by a small dispatcher pool; publishing never waits on a
+ * client. Queued events for the same spot are coalesced into the latest one, and a subscriber that still falls
+ * more than {@code buffer-size} spots behind loses its queue and gets a {@code resync} event telling it to reload
+ * the list. The last {@code replay-size} events are kept so a reconnecting client resumes from its Last-Event-ID.
+ * Ids start from the boot time, so an id handed out by a previous run is always too old and is answered with
+ * {@code resync} as well. A stream only carries the changes of the facility it was opened for.
+ * <p>
+ * A write to a client that stops reading blocks until the container's write timeout. A subscriber whose write has
+ * been blocked for {@code send-timeout} is dropped: it gets no more events, the dispatcher gets a thread in place of
+ * the blocked one until that write returns, and the stream is then completed with an error.
+ * <p>
+ * Events are fanned out in the memory of the instance that made the change. Subscribers of another instance, and
+ * of any instance when the reactive variant writes, never see it and get no {@code resync} for it either, so a
+ * warning is logged at startup until {@code parking-spot.events.single-instance} confirms that one instance writes.
+ */
+@Component
+public class ParkingSpotEventBroadcaster implements MeterBinder, InitializingBean, DisposableBean {
+    public static final String RESYNC = "resync";
+
+    private static final Logger log = LoggerFactory.getLogger(ParkingSpotEventBroadcaster.class);
+
+    private final ParkingSpotProperties.Events properties;
+    private final ParkingFacilities parkingFacilities;
+    private final ThreadPoolExecutor dispatcher;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final ParkingSpotEvent[] recent;
+    private final long firstId;
+    private long lastId;
+
+    public ParkingSpotEventBroadcaster(ParkingSpotProperties properties, Clock clock, ParkingFacilities parkingFacilities) {
+        this.properties = properties.getEvents();
+        this.parkingFacilities = parkingFacilities;
+        this.recent = new ParkingSpotEvent[this.properties.getReplaySize()];
+        this.lastId = clock.millis() * 1_000;
+        this.firstId = lastId + 1;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("parking-spot-events-");
+        threadFactory.setDaemon(true);
+        this.dispatcher = new ThreadPoolExecutor(this.properties.getDispatchThreads(), this.properties.getDispatchThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isSingleInstance())
+            log.warn("Parking spot events only reach subscribers of the instance that made the change. Run a single "
+                    + "instance writing parking spots, with no reactive variant on the same database, and set "
+                    + "parking-spot.events.single-instance=true; otherwise displays miss changes without a resync.");
+    }
+
+    /**
+     * Announces a created spot once the surrounding transaction, if any, commits.
+     */
+    public void created(UUID id, ParkingSpotResponseDto parkingSpot) {
+        String facility = parkingFacilities.current();
+        afterCommit(() -> publish(facility, ParkingSpotEvent.Type.CREATED, new ParkingSpotEventDto(id, parkingSpot)));
+    }
+
+    public void updated(UUID id, ParkingSpotResponseDto parkingSpot) {
+        String facility = parkingFacilities.current();
+        afterCommit(() -> publish(facility, ParkingSpotEvent.Type.UPDATED, new ParkingSpotEventDto(id, parkingSpot)));
+    }
+
+    public void deleted(UUID id) {
+        String facility = parkingFacilities.current();
+        afterCommit(() -> publish(facility, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(id, null)));
+    }
+
+    /**
+     * Opens a stream for the facility of the current request. With a {@code lastEventId} the events published
+     * since then are replayed first, or a {@code resync} is sent when they are no longer retained.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(properties.getTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, parkingFacilities.current());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null)
+                replay(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    synchronized ParkingSpotEvent publish(String facility, ParkingSpotEvent.Type type, ParkingSpotEventDto data) {
+        ParkingSpotEvent event = new ParkingSpotEvent(++lastId, facility, type, data);
+        recent[slot(event.id())] = event;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.facility.equals(facility))
+                subscriber.offer(event);
+        }
+        return event;
+    }
+
+    @Scheduled(initialDelayString = "${parking-spot.events.heartbeat-interval:PT15S}",
+            fixedDelayString = "${parking-spot.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers)
+            subscriber.heartbeat();
+    }
+
+    /**
+     * Drops the subscribers whose current write has been blocked for longer than {@code send-timeout}.
+     */
+    @Scheduled(initialDelayString = "${parking-spot.events.send-timeout:PT10S}",
+            fixedDelayString = "${parking-spot.events.send-timeout:PT10S}")
+    public void evictBlocked() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers)
+            subscriber.evictIfBlocked(now);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.events.subscribers", subscribers, Set::size)
+                .description("Open server-sent event streams")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.events.coalesced", coalesced, LongAdder::sum)
+                .description("Queued events replaced by a newer event for the same parking spot")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.events.dropped", dropped, LongAdder::sum)
+                .description("Queued events discarded because a subscriber fell too far behind")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.events.evicted", evictions, LongAdder::sum)
+                .description("Subscribers dropped because a write to them stayed blocked for send-timeout")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers)
+            subscriber.emitter.complete();
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = Math.max(firstId, lastId - recent.length + 1);
+        if (lastEventId < oldest - 1 || lastEventId > lastId) {
+            subscriber.resync(lastId);
+            return;
+        }
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            ParkingSpotEvent event = recent[slot(id)];
+            if (subscriber.facility.equals(event.facility()))
+                subscriber.offer(event);
+        }
+    }
+
+    private int slot(long id) {
+        return Math.floorMod(id, recent.length);
+    }
+
+    /**
+     * Grows or shrinks the dispatcher by one thread, standing in for a thread blocked on a dropped subscriber.
+     */
+    private void resizeDispatcher(int delta) {
+        synchronized (dispatcher) {
+            if (delta > 0) {
+                dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+                dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+            } else {
+                dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+                dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * One open stream. The queue is keyed by spot id so only the latest change of a spot is waiting; at most one
+     * dispatcher thread drains it at a time, which keeps the events in order.
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final String facility;
+        private final Map<UUID, ParkingSpotEvent> pending = new LinkedHashMap<>();
+        private long resyncId = -1;
+        private boolean heartbeat;
+        private boolean scheduled;
+        private long sendingSince;
+        private boolean evicted;
+
+        Subscriber(SseEmitter emitter, String facility) {
+            this.emitter = emitter;
+            this.facility = facility;
+        }
+
+        void offer(ParkingSpotEvent event) {
+            synchronized (pending) {
+                if (evicted)
+                    return;
+                if (pending.remove(event.data().id()) != null) {
+                    coalesced.increment();
+                } else if (pending.size() >= properties.getBufferSize()) {
+                    dropped.add(pending.size());
+                    pending.clear();
+                    resyncId = event.id() - 1;
+                }
+                pending.put(event.data().id(), event);
+                schedule();
+            }
+        }
+
+        void resync(long id) {
+            synchronized (pending) {
+                pending.clear();
+                resyncId = id;
+                schedule();
+            }
+        }
+
+        void heartbeat() {
+            synchronized (pending) {
+                heartbeat = true;
+                schedule();
+            }
+        }
+
+        /**
+         * Only a write in progress can be blocked, so the thread running it always sees the eviction afterwards.
+         */
+        void evictIfBlocked(long now) {
+            synchronized (pending) {
+                if (evicted || sendingSince == 0 || now - sendingSince < properties.getSendTimeout().toNanos())
+                    return;
+                evicted = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+            evictions.increment();
+            resizeDispatcher(1);
+        }
+
+        private void schedule() {
+            if (scheduled || evicted)
+                return;
+            scheduled = true;
+            try {
+                dispatcher.execute(this);
+            } catch (RejectedExecutionException ex) {
+                scheduled = false;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    List<ParkingSpotEvent> batch;
+                    long resync;
+                    boolean ping;
+                    synchronized (pending) {
+                        if (pending.isEmpty() && resyncId < 0 && !heartbeat) {
+                            scheduled = false;
+                            return;
+                        }
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        resync = resyncId;
+                        resyncId = -1;
+                        ping = heartbeat;
+                        heartbeat = false;
+                    }
+
+                    // EventSource ignores events without data, so resync carries its own name as payload.
+                    if (resync >= 0)
+                        send(SseEmitter.event().id(Long.toString(resync)).name(RESYNC).data(RESYNC));
+                    for (ParkingSpotEvent event : batch)
+                        send(SseEmitter.event().id(Long.toString(event.id())).name(event.type().eventName()).data(event.data()));
+                    if (ping && batch.isEmpty() && resync < 0)
+                        send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(this);
+                emitter.completeWithError(ex);
+            } finally {
+                if (isEvicted())
+                    resizeDispatcher(-1);
+            }
+        }
+
+        /**
+         * Fails once the subscriber was dropped while the write was blocked, which ends the stream.
+         */
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (pending) {
+                sendingSince = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (pending) {
+                    sendingSince = 0;
+                }
+            }
+            if (isEvicted())
+                throw new IOException("Server-sent event write blocked for more than " + properties.getSendTimeout());
+        }
+
+        private boolean isEvicted() {
+            synchronized (pending) {
+                return evicted;
+            }
+        }
+    }
+}
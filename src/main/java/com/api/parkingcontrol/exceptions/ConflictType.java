@@ -0,0 +1,22 @@
+package com.api.parkingcontrol.exceptions;
+
+import java.net.URI;
+
+/**
+ * The uniqueness rule a parking spot registration or update violated.
+ */
+public enum ConflictType {
+    PARKING_SPOT_NUMBER("/problems/parking-spot-number-taken"),
+    LICENSE_PLATE_CAR("/problems/license-plate-car-taken"),
+    APARTMENT_AND_BLOCK("/problems/apartment-and-block-taken");
+
+    private final URI type;
+
+    ConflictType(String type) {
+        this.type = URI.create(type);
+    }
+
+    public URI getType() {
+        return type;
+    }
+}
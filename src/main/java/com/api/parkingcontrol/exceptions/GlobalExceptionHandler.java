@@ -1,8 +1,11 @@
 package com.api.parkingcontrol.exceptions;
 
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,30 +14,59 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.net.URI;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * Renders every error as an RFC 7807 {@code application/problem+json} body: status, title, detail, the request
+ * path as {@code instance}, and a problem {@code type} for the parking spot failures.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     @ExceptionHandler({MethodArgumentNotValidException.class})
-    public ResponseEntity<Map<String, String>> methodArgumentException(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ProblemDetail> methodArgumentException(MethodArgumentNotValidException ex, HttpServletRequest request) {
         Map<String, String> errors = ex.getBindingResult().getFieldErrors().stream().collect(Collectors.toMap(FieldError::getField, FieldError::getDefaultMessage));
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Invalid request content.", request);
+        problem.setProperty("errors", errors);
+        return response(problem);
     }
 
     @ExceptionHandler({MissingPathVariableException.class})
-    public ResponseEntity<Map<String, String>> missingPathVariableException(MissingPathVariableException ex){
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", ex.getMessage()));
+    public ResponseEntity<ProblemDetail> missingPathVariableException(MissingPathVariableException ex, HttpServletRequest request){
+        return response(problem(HttpStatus.BAD_REQUEST, ex.getMessage(), request));
+    }
+
+    @ExceptionHandler({ParkingSpotException.class})
+    public ResponseEntity<ProblemDetail> handleParkingSpotException(ParkingSpotException ex, HttpServletRequest request) {
+        ProblemDetail problem = problem(ex.getStatus(), ex.getMessage(), request);
+        problem.setType(ex.getType());
+        return response(problem);
+    }
+
+    @ExceptionHandler({RequestThrottledException.class})
+    public ResponseEntity<ProblemDetail> handleRequestThrottledException(RequestThrottledException ex, HttpServletRequest request) {
+        ProblemDetail problem = problem(ex.getStatus(), ex.getMessage(), request);
+        problem.setType(ex.getType());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(problem);
     }
 
     @ExceptionHandler({ResponseStatusException.class})
-    public ResponseEntity<Map<String, Object>> handleResponseStatusException(ResponseStatusException ex, HttpServletRequest request){
-        return ResponseEntity.status(ex.getStatusCode()).body(Map.of(
-                "status", ex.getStatusCode().value(),
-                "error", Objects.requireNonNull(ex.getReason()),
-                "path", request.getRequestURI()));
+    public ResponseEntity<ProblemDetail> handleResponseStatusException(ResponseStatusException ex, HttpServletRequest request){
+        return response(problem(ex.getStatusCode(), ex.getReason(), request));
+    }
+
+    private static ProblemDetail problem(HttpStatusCode status, String detail, HttpServletRequest request) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setInstance(URI.create(request.getRequestURI()));
+        return problem;
+    }
+
+    private static ResponseEntity<ProblemDetail> response(ProblemDetail problem) {
+        return ResponseEntity.status(problem.getStatus()).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(problem);
     }
 }
@@ -0,0 +1,36 @@
+package com.api.parkingcontrol.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * NOT_FOUND: the car is not checked in at the parking spot.
+ */
+@Getter
+public class ParkingSessionNotFoundException extends ParkingSpotException {
+    private static final URI TYPE = URI.create("/problems/parking-session-not-found");
+
+    private final UUID parkingSpotId;
+
+    public ParkingSessionNotFoundException(UUID parkingSpotId) {
+        this.parkingSpotId = parkingSpotId;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+
+    @Override
+    public URI getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getMessage() {
+        return "No car is checked in at Parking Spot " + parkingSpotId + ".";
+    }
+}
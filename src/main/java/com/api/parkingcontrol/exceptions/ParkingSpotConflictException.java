@@ -0,0 +1,53 @@
+package com.api.parkingcontrol.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * CONFLICT: the value of {@link #getConflictType()} already belongs to another parking spot.
+ */
+@Getter
+public class ParkingSpotConflictException extends ParkingSpotException {
+    private final ConflictType conflictType;
+    private final String value;
+    private final String block;
+
+    private ParkingSpotConflictException(ConflictType conflictType, String value, String block) {
+        this.conflictType = conflictType;
+        this.value = value;
+        this.block = block;
+    }
+
+    public static ParkingSpotConflictException parkingSpotNumber(String parkingSpotNumber) {
+        return new ParkingSpotConflictException(ConflictType.PARKING_SPOT_NUMBER, parkingSpotNumber, null);
+    }
+
+    public static ParkingSpotConflictException licensePlateCar(String licensePlateCar) {
+        return new ParkingSpotConflictException(ConflictType.LICENSE_PLATE_CAR, licensePlateCar, null);
+    }
+
+    public static ParkingSpotConflictException apartmentAndBlock(String apartment, String block) {
+        return new ParkingSpotConflictException(ConflictType.APARTMENT_AND_BLOCK, apartment, block);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+
+    @Override
+    public URI getType() {
+        return conflictType.getType();
+    }
+
+    @Override
+    public String getMessage() {
+        return switch (conflictType) {
+            case PARKING_SPOT_NUMBER -> "Parking Spot Number " + value + " already exists.";
+            case LICENSE_PLATE_CAR -> "License Plate Car " + value + " already exists.";
+            case APARTMENT_AND_BLOCK -> "Apartment " + value + " and " + block + " block already exists.";
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.api.parkingcontrol.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * Base of the expected, client-caused failures of the parking spot API, rendered as RFC 7807 problems by
+ * {@link GlobalExceptionHandler}. They are stackless: a rejected registration is ordinary traffic, and a stack
+ * captured through the whole filter and proxy chain is never looked at. Subclasses build the detail message only
+ * when it is read.
+ */
+public abstract class ParkingSpotException extends RuntimeException {
+
+    protected ParkingSpotException() {
+        super(null, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+
+    /**
+     * Problem type URI, stable per kind of failure so clients can branch on it instead of parsing the detail.
+     */
+    public abstract URI getType();
+}
@@ -0,0 +1,36 @@
+package com.api.parkingcontrol.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * PRECONDITION_FAILED: the parking spot no longer has the version the client sent in If-Match.
+ */
+@Getter
+public class ParkingSpotModifiedException extends ParkingSpotException {
+    private static final URI TYPE = URI.create("/problems/parking-spot-modified");
+
+    private final UUID id;
+
+    public ParkingSpotModifiedException(UUID id) {
+        this.id = id;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.PRECONDITION_FAILED;
+    }
+
+    @Override
+    public URI getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Parking Spot " + id + " was modified by another request.";
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.parkingcontrol.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * NOT_FOUND: no parking spot has the requested id, or no spot is registered for the requested license plate.
+ */
+@Getter
+public class ParkingSpotNotFoundException extends ParkingSpotException {
+    private static final URI TYPE = URI.create("/problems/parking-spot-not-found");
+
+    private final UUID id;
+    private final String licensePlateCar;
+
+    public ParkingSpotNotFoundException(UUID id) {
+        this(id, null);
+    }
+
+    private ParkingSpotNotFoundException(UUID id, String licensePlateCar) {
+        this.id = id;
+        this.licensePlateCar = licensePlateCar;
+    }
+
+    public static ParkingSpotNotFoundException byLicensePlateCar(String licensePlateCar) {
+        return new ParkingSpotNotFoundException(null, licensePlateCar);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+
+    @Override
+    public URI getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getMessage() {
+        if (licensePlateCar != null)
+            return "Could not find Parking Service Spot by License Plate Car: " + licensePlateCar;
+        return "Could not find Parking Service Spot by id: " + id;
+    }
+}
@@ -0,0 +1,36 @@
+package com.api.parkingcontrol.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * CONFLICT: a car is already checked in at the parking spot.
+ */
+@Getter
+public class ParkingSpotOccupiedException extends ParkingSpotException {
+    private static final URI TYPE = URI.create("/problems/parking-spot-occupied");
+
+    private final UUID parkingSpotId;
+
+    public ParkingSpotOccupiedException(UUID parkingSpotId) {
+        this.parkingSpotId = parkingSpotId;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+
+    @Override
+    public URI getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Parking Spot " + parkingSpotId + " is already occupied.";
+    }
+}
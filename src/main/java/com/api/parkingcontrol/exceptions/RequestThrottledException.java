@@ -0,0 +1,56 @@
+package com.api.parkingcontrol.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * TOO_MANY_REQUESTS when a client exceeds its rate limit, SERVICE_UNAVAILABLE when the database-bound endpoints
+ * are at their concurrency limit. Either way the client is told when to retry instead of being queued.
+ */
+public class RequestThrottledException extends ParkingSpotException {
+    private static final URI RATE_LIMITED = URI.create("/problems/rate-limited");
+    private static final URI OVERLOADED = URI.create("/problems/overloaded");
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    private RequestThrottledException(HttpStatus status, Duration retryAfter) {
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public static RequestThrottledException rateLimited(Duration retryAfter) {
+        return new RequestThrottledException(HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+
+    public static RequestThrottledException overloaded(Duration retryAfter) {
+        return new RequestThrottledException(HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+
+    /**
+     * Whole seconds for the Retry-After header, rounded up and at least 1.
+     */
+    public long getRetryAfterSeconds() {
+        long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1 : 0);
+        return Math.max(1, seconds);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public URI getType() {
+        return status == HttpStatus.TOO_MANY_REQUESTS ? RATE_LIMITED : OVERLOADED;
+    }
+
+    @Override
+    public String getMessage() {
+        if (status == HttpStatus.TOO_MANY_REQUESTS)
+            return "Rate limit exceeded, retry in " + getRetryAfterSeconds() + " s.";
+        return "The service is at capacity, retry in " + getRetryAfterSeconds() + " s.";
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.parkingcontrol.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * NOT_FOUND: the request names a facility this deployment does not serve.
+ */
+@Getter
+public class UnknownFacilityException extends ParkingSpotException {
+    private static final URI TYPE = URI.create("/problems/unknown-facility");
+
+    private final String facility;
+
+    public UnknownFacilityException(String facility) {
+        this.facility = facility;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+
+    @Override
+    public URI getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Unknown facility: " + facility;
+    }
+}
@@ -0,0 +1,126 @@
+package com.api.parkingcontrol.facilities;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.exceptions.UnknownFacilityException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The facility (condominium) a request works on, taken from the {@code parking-spot.facilities.header} request
+ * header, or {@code default-facility} when the header is absent. Hibernate uses it as the tenant of every session,
+ * so each query on {@code TB_PARKING_SPOT} is restricted to that facility and, on PostgreSQL, to its partition.
+ * <p>
+ * Requests naming a facility that is not configured are answered with NOT_FOUND before they reach a controller.
+ * Background work runs inside {@link #runAs} to pick its facility explicitly.
+ */
+@Component
+public class ParkingFacilities implements HandlerInterceptor, CurrentTenantIdentifierResolver, HibernatePropertiesCustomizer {
+    private static final Pattern FACILITY_ID = Pattern.compile("[a-z0-9][a-z0-9_]{0,29}");
+
+    private static final ThreadLocal<String> OVERRIDE = new ThreadLocal<>();
+
+    private final String header;
+    private final String defaultFacility;
+    private final List<String> ids;
+    private final Set<String> known;
+
+    public ParkingFacilities(ParkingSpotProperties properties) {
+        ParkingSpotProperties.Facilities facilities = properties.getFacilities();
+        this.header = facilities.getHeader();
+        this.defaultFacility = facilities.getDefaultFacility();
+        this.ids = List.copyOf(facilities.getIds());
+        this.known = Set.copyOf(ids);
+
+        for (String id : ids) {
+            if (!FACILITY_ID.matcher(id).matches())
+                throw new IllegalStateException("Facility id '" + id + "' must be 1 to 30 lowercase letters, digits or underscores.");
+        }
+        if (!known.contains(defaultFacility))
+            throw new IllegalStateException("Default facility '" + defaultFacility + "' is not one of parking-spot.facilities.ids.");
+    }
+
+    /**
+     * Every configured facility, in configuration order.
+     */
+    public List<String> ids() {
+        return ids;
+    }
+
+    /**
+     * The facility of the running {@link #runAs} call, else of the current request, else the default one.
+     */
+    public String current() {
+        String facility = OVERRIDE.get();
+        if (facility != null)
+            return facility;
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String requested = servletAttributes.getRequest().getHeader(header);
+            if (requested != null && known.contains(requested))
+                return requested;
+        }
+        return defaultFacility;
+    }
+
+    /**
+     * Runs the action on behalf of the given facility. Transactions must be started inside the action, since a
+     * Hibernate session keeps the facility it was opened with.
+     */
+    public <T> T runAs(String facility, Supplier<T> action) {
+        if (!known.contains(facility))
+            throw new UnknownFacilityException(facility);
+
+        String previous = OVERRIDE.get();
+        OVERRIDE.set(facility);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null)
+                OVERRIDE.remove();
+            else
+                OVERRIDE.set(previous);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST)
+            return true;
+
+        String requested = request.getHeader(header);
+        if (requested != null && !known.contains(requested))
+            throw new UnknownFacilityException(requested);
+        return true;
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
@@ -0,0 +1,42 @@
+package com.api.parkingcontrol.facilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@code TB_PARKING_SPOT} partition of every configured facility on PostgreSQL. This runs while the
+ * context starts, after the migrations and before the web server accepts requests, because a spot of a facility
+ * without a partition cannot be inserted. Adding a facility therefore only takes a configuration change and a
+ * restart.
+ */
+@Component
+public class ParkingSpotPartitions implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(ParkingSpotPartitions.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ParkingFacilities parkingFacilities;
+
+    public ParkingSpotPartitions(JdbcTemplate jdbcTemplate, ParkingFacilities parkingFacilities) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parkingFacilities = parkingFacilities;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!isPostgreSql())
+            return;
+        for (String facility : parkingFacilities.ids()) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("select create_parking_spot_partition(?)", Boolean.class, facility)))
+                log.info("Created parking spot partition for facility {}", facility);
+        }
+    }
+
+    private boolean isPostgreSql() {
+        return "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()));
+    }
+}
@@ -0,0 +1,196 @@
+package com.api.parkingcontrol.index;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Counting set of short string keys. ASCII keys of up to 8 chars (every plate, spot number and most
+ * apartment/block pairs) are packed into a {@code long} and stored in an open-addressing table, so an entry
+ * costs 12 bytes instead of a boxed map entry plus a String. Longer or non-ASCII keys fall back to a map.
+ * <p>
+ * Keys are counted rather than flagged so that add/remove notifications arriving out of order from
+ * concurrent transactions still converge; a key is present while its count is positive.
+ */
+class CompactKeySet {
+
+    private static final int MAX_PACKED_LENGTH = 8;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<String, Integer> overflow = new ConcurrentHashMap<>();
+
+    private long[] keys;
+    private int[] counts;
+    private int used;
+    private int resizeThreshold;
+
+    CompactKeySet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    boolean contains(String key) {
+        if (key == null)
+            return false;
+
+        long packed = pack(key);
+        if (packed == 0)
+            return overflow.getOrDefault(key, 0) > 0;
+
+        lock.readLock().lock();
+        try {
+            int slot = find(packed);
+            return slot >= 0 && counts[slot] > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(String key) {
+        adjust(key, 1);
+    }
+
+    void remove(String key) {
+        adjust(key, -1);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return used + overflow.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap footprint of the packed table; overflow entries are not included.
+     */
+    long tableBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) keys.length * (Long.BYTES + Integer.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adjust(String key, int delta) {
+        long packed = pack(key);
+        if (packed == 0) {
+            overflow.compute(key, (k, count) -> {
+                int next = (count == null ? 0 : count) + delta;
+                return next == 0 ? null : next;
+            });
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int slot = find(packed);
+            if (slot >= 0) {
+                counts[slot] += delta;
+                if (counts[slot] == 0)
+                    delete(slot);
+                return;
+            }
+
+            if (used >= resizeThreshold)
+                rehash(keys.length * 2);
+
+            slot = insertionSlot(packed);
+            keys[slot] = packed;
+            counts[slot] = delta;
+            used++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int find(long packed) {
+        int mask = keys.length - 1;
+        for (int slot = mix(packed) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == packed)
+                return slot;
+            if (keys[slot] == 0)
+                return -1;
+        }
+    }
+
+    private int insertionSlot(long packed) {
+        int mask = keys.length - 1;
+        int slot = mix(packed) & mask;
+        while (keys[slot] != 0)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones.
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                counts[gap] = counts[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        counts[gap] = 0;
+        used--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = insertionSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    private static int mix(long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Packs 1 to 8 ASCII chars big-endian into a long, or returns 0 when the key does not fit. The first
+     * char must be non-zero so keys of different lengths never collide and 0 can mark empty slots.
+     */
+    static long pack(String key) {
+        int length = key.length();
+        if (length == 0 || length > MAX_PACKED_LENGTH || key.charAt(0) == 0)
+            return 0;
+
+        long packed = 0;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c > 0x7F)
+                return 0;
+            packed = (packed << 8) | c;
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,298 @@
+package com.api.parkingcontrol.index;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotIdKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory copy of the unique keys of {@code TB_PARKING_SPOT}, answering the {@code exists*} checks
+ * without I/O. Enabled with {@code parking-spot.occupancy-index.enabled}; it is warmed once the application is
+ * ready and rebuilt every {@code refresh-interval} to pick up writes made by other instances.
+ * <p>
+ * Local writes are applied after their transaction commits. The index can therefore briefly lag the table, so
+ * writers use it only to skip the conflict query; the unique constraints stay authoritative. Keys are unique per
+ * facility, so every facility has its own sets and the checks answer for the facility of the caller.
+ */
+@Component
+public class ParkingSpotOccupancyIndex implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(ParkingSpotOccupancyIndex.class);
+
+    private static final char PAIR_SEPARATOR = '\0';
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final ParkingSpotProperties properties;
+    private final ParkingFacilities parkingFacilities;
+
+    /**
+     * Serving sets per facility, and per facility being rebuilt the final keys of every spot changed since its
+     * rebuild started (null once deleted). Both are only switched while holding {@link #changes}.
+     */
+    private final Map<String, Keys> serving = new ConcurrentHashMap<>();
+    private final Map<String, Map<UUID, ParkingSpotKeysDto>> changes = new HashMap<>();
+    private volatile boolean ready;
+
+    public ParkingSpotOccupancyIndex(ParkingSpotRepository parkingSpotRepository, PlatformTransactionManager transactionManager,
+                                     ParkingSpotProperties properties, ParkingFacilities parkingFacilities) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = properties;
+        this.parkingFacilities = parkingFacilities;
+    }
+
+    /**
+     * Whether writers report their changes; true from startup on, so none is missed by the first build.
+     */
+    public boolean isEnabled() {
+        return properties.getOccupancyIndex().isEnabled();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean existsByParkingSpotNumber(String parkingSpotNumber) {
+        return currentKeys().parkingSpotNumbers.contains(parkingSpotNumber);
+    }
+
+    public boolean existsByLicensePlateCar(String licensePlateCar) {
+        return currentKeys().licensePlateCars.contains(licensePlateCar);
+    }
+
+    public boolean existsByApartmentAndBlock(String apartment, String block) {
+        return currentKeys().apartmentBlocks.contains(apartmentBlock(apartment, block));
+    }
+
+    /**
+     * False means none of the keys is taken as far as this instance knows, true means the table must be asked.
+     */
+    public boolean mayConflict(String parkingSpotNumber, String licensePlateCar, String apartment, String block) {
+        return existsByParkingSpotNumber(parkingSpotNumber)
+                || existsByLicensePlateCar(licensePlateCar)
+                || existsByApartmentAndBlock(apartment, block);
+    }
+
+    /**
+     * Records the keys of a created spot once the surrounding transaction, if any, commits.
+     */
+    public void added(UUID id, ParkingSpotKeysDto keys) {
+        String facility = parkingFacilities.current();
+        afterCommit(() -> changed(facility, id, null, keys));
+    }
+
+    /**
+     * Forgets the keys of a deleted spot once the surrounding transaction, if any, commits. The keys are those the
+     * spot had before, or null when they were not read because the index was not ready yet.
+     */
+    public void removed(UUID id, ParkingSpotKeysDto keys) {
+        String facility = parkingFacilities.current();
+        afterCommit(() -> changed(facility, id, keys, null));
+    }
+
+    public void replaced(UUID id, ParkingSpotKeysDto oldKeys, ParkingSpotKeysDto newKeys) {
+        String facility = parkingFacilities.current();
+        afterCommit(() -> changed(facility, id, oldKeys, newKeys));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (isEnabled())
+            rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${parking-spot.occupancy-index.refresh-interval:PT5M}",
+            fixedDelayString = "${parking-spot.occupancy-index.refresh-interval:PT5M}")
+    public void refresh() {
+        if (isEnabled())
+            rebuild();
+    }
+
+    /**
+     * Streams every key from the table into fresh sets, one facility (and partition) at a time, and swaps them in.
+     * <p>
+     * The stream reads a REPEATABLE READ snapshot on the primary, so it holds every local change whose commit was
+     * reported before it started and none committed after. Changes reported while a facility is rebuilt are only
+     * applied to the serving sets and remembered by id. Once the stream is done, the same snapshot gives the keys it
+     * counted for those spots, which are swapped for their final keys; no change is counted twice or taken away
+     * from keys that were never counted. The rest is reconciled while changes are held back, and the sets go live.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        for (String facility : parkingFacilities.ids()) {
+            parkingFacilities.runAs(facility, () -> {
+                rebuild(facility);
+                return null;
+            });
+        }
+        ready = true;
+        log.info("Occupancy index rebuilt with {} parking spots of {} facilities in {} ms",
+                serving.values().stream().mapToInt(keys -> keys.licensePlateCars.size()).sum(), serving.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void rebuild(String facility) {
+        Keys keys = new Keys(properties.getOccupancyIndex().getExpectedSize());
+        synchronized (changes) {
+            changes.put(facility, new HashMap<>());
+        }
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                try (Stream<ParkingSpotKeysDto> stream = parkingSpotRepository.streamAllKeys()) {
+                    stream.forEach(spot -> keys.apply(spot, 1));
+                }
+
+                Map<UUID, ParkingSpotKeysDto> counted = new HashMap<>();
+                reconcile(keys, counted, takeChanges(facility));
+                synchronized (changes) {
+                    reconcile(keys, counted, takeChanges(facility));
+                    serving.put(facility, keys);
+                    changes.remove(facility);
+                }
+            });
+        } finally {
+            synchronized (changes) {
+                changes.remove(facility);
+            }
+        }
+    }
+
+    private Map<UUID, ParkingSpotKeysDto> takeChanges(String facility) {
+        synchronized (changes) {
+            Map<UUID, ParkingSpotKeysDto> taken = changes.put(facility, new HashMap<>());
+            return taken == null ? Map.of() : taken;
+        }
+    }
+
+    /**
+     * Replaces what the rebuilt sets count for each changed spot with its final keys. {@code counted} holds what
+     * earlier rounds left counted; for any other spot that is what the snapshot holds.
+     */
+    private void reconcile(Keys keys, Map<UUID, ParkingSpotKeysDto> counted, Map<UUID, ParkingSpotKeysDto> finalKeys) {
+        List<UUID> unread = finalKeys.keySet().stream().filter(id -> !counted.containsKey(id)).toList();
+        for (int from = 0; from < unread.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<UUID> chunk = unread.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, unread.size()));
+            for (UUID id : chunk)
+                counted.put(id, null);
+            for (ParkingSpotIdKeysDto snapshot : parkingSpotRepository.findKeysByIdIn(chunk))
+                counted.put(snapshot.id(), snapshot.keys());
+        }
+
+        for (Map.Entry<UUID, ParkingSpotKeysDto> change : finalKeys.entrySet()) {
+            ParkingSpotKeysDto previous = counted.put(change.getKey(), change.getValue());
+            if (previous != null)
+                keys.apply(previous, -1);
+            if (change.getValue() != null)
+                keys.apply(change.getValue(), 1);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.occupancy_index.keys", this, index -> index.total(Keys::size))
+                .description("Keys held by the in-memory occupancy index")
+                .register(registry);
+        Gauge.builder("parking_spot.occupancy_index.table.bytes", this, index -> index.total(Keys::tableBytes))
+                .description("Approximate heap used by the packed key tables")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Keys currentKeys() {
+        return serving.get(parkingFacilities.current());
+    }
+
+    private void changed(String facility, UUID id, ParkingSpotKeysDto oldKeys, ParkingSpotKeysDto newKeys) {
+        synchronized (changes) {
+            Keys keys = serving.get(facility);
+            if (keys != null) {
+                if (oldKeys != null)
+                    keys.apply(oldKeys, -1);
+                if (newKeys != null)
+                    keys.apply(newKeys, 1);
+            }
+            Map<UUID, ParkingSpotKeysDto> pending = changes.get(facility);
+            if (pending != null)
+                pending.put(id, newKeys);
+        }
+    }
+
+    private long total(ToLongFunction<Keys> metric) {
+        return serving.values().stream().mapToLong(metric).sum();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String apartmentBlock(String apartment, String block) {
+        return apartment + PAIR_SEPARATOR + block;
+    }
+
+    private static final class Keys {
+        private final CompactKeySet parkingSpotNumbers;
+        private final CompactKeySet licensePlateCars;
+        private final CompactKeySet apartmentBlocks;
+
+        Keys(int expectedSize) {
+            parkingSpotNumbers = new CompactKeySet(expectedSize);
+            licensePlateCars = new CompactKeySet(expectedSize);
+            apartmentBlocks = new CompactKeySet(expectedSize);
+        }
+
+        void apply(ParkingSpotKeysDto keys, int delta) {
+            if (delta > 0) {
+                parkingSpotNumbers.add(keys.parkingSpotNumber());
+                licensePlateCars.add(keys.licensePlateCar());
+                apartmentBlocks.add(apartmentBlock(keys.apartment(), keys.block()));
+            } else {
+                parkingSpotNumbers.remove(keys.parkingSpotNumber());
+                licensePlateCars.remove(keys.licensePlateCar());
+                apartmentBlocks.remove(apartmentBlock(keys.apartment(), keys.block()));
+            }
+        }
+
+        long size() {
+            return (long) parkingSpotNumbers.size() + licensePlateCars.size() + apartmentBlocks.size();
+        }
+
+        long tableBytes() {
+            return parkingSpotNumbers.tableBytes() + licensePlateCars.tableBytes() + apartmentBlocks.tableBytes();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.api.parkingcontrol.mapper;
 
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
 import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
 import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
 import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
@@ -11,25 +13,31 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.Clock;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
-@Mapper (imports = {LocalDateTime.class, ZoneId.class}, componentModel = "spring")
+@Mapper (imports = ChronoUnit.class, componentModel = "spring")
 public interface ModelMapper {
 
     ModelMapper INSTANCE = Mappers.getMapper(ModelMapper.class);
 
-    @Mapping(target = "registrationDate", expression = "java(LocalDateTime.now(ZoneId.of(\"UTC\")))")
+    /**
+     * Registration timestamps come from the given clock, truncated to the microsecond precision PostgreSQL stores.
+     */
+    @Mapping(target = "registrationDate", expression = "java(clock.instant().truncatedTo(ChronoUnit.MICROS))")
     @Mapping(source = "licensePlateCar", target = "licensePlateCar")
-    ParkingSpotModel toModel(ParkingSpotRequestDto parkingSpotRequestDto);
+    ParkingSpotModel toModel(ParkingSpotRequestDto parkingSpotRequestDto, @Context Clock clock);
 
     @Mapping(source = "registrationDate", target = "registrationDate")
     ParkingSpotResponseDto toResponseDto(ParkingSpotModel parkingSpotModel);
 
     ParkingSpotRequestDto toRequestDto(ParkingSpotModel parkingSpotModel);
 
+    ParkingSpotKeysDto toKeysDto(ParkingSpotModel parkingSpotModel);
+
+    ParkingSpotKeysDto toKeysDto(ParkingSpotRequestDto parkingSpotRequestDto);
+
     List<ParkingSpotResponseDto> toListResponseDto(List<ParkingSpotModel> parkingSpotModelList);
 
     default Page<ParkingSpotResponseDto> toPageResponseDto(Page<ParkingSpotModel> parkingSpotModelPage) {
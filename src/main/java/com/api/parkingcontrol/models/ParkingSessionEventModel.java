@@ -0,0 +1,57 @@
+package com.api.parkingcontrol.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One entry of the append-only parking session log: a car entering or leaving a spot. Both events of a session
+ * share its {@code sessionId}; rows are never updated or deleted, and on PostgreSQL the table is partitioned by
+ * month on {@code occurredAt}. There is no foreign key to the spot so the history outlives deleted spots.
+ */
+@Entity
+@Table(name = "TB_PARKING_SESSION_EVENT", indexes = {
+        @Index(name = "IDX_PARKING_SESSION_EVENT_SPOT_OCCURRED_AT", columnList = "parkingSpotId, occurredAt"),
+        @Index(name = "IDX_PARKING_SESSION_EVENT_SESSION_ID", columnList = "sessionId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkingSessionEventModel {
+
+    public enum Type {
+        CHECK_IN, CHECK_OUT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID sessionId;
+
+    /**
+     * Facility (condominium) of the spot. Set explicitly rather than as tenant, so the restore reads every facility.
+     */
+    @Column(nullable = false, length = 30)
+    private String facility;
+
+    @Column(nullable = false)
+    private UUID parkingSpotId;
+
+    @Column(nullable = false, length = 7)
+    private String licensePlateCar;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Type type;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
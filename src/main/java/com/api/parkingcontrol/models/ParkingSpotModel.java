@@ -5,21 +5,41 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "TB_PARKING_SPOT ")
+@Table(name = "TB_PARKING_SPOT ", uniqueConstraints = {
+        @UniqueConstraint(name = ParkingSpotModel.UK_PARKING_SPOT_NUMBER, columnNames = {"facility", "parkingSpotNumber"}),
+        @UniqueConstraint(name = ParkingSpotModel.UK_LICENSE_PLATE_CAR, columnNames = {"facility", "licensePlateCar"}),
+        @UniqueConstraint(name = ParkingSpotModel.UK_APARTMENT_BLOCK, columnNames = {"facility", "apartment", "block"})
+}, indexes = {
+        @Index(name = "IDX_PARKING_SPOT_REGISTRATION_DATE_ID", columnList = "facility, registrationDate, id")
+})
+@Cacheable
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ParkingSpotModel {
+    public static final String UK_PARKING_SPOT_NUMBER = "UK_PARKING_SPOT_NUMBER";
+    public static final String UK_LICENSE_PLATE_CAR = "UK_LICENSE_PLATE_CAR";
+    public static final String UK_APARTMENT_BLOCK = "UK_APARTMENT_BLOCK";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    /**
+     * Facility (condominium) owning the spot, filled in from the session's tenant; every query is restricted to it.
+     */
+    @TenantId
+    @Column(nullable = false, length = 30, updatable = false)
+    private String facility;
+
     @Column(nullable = false, length = 10)
     private String parkingSpotNumber;
 
@@ -36,7 +56,7 @@ public class ParkingSpotModel {
     private String colorCar;
 
     @Column(nullable = false)
-    private LocalDateTime registrationDate;
+    private Instant registrationDate;
 
     @Column(nullable = false, length = 130)
     private String responsibleName;
@@ -46,4 +66,12 @@ public class ParkingSpotModel {
 
     @Column(nullable = false, length = 30)
     private String block;
+
+    /**
+     * Bumped on every write; exposed as the ETag so concurrent updates can be detected.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,244 @@
+package com.api.parkingcontrol.registrations;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind queue for single registrations, used when {@code parking-spot.write-behind.enabled} is set. Callers
+ * hand their validated request to a single writer thread and wait until it is committed. The writer collects what
+ * arrives within {@code linger} of the first request, up to {@code batch-size}, and saves it as one batched
+ * transaction, so a shift change costs a handful of commits instead of one per car.
+ * <p>
+ * Nothing is acknowledged before its batch commits, and every caller still gets its own CONFLICT. A full queue is
+ * answered with SERVICE_UNAVAILABLE instead of making callers wait for room, and so is a registration the writer has
+ * not picked up within {@code write-timeout}; it is withdrawn and never saved. If the writer stops, shutdown included,
+ * every registration it has not completed is failed. Registrations remember the facility of their caller; a batch
+ * mixing facilities is handed to the batch writer as one batch per facility.
+ */
+@Component
+public class ParkingSpotRegistrationQueue implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(ParkingSpotRegistrationQueue.class);
+
+    private final ParkingSpotProperties properties;
+    private final ParkingFacilities parkingFacilities;
+    private final BlockingQueue<Registration> queue;
+    private final LongAdder registrations = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private ExecutorService writer;
+    private volatile boolean running;
+
+    public ParkingSpotRegistrationQueue(ParkingSpotProperties properties, ParkingFacilities parkingFacilities) {
+        this.properties = properties;
+        this.parkingFacilities = parkingFacilities;
+        this.queue = new ArrayBlockingQueue<>(properties.getWriteBehind().getQueueCapacity());
+    }
+
+    /**
+     * Starts the writer thread; {@code batchWriter} must complete every registration of the batch it is given. It
+     * runs on behalf of the facility of that batch.
+     */
+    public synchronized void start(Consumer<List<Registration>> batchWriter) {
+        if (writer != null)
+            throw new IllegalStateException("Parking spot registration queue is already started.");
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("parking-spot-registration-");
+        threadFactory.setDaemon(true);
+        writer = Executors.newSingleThreadExecutor(threadFactory);
+        running = true;
+        writer.execute(() -> drain(batchWriter));
+    }
+
+    /**
+     * Queues the registration and returns the saved spot once its batch has committed; a conflict or a failed
+     * batch is rethrown to the caller. A registration already in a batch at {@code write-timeout} is waited for once
+     * more before the caller is told that its outcome is unknown.
+     */
+    public ParkingSpotResponseDto register(ParkingSpotRequestDto parkingSpotRequestDto) {
+        if (!running)
+            throw closed();
+
+        Registration registration = new Registration(parkingSpotRequestDto, parkingFacilities.current());
+        if (!queue.offer(registration))
+            throw RequestThrottledException.overloaded(properties.getConcurrencyLimit().getRetryAfter());
+        if (!running)
+            failQueued();
+
+        Duration timeout = properties.getWriteBehind().getWriteTimeout();
+        try {
+            try {
+                return registration.saved.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (queue.remove(registration))
+                    throw RequestThrottledException.overloaded(properties.getConcurrencyLimit().getRetryAfter());
+                return registration.saved.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Parking spot registration not confirmed within " + timeout.multipliedBy(2) + ".", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while registering a parking spot.", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.registrations.queue", queue, BlockingQueue::size)
+                .description("Registrations waiting for the write-behind writer")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.registrations.written", registrations, LongAdder::sum)
+                .description("Registrations handled by the write-behind writer")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.registrations.batches", batches, LongAdder::sum)
+                .description("Write-behind batches; registrations per batch shows how much commits are shared")
+                .register(registry);
+    }
+
+    /**
+     * Lets the writer finish what is already queued; called by the service before the connection pool closes.
+     */
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.shutdown();
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+                writer.shutdownNow();
+        }
+        failQueued();
+    }
+
+    /**
+     * Runs until shutdown. However it ends, interrupted or by an Error from the batch writer, the queue is closed
+     * and the registrations not completed are failed, so no caller waits on a writer that is gone.
+     */
+    private void drain(Consumer<List<Registration>> batchWriter) {
+        int batchSize = properties.getWriteBehind().getBatchSize();
+        long lingerNanos = properties.getWriteBehind().getLinger().toNanos();
+        List<Registration> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Registration first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                collect(batch, batchSize, System.nanoTime() + lingerNanos);
+                write(batchWriter, batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            log.error("Parking spot registration writer stopped", ex);
+            throw ex;
+        } finally {
+            running = false;
+            for (Registration registration : batch)
+                registration.failed(closed());
+            failQueued();
+        }
+    }
+
+    /**
+     * Adds whatever arrives until the batch is full or the linger window is over.
+     */
+    private void collect(List<Registration> batch, int batchSize, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0)
+                return;
+            Registration next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null)
+                return;
+            batch.add(next);
+        }
+    }
+
+    private void write(Consumer<List<Registration>> batchWriter, List<Registration> batch) {
+        Map<String, List<Registration>> byFacility = new LinkedHashMap<>();
+        for (Registration registration : batch)
+            byFacility.computeIfAbsent(registration.facility, facility -> new ArrayList<>()).add(registration);
+
+        for (Map.Entry<String, List<Registration>> facilityBatch : byFacility.entrySet()) {
+            List<Registration> registrationsOfFacility = facilityBatch.getValue();
+            try {
+                parkingFacilities.runAs(facilityBatch.getKey(), () -> {
+                    batchWriter.accept(registrationsOfFacility);
+                    return null;
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Parking spot registration batch of {} failed", registrationsOfFacility.size(), ex);
+                for (Registration registration : registrationsOfFacility)
+                    registration.failed(ex);
+            }
+            batches.increment();
+        }
+        registrations.add(batch.size());
+    }
+
+    private void failQueued() {
+        Registration registration;
+        while ((registration = queue.poll()) != null)
+            registration.failed(closed());
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("Parking spot registration queue is closed.");
+    }
+
+    /**
+     * One queued request; the batch writer completes it with the saved spot or the error its caller gets.
+     */
+    public static final class Registration {
+        private final ParkingSpotRequestDto request;
+        private final String facility;
+        private final CompletableFuture<ParkingSpotResponseDto> saved = new CompletableFuture<>();
+
+        private Registration(ParkingSpotRequestDto request, String facility) {
+            this.request = request;
+            this.facility = facility;
+        }
+
+        public ParkingSpotRequestDto request() {
+            return request;
+        }
+
+        public void saved(ParkingSpotResponseDto parkingSpot) {
+            saved.complete(parkingSpot);
+        }
+
+        public void failed(RuntimeException ex) {
+            saved.completeExceptionally(ex);
+        }
+    }
+}
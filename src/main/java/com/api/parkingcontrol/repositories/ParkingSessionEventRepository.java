@@ -0,0 +1,31 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+import com.api.parkingcontrol.models.ParkingSessionEventModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface ParkingSessionEventRepository extends JpaRepository<ParkingSessionEventModel, UUID> {
+
+    /**
+     * Streams the sessions checked in since the given instant that have no check-out yet. The lower bound lets
+     * PostgreSQL prune the older partitions; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.api.parkingcontrol.dtos.ParkingSessionResponseDto(e.sessionId, e.facility, e.parkingSpotId, " +
+            "e.licensePlateCar, e.occurredAt) from ParkingSessionEventModel e " +
+            "where e.type = com.api.parkingcontrol.models.ParkingSessionEventModel$Type.CHECK_IN " +
+            "and e.occurredAt >= :since " +
+            "and not exists (select o.id from ParkingSessionEventModel o where o.sessionId = e.sessionId " +
+            "and o.type = com.api.parkingcontrol.models.ParkingSessionEventModel$Type.CHECK_OUT " +
+            "and o.occurredAt >= :since)")
+    Stream<ParkingSessionResponseDto> streamOpenSessions(@Param("since") Instant since);
+}
@@ -1,17 +1,201 @@
 package com.api.parkingcontrol.repositories;
 
+import com.api.parkingcontrol.dtos.ParkingSpotIdKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
 import com.api.parkingcontrol.models.ParkingSpotModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ParkingSpotRepository extends JpaRepository<ParkingSpotModel, UUID> {
+public interface ParkingSpotRepository extends JpaRepository<ParkingSpotModel, UUID>, ParkingSpotSearchRepository {
 
+    /**
+     * Selects the response columns straight into the record, so reads never hydrate or snapshot entities.
+     */
+    String RESPONSE_PROJECTION = "select new com.api.parkingcontrol.dtos.ParkingSpotResponseDto(p.parkingSpotNumber, " +
+            "p.licensePlateCar, p.brandCar, p.modelCar, p.colorCar, p.registrationDate, p.responsibleName, " +
+            "p.apartment, p.block, p.version) from ParkingSpotModel p";
+
+    String UPDATE_SPOT = "update ParkingSpotModel p set p.parkingSpotNumber = :parkingSpotNumber, " +
+            "p.licensePlateCar = :licensePlateCar, p.brandCar = :brandCar, p.modelCar = :modelCar, " +
+            "p.colorCar = :colorCar, p.responsibleName = :responsibleName, p.apartment = :apartment, " +
+            "p.block = :block, p.version = p.version + 1 where p.id = :id";
+
+    @Query(value = RESPONSE_PROJECTION, countQuery = "select count(p) from ParkingSpotModel p")
+    Page<ParkingSpotResponseDto> findAllResponses(Pageable pageable);
+
+    /**
+     * Not read-only, so it is served by the primary even with replicas: the result fills the findById cache, which
+     * must not keep a stale spot (and ETag) from a lagging replica for its whole time-to-live.
+     */
+    @Transactional
+    @Query(RESPONSE_PROJECTION + " where p.id = :id")
+    Optional<ParkingSpotResponseDto> findResponseById(@Param("id") UUID id);
+
+    @Query("select new com.api.parkingcontrol.dtos.ParkingSpotKeysDto(p.parkingSpotNumber, p.licensePlateCar, p.apartment, p.block) " +
+            "from ParkingSpotModel p where p.id = :id")
+    Optional<ParkingSpotKeysDto> findKeysById(@Param("id") UUID id);
+
+    /**
+     * Resolves a license plate to its assigned spot through the uk_license_plate_car index. Check-ins repeat it for
+     * every car, so the answer is kept in the query cache until the table is next written.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select p.id from ParkingSpotModel p where p.licensePlateCar = :licensePlateCar")
+    Optional<UUID> findIdByLicensePlateCar(@Param("licensePlateCar") String licensePlateCar);
+
+    /**
+     * Overwrites the editable columns in one statement and bumps the version, leaving the registration date
+     * untouched. Returns the number of rows updated, so 0 means the spot does not exist.
+     */
+    @Modifying
+    @Query(UPDATE_SPOT)
+    int updateSpotById(@Param("id") UUID id,
+                       @Param("parkingSpotNumber") String parkingSpotNumber,
+                       @Param("licensePlateCar") String licensePlateCar,
+                       @Param("brandCar") String brandCar,
+                       @Param("modelCar") String modelCar,
+                       @Param("colorCar") String colorCar,
+                       @Param("responsibleName") String responsibleName,
+                       @Param("apartment") String apartment,
+                       @Param("block") String block);
+
+    /**
+     * Same as {@link #updateSpotById} but only applies while the row still has the expected version.
+     */
+    @Modifying
+    @Query(UPDATE_SPOT + " and p.version = :version")
+    int updateSpotByIdAndVersion(@Param("id") UUID id,
+                                 @Param("version") long version,
+                                 @Param("parkingSpotNumber") String parkingSpotNumber,
+                                 @Param("licensePlateCar") String licensePlateCar,
+                                 @Param("brandCar") String brandCar,
+                                 @Param("modelCar") String modelCar,
+                                 @Param("colorCar") String colorCar,
+                                 @Param("responsibleName") String responsibleName,
+                                 @Param("apartment") String apartment,
+                                 @Param("block") String block);
+
+    /**
+     * Deletes in one statement without loading the entity. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("delete from ParkingSpotModel p where p.id = :id")
+    int deleteSpotById(@Param("id") UUID id);
+
+    /**
+     * Not read-only, so it runs on the primary even with replicas: the loaded spot is put in the second-level
+     * cache, which must not keep a row from a lagging replica.
+     */
+    @Override
+    @Transactional
+    Optional<ParkingSpotModel> findById(UUID id);
+
+    /**
+     * The exists* checks are answered from the query cache until the table is next written.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByParkingSpotNumber(String parkingSpotNumber);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByLicensePlateCar(String licensePlateCar);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByApartmentAndBlock(String apartment, String block);
 
-}
+    /**
+     * Returns the unique keys of every spot that collides with any of the given values, so all three
+     * uniqueness rules are checked in a single round trip. At most three rows can match.
+     */
+    @Query("select new com.api.parkingcontrol.dtos.ParkingSpotKeysDto(p.parkingSpotNumber, p.licensePlateCar, p.apartment, p.block) " +
+            "from ParkingSpotModel p " +
+            "where p.parkingSpotNumber = :parkingSpotNumber " +
+            "or p.licensePlateCar = :licensePlateCar " +
+            "or (p.apartment = :apartment and p.block = :block)")
+    List<ParkingSpotKeysDto> findConflictingKeys(@Param("parkingSpotNumber") String parkingSpotNumber,
+                                                 @Param("licensePlateCar") String licensePlateCar,
+                                                 @Param("apartment") String apartment,
+                                                 @Param("block") String block);
+
+    /**
+     * Set-based variant of {@link #findConflictingKeys} for bulk registrations. The apartment/block
+     * predicate is a superset of the exact pairs, callers must match pairs themselves.
+     */
+    @Query("select new com.api.parkingcontrol.dtos.ParkingSpotKeysDto(p.parkingSpotNumber, p.licensePlateCar, p.apartment, p.block) " +
+            "from ParkingSpotModel p " +
+            "where p.parkingSpotNumber in :parkingSpotNumbers " +
+            "or p.licensePlateCar in :licensePlateCars " +
+            "or (p.apartment in :apartments and p.block in :blocks)")
+    List<ParkingSpotKeysDto> findConflictingKeysIn(@Param("parkingSpotNumbers") Collection<String> parkingSpotNumbers,
+                                                   @Param("licensePlateCars") Collection<String> licensePlateCars,
+                                                   @Param("apartments") Collection<String> apartments,
+                                                   @Param("blocks") Collection<String> blocks);
+
+    /**
+     * Slices and exports may be read from a replica and touch many rows, so they never fill the second-level cache.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Query("select p from ParkingSpotModel p order by p.registrationDate asc, p.id asc")
+    Slice<ParkingSpotModel> findFirstSlice(Pageable pageable);
+
+    /**
+     * Keyset (seek) page after the given position. Served by the (registrationDate, id) index, so the cost
+     * does not grow with how deep the client pages; pass an unsorted {@link Pageable} of page 0.
+     * <p>
+     * The {@code >=} bound is redundant for the result but gives PostgreSQL the start key of the index range; with
+     * the OR alone it reads the index from the beginning and filters. The row-value form used by the reactive
+     * variant is not available in JPQL.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Query("select p from ParkingSpotModel p " +
+            "where p.registrationDate >= :registrationDate " +
+            "and (p.registrationDate > :registrationDate or (p.registrationDate = :registrationDate and p.id > :id)) " +
+            "order by p.registrationDate asc, p.id asc")
+    Slice<ParkingSpotModel> findSliceAfter(@Param("registrationDate") Instant registrationDate,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
 
+    /**
+     * Streams the unique keys of every spot; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.api.parkingcontrol.dtos.ParkingSpotKeysDto(p.parkingSpotNumber, p.licensePlateCar, p.apartment, p.block) " +
+            "from ParkingSpotModel p")
+    Stream<ParkingSpotKeysDto> streamAllKeys();
+
+    /**
+     * The unique keys of the given spots; spots that do not exist are left out.
+     */
+    @Query("select new com.api.parkingcontrol.dtos.ParkingSpotIdKeysDto(p.id, p.parkingSpotNumber, p.licensePlateCar, p.apartment, p.block) " +
+            "from ParkingSpotModel p where p.id in :ids")
+    List<ParkingSpotIdKeysDto> findKeysByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Streams every spot through a server-side cursor for exports; must be consumed inside a transaction and
+     * closed, and callers should detach rows once written to keep memory flat.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    @Query("select p from ParkingSpotModel p order by p.registrationDate asc, p.id asc")
+    Stream<ParkingSpotModel> streamAll();
+
+}
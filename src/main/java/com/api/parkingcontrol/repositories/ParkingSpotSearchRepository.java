@@ -0,0 +1,16 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ParkingSpotSearchRepository {
+
+    /**
+     * Like {@code JpaSpecificationExecutor#findAll(Specification, Pageable)} but selects straight into the response
+     * record, and skips the count query when the page already shows where the results end.
+     */
+    Page<ParkingSpotResponseDto> searchResponses(Specification<ParkingSpotModel> specification, Pageable pageable);
+}
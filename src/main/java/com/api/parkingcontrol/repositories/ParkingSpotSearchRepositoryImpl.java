@@ -0,0 +1,64 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class ParkingSpotSearchRepositoryImpl implements ParkingSpotSearchRepository {
+
+    private final EntityManager entityManager;
+
+    ParkingSpotSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ParkingSpotResponseDto> searchResponses(Specification<ParkingSpotModel> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ParkingSpotResponseDto> query = cb.createQuery(ParkingSpotResponseDto.class);
+        Root<ParkingSpotModel> root = query.from(ParkingSpotModel.class);
+        query.select(cb.construct(ParkingSpotResponseDto.class,
+                root.get("parkingSpotNumber"), root.get("licensePlateCar"), root.get("brandCar"),
+                root.get("modelCar"), root.get("colorCar"), root.get("registrationDate"),
+                root.get("responsibleName"), root.get("apartment"), root.get("block"), root.get("version")));
+        where(query, root, cb, specification);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<ParkingSpotResponseDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<ParkingSpotResponseDto> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<ParkingSpotModel> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ParkingSpotModel> root = query.from(ParkingSpotModel.class);
+        query.select(cb.count(root));
+        where(query, root, cb, specification);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<ParkingSpotModel> root, CriteriaBuilder cb,
+                              Specification<ParkingSpotModel> specification) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+    }
+}
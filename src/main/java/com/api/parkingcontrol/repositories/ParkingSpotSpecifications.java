@@ -0,0 +1,82 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Search predicates for {@link ParkingSpotModel}. Each one is shaped to match an index created by the
+ * {@code V4__create_search_indexes} migration, so keep both in step.
+ */
+public final class ParkingSpotSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ParkingSpotSpecifications() {
+    }
+
+    public static Specification<ParkingSpotModel> matching(ParkingSpotSearchDto search) {
+        return Specification.allOf(
+                equalTo("block", search.block()),
+                equalTo("apartment", search.apartment()),
+                containsIgnoringCase("brandCar", search.brandCar()),
+                containsIgnoringCase("modelCar", search.modelCar()),
+                equalToIgnoringCase("colorCar", search.colorCar()),
+                startsWith("licensePlateCar", search.licensePlateCarPrefix()),
+                registeredFrom(search.registeredFrom()),
+                registeredBefore(search.registeredTo()));
+    }
+
+    private static Specification<ParkingSpotModel> equalTo(String attribute, String value) {
+        if (!StringUtils.hasText(value))
+            return null;
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static Specification<ParkingSpotModel> equalToIgnoringCase(String attribute, String value) {
+        if (!StringUtils.hasText(value))
+            return null;
+        return (root, query, cb) -> cb.equal(cb.lower(root.get(attribute)), value.toLowerCase(Locale.ROOT));
+    }
+
+    private static Specification<ParkingSpotModel> containsIgnoringCase(String attribute, String value) {
+        if (!StringUtils.hasText(value))
+            return null;
+        String pattern = "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, LIKE_ESCAPE);
+    }
+
+    private static Specification<ParkingSpotModel> startsWith(String attribute, String prefix) {
+        if (!StringUtils.hasText(prefix))
+            return null;
+        String pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.like(root.get(attribute), pattern, LIKE_ESCAPE);
+    }
+
+    private static Specification<ParkingSpotModel> registeredFrom(Instant from) {
+        if (from == null)
+            return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("registrationDate"), from);
+    }
+
+    private static Specification<ParkingSpotModel> registeredBefore(Instant to) {
+        if (to == null)
+            return null;
+        return (root, query, cb) -> cb.lessThan(root.get("registrationDate"), to);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE)
+                escaped.append(LIKE_ESCAPE);
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.api.parkingcontrol.services;
+
+import com.api.parkingcontrol.dtos.ParkingSessionRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ParkingSessionService {
+
+    ParkingSessionResponseDto checkIn(ParkingSessionRequestDto parkingSessionRequestDto);
+
+    ParkingSessionResponseDto checkOut(ParkingSessionRequestDto parkingSessionRequestDto);
+
+    List<ParkingSessionResponseDto> findParked();
+
+    ParkingSessionResponseDto findParked(UUID parkingSpotId);
+
+}
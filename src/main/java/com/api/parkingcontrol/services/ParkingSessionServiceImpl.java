@@ -0,0 +1,133 @@
+package com.api.parkingcontrol.services;
+
+import com.api.parkingcontrol.config.MetricsConfig;
+import com.api.parkingcontrol.dtos.ParkingSessionRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+import com.api.parkingcontrol.exceptions.ParkingSessionNotFoundException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.exceptions.ParkingSpotOccupiedException;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.models.ParkingSessionEventModel;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.sessions.ParkingSessionLog;
+import com.api.parkingcontrol.sessions.ParkingSessionOccupancy;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Check-ins and check-outs claim or free the spot in {@link ParkingSessionOccupancy} first and then append to
+ * {@link ParkingSessionLog}; a failed append gives the spot back. Current-occupancy reads are served from memory.
+ * Every session belongs to the facility of its spot and is only visible to callers of that facility.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ParkingSessionServiceImpl implements ParkingSessionService {
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final ParkingSessionOccupancy occupancy;
+    private final ParkingSessionLog sessionLog;
+    private final ParkingFacilities parkingFacilities;
+    private final Clock clock;
+
+    public ParkingSessionServiceImpl(ParkingSpotRepository parkingSpotRepository, ParkingSessionOccupancy occupancy,
+                                     ParkingSessionLog sessionLog, ParkingFacilities parkingFacilities, Clock clock) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.occupancy = occupancy;
+        this.sessionLog = sessionLog;
+        this.parkingFacilities = parkingFacilities;
+        this.clock = clock;
+    }
+
+    @Override
+    public ParkingSessionResponseDto checkIn(ParkingSessionRequestDto parkingSessionRequestDto) {
+        UUID parkingSpotId = resolveParkingSpot(parkingSessionRequestDto);
+        ParkingSessionResponseDto session = new ParkingSessionResponseDto(UUID.randomUUID(), parkingFacilities.current(),
+                parkingSpotId, parkingSessionRequestDto.licensePlateCar(), now());
+
+        if (!occupancy.claim(session))
+            throw new ParkingSpotOccupiedException(parkingSpotId);
+
+        try {
+            sessionLog.append(event(session, ParkingSessionEventModel.Type.CHECK_IN, session.checkInDate()));
+        } catch (RuntimeException ex) {
+            occupancy.release(session);
+            throw ex;
+        }
+        return session;
+    }
+
+    /**
+     * Ends the session of the given car; fails with NOT_FOUND when the spot is free or holds another car.
+     */
+    @Override
+    public ParkingSessionResponseDto checkOut(ParkingSessionRequestDto parkingSessionRequestDto) {
+        UUID parkingSpotId = resolveParkingSpot(parkingSessionRequestDto);
+        ParkingSessionResponseDto session = occupancy.find(parkingFacilities.current(), parkingSpotId)
+                .filter(parked -> Objects.equals(parked.licensePlateCar(), parkingSessionRequestDto.licensePlateCar()))
+                .orElseThrow(() -> new ParkingSessionNotFoundException(parkingSpotId));
+
+        if (!occupancy.release(session))
+            throw new ParkingSessionNotFoundException(parkingSpotId);
+
+        Instant checkOutDate = now();
+        try {
+            sessionLog.append(event(session, ParkingSessionEventModel.Type.CHECK_OUT, checkOutDate));
+        } catch (RuntimeException ex) {
+            occupancy.claim(session);
+            throw ex;
+        }
+        return session.checkedOut(checkOutDate);
+    }
+
+    @Override
+    public List<ParkingSessionResponseDto> findParked() {
+        return occupancy.findAll(parkingFacilities.current());
+    }
+
+    @Override
+    public ParkingSessionResponseDto findParked(UUID parkingSpotId) {
+        return occupancy.find(parkingFacilities.current(), parkingSpotId)
+                .orElseThrow(() -> new ParkingSessionNotFoundException(parkingSpotId));
+    }
+
+    /**
+     * The explicit spot when one is given, otherwise the spot registered for the license plate; both must belong to
+     * the caller's facility. An explicit spot is checked with a query, even when it is occupied: loading by id
+     * bypasses the facility restriction Hibernate adds to queries.
+     */
+    private UUID resolveParkingSpot(ParkingSessionRequestDto parkingSessionRequestDto) {
+        UUID parkingSpotId = parkingSessionRequestDto.parkingSpotId();
+        if (parkingSpotId == null)
+            return parkingSpotRepository.findIdByLicensePlateCar(parkingSessionRequestDto.licensePlateCar())
+                    .orElseThrow(() -> ParkingSpotNotFoundException.byLicensePlateCar(parkingSessionRequestDto.licensePlateCar()));
+
+        if (!parkingSpotRepository.existsById(parkingSpotId))
+            throw new ParkingSpotNotFoundException(parkingSpotId);
+        return parkingSpotId;
+    }
+
+    private static ParkingSessionEventModel event(ParkingSessionResponseDto session, ParkingSessionEventModel.Type type,
+                                                  Instant occurredAt) {
+        return ParkingSessionEventModel.builder()
+                .sessionId(session.id())
+                .facility(session.facility())
+                .parkingSpotId(session.parkingSpotId())
+                .licensePlateCar(session.licensePlateCar())
+                .type(type)
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    /**
+     * Truncated to the microsecond precision PostgreSQL stores, like registration dates.
+     */
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.MICROS);
+    }
+}
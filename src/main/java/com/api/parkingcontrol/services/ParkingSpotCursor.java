@@ -0,0 +1,34 @@
+package com.api.parkingcontrol.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page, ordered by (registrationDate, id). Clients only see the
+ * opaque URL-safe Base64 form.
+ */
+public record ParkingSpotCursor(Instant registrationDate, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = registrationDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ParkingSpotCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ParkingSpotCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+    }
+}
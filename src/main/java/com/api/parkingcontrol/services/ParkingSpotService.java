@@ -1,16 +1,23 @@
 package com.api.parkingcontrol.services;
 
+import com.api.parkingcontrol.dtos.ParkingSpotBulkResponseDto;
 import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
 import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ParkingSpotService {
 
     ParkingSpotResponseDto save(ParkingSpotRequestDto parkingSpotModel);
 
+    ParkingSpotBulkResponseDto saveAll(List<ParkingSpotRequestDto> parkingSpotRequestDtos);
+
     boolean existsByParkingSpotNumber(String parkingSpotNumber);
 
     boolean existsByLicensePlateCar(String licensePlateCar);
@@ -19,10 +26,16 @@ public interface ParkingSpotService {
 
     Page<ParkingSpotResponseDto> findAll(Pageable pageable);
 
+    ParkingSpotSliceResponseDto findAllAfter(String cursor, int size);
+
+    Page<ParkingSpotResponseDto> search(ParkingSpotSearchDto search, Pageable pageable);
+
     ParkingSpotResponseDto findById(UUID uuid);
 
+    void exportAll(Consumer<ParkingSpotResponseDto> consumer);
+
     void deleteById(UUID id);
 
-    ParkingSpotResponseDto update(UUID id, ParkingSpotRequestDto parkingSpotRequestDto);
+    ParkingSpotResponseDto update(UUID id, ParkingSpotRequestDto parkingSpotRequestDto, Long expectedVersion);
 
 }
@@ -1,103 +1,575 @@
 package com.api.parkingcontrol.services;
 
+import com.api.parkingcontrol.config.CacheConfig;
+import com.api.parkingcontrol.config.MetricsConfig;
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotBulkItemResultDto;
+import com.api.parkingcontrol.dtos.ParkingSpotBulkResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
 import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
 import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import com.api.parkingcontrol.events.ParkingSpotEventBroadcaster;
+import com.api.parkingcontrol.exceptions.ParkingSpotConflictException;
+import com.api.parkingcontrol.exceptions.ParkingSpotModifiedException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.index.ParkingSpotOccupancyIndex;
 import com.api.parkingcontrol.mapper.ModelMapper;
 import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.registrations.ParkingSpotRegistrationQueue;
 import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.repositories.ParkingSpotSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-public class ParkingSpotServiceImpl implements ParkingSpotService {
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ParkingSpotServiceImpl implements ParkingSpotService, DisposableBean {
     private final ParkingSpotRepository parkingSpotRepository;
     private final ModelMapper parkingSpotMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ParkingSpotProperties properties;
+    private final ParkingSpotOccupancyIndex occupancyIndex;
+    private final Clock clock;
+    private final EntityManager entityManager;
+    private final ParkingSpotEventBroadcaster eventBroadcaster;
+    private final ParkingSpotRegistrationQueue registrationQueue;
 
-    public ParkingSpotServiceImpl(ParkingSpotRepository parkingSpotRepository, ModelMapper parkingSpotModelMapper) {
+    public ParkingSpotServiceImpl(ParkingSpotRepository parkingSpotRepository, ModelMapper parkingSpotModelMapper,
+                                  Validator validator, PlatformTransactionManager transactionManager,
+                                  ParkingSpotProperties properties, ParkingSpotOccupancyIndex occupancyIndex,
+                                  Clock clock, EntityManager entityManager, ParkingSpotEventBroadcaster eventBroadcaster,
+                                  ParkingSpotRegistrationQueue registrationQueue) {
         this.parkingSpotRepository = parkingSpotRepository;
         this.parkingSpotMapper = parkingSpotModelMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.occupancyIndex = occupancyIndex;
+        this.clock = clock;
+        this.entityManager = entityManager;
+        this.eventBroadcaster = eventBroadcaster;
+        this.registrationQueue = registrationQueue;
+        if (properties.getWriteBehind().isEnabled())
+            registrationQueue.start(this::saveRegistrations);
     }
 
+    /**
+     * Saves in its own transaction, or with write-behind enabled, in the next batch of the registration queue.
+     * Either way the spot is committed when this returns.
+     */
     @Override
-    @Transactional
     public ParkingSpotResponseDto save(ParkingSpotRequestDto parkingSpotRequestDto) {
-        if (parkingSpotRepository.existsByParkingSpotNumber(parkingSpotRequestDto.getParkingSpotNumber()))
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Parking Spot Number " + parkingSpotRequestDto.getParkingSpotNumber() + " already exists.");
+        if (properties.getWriteBehind().isEnabled())
+            return registrationQueue.register(parkingSpotRequestDto);
+        return transactionTemplate.execute(status -> saveNow(parkingSpotRequestDto));
+    }
 
-        if (parkingSpotRepository.existsByLicensePlateCar(parkingSpotRequestDto.getLicensePlateCar())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "License Plate Car " + parkingSpotRequestDto.getLicensePlateCar() + " already exists.");
-        }
+    private ParkingSpotResponseDto saveNow(ParkingSpotRequestDto parkingSpotRequestDto) {
+        if (mayConflict(parkingSpotRequestDto))
+            checkConflicts(parkingSpotRequestDto);
 
-        if (parkingSpotRepository.existsByApartmentAndBlock(parkingSpotRequestDto.getApartment(), parkingSpotRequestDto.getBlock())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Apartment " + parkingSpotRequestDto.getApartment() + " and " + parkingSpotRequestDto.getBlock() + " block already exists.");
-        }
-
-        ParkingSpotModel parkingSpotModel = parkingSpotMapper.toModel(parkingSpotRequestDto);
-        ParkingSpotModel savedParkingSpot = parkingSpotRepository.save(parkingSpotModel);
+        ParkingSpotModel parkingSpotModel = parkingSpotMapper.toModel(parkingSpotRequestDto, clock);
+        ParkingSpotModel savedParkingSpot = saveAndFlush(parkingSpotModel);
+        occupancyIndex.added(savedParkingSpot.getId(), parkingSpotMapper.toKeysDto(savedParkingSpot));
         ParkingSpotResponseDto responseDto = parkingSpotMapper.toResponseDto(savedParkingSpot);
+        eventBroadcaster.created(savedParkingSpot.getId(), responseDto);
 
         return responseDto;
     }
 
+    /**
+     * Registers the list in chunks of {@code parking-spot.bulk.batch-size}. Every chunk costs one conflict
+     * query and one batched INSERT in its own transaction, so a rejected entry never aborts the import.
+     */
+    @Override
+    public ParkingSpotBulkResponseDto saveAll(List<ParkingSpotRequestDto> parkingSpotRequestDtos) {
+        if (parkingSpotRequestDtos.size() > properties.getBulk().getMaxItems())
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Bulk registration accepts at most " + properties.getBulk().getMaxItems() + " parking spots.");
+
+        ParkingSpotBulkItemResultDto[] results = new ParkingSpotBulkItemResultDto[parkingSpotRequestDtos.size()];
+        ChunkResults chunkResults = new ChunkResults() {
+            @Override
+            public void invalid(int index, String violations) {
+                results[index] = ParkingSpotBulkItemResultDto.invalid(index, violations);
+            }
+
+            @Override
+            public void conflict(int index, ParkingSpotConflictException conflict) {
+                results[index] = ParkingSpotBulkItemResultDto.conflict(index, conflict.getMessage());
+            }
+
+            @Override
+            public void failed(int index, DataIntegrityViolationException ex) {
+                results[index] = ParkingSpotBulkItemResultDto.conflict(index, "Parking Spot violates a data integrity constraint.");
+            }
+
+            @Override
+            public void created(int index, ParkingSpotResponseDto parkingSpot) {
+                results[index] = ParkingSpotBulkItemResultDto.created(index, parkingSpot);
+            }
+        };
+        BulkKeys claimedKeys = new BulkKeys();
+        int batchSize = properties.getBulk().getBatchSize();
+
+        for (int from = 0; from < parkingSpotRequestDtos.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, parkingSpotRequestDtos.size());
+            saveChunk(parkingSpotRequestDtos, from, to, claimedKeys, chunkResults);
+        }
+
+        return ParkingSpotBulkResponseDto.of(Arrays.asList(results));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        registrationQueue.stop();
+    }
+
     @Override
     public boolean existsByParkingSpotNumber(String parkingSpotNumber) {
+        if (occupancyIndex.isReady())
+            return occupancyIndex.existsByParkingSpotNumber(parkingSpotNumber);
         return parkingSpotRepository.existsByParkingSpotNumber(parkingSpotNumber);
     }
 
     @Override
     public boolean existsByLicensePlateCar(String licensePlateCar) {
+        if (occupancyIndex.isReady())
+            return occupancyIndex.existsByLicensePlateCar(licensePlateCar);
         return parkingSpotRepository.existsByLicensePlateCar(licensePlateCar);
     }
 
     @Override
     public boolean existsByApartmentAndBlock(String apartment, String block) {
+        if (occupancyIndex.isReady())
+            return occupancyIndex.existsByApartmentAndBlock(apartment, block);
         return parkingSpotRepository.existsByApartmentAndBlock(apartment, block);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ParkingSpotResponseDto> findAll(Pageable pageable) {
-        Page<ParkingSpotModel> parkingSpotPage = parkingSpotRepository.findAll(pageable);
-        return parkingSpotMapper.toPageResponseDto(parkingSpotPage);
+        return parkingSpotRepository.findAllResponses(pageable);
     }
 
+    /**
+     * Keyset pagination on (registrationDate, id): an empty cursor starts from the beginning and no
+     * count query is issued.
+     */
     @Override
-    public ParkingSpotResponseDto findById(UUID id) {
-        ParkingSpotModel parkingSpotModel = parkingSpotRepository.findById(id).
-                orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Could not find Parking Service Spot by id: " + id));
+    @Transactional(readOnly = true)
+    public ParkingSpotSliceResponseDto findAllAfter(String cursor, int size) {
+        if (size < 1 || size > properties.getKeyset().getMaxSize())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + properties.getKeyset().getMaxSize() + ".");
 
-        ParkingSpotResponseDto responseDto = parkingSpotMapper.toResponseDto(parkingSpotModel);
+        Pageable pageable = PageRequest.ofSize(size);
+        Slice<ParkingSpotModel> parkingSpotSlice;
+        if (cursor == null || cursor.isBlank()) {
+            parkingSpotSlice = parkingSpotRepository.findFirstSlice(pageable);
+        } else {
+            ParkingSpotCursor position = ParkingSpotCursor.decode(cursor);
+            parkingSpotSlice = parkingSpotRepository.findSliceAfter(position.registrationDate(), position.id(), pageable);
+        }
 
-        return responseDto;
+        List<ParkingSpotModel> content = parkingSpotSlice.getContent();
+        String nextCursor = null;
+        if (parkingSpotSlice.hasNext()) {
+            ParkingSpotModel last = content.get(content.size() - 1);
+            nextCursor = new ParkingSpotCursor(last.getRegistrationDate(), last.getId()).encode();
+        }
+
+        return new ParkingSpotSliceResponseDto(parkingSpotMapper.toListResponseDto(content), size, parkingSpotSlice.hasNext(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ParkingSpotResponseDto> search(ParkingSpotSearchDto search, Pageable pageable) {
+        if (search.registeredFrom() != null && search.registeredTo() != null
+                && !search.registeredFrom().isBefore(search.registeredTo()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "registeredFrom must be before registeredTo.");
+
+        return parkingSpotRepository.searchResponses(ParkingSpotSpecifications.matching(search), pageable);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PARKING_SPOTS, key = CacheConfig.PARKING_SPOT_KEY)
+    public ParkingSpotResponseDto findById(UUID id) {
+        return parkingSpotRepository.findResponseById(id).
+                orElseThrow(() -> new ParkingSpotNotFoundException(id));
+    }
+
+    /**
+     * Hands every spot to the consumer one at a time, read through a cursor with a fetch size. Each row is
+     * detached once consumed, so memory stays constant whatever the table size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<ParkingSpotResponseDto> consumer) {
+        try (Stream<ParkingSpotModel> parkingSpots = parkingSpotRepository.streamAll()) {
+            parkingSpots.forEach(parkingSpotModel -> {
+                consumer.accept(parkingSpotMapper.toResponseDto(parkingSpotModel));
+                entityManager.detach(parkingSpotModel);
+            });
+        }
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PARKING_SPOTS, key = CacheConfig.PARKING_SPOT_KEY)
     public void deleteById(UUID id) {
-        ParkingSpotModel parkingSpotModel = parkingSpotRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Could not find Parking Service Spot by id: " + id));
-        parkingSpotRepository.deleteById(id);
+        ParkingSpotKeysDto keys = currentKeysForIndex(id);
+
+        if (parkingSpotRepository.deleteSpotById(id) == 0)
+            throw new ParkingSpotNotFoundException(id);
+
+        if (keys != null)
+            occupancyIndex.removed(id, keys);
+        eventBroadcaster.deleted(id);
     }
 
+    /**
+     * Rewrites the spot with a single conditional UPDATE and reads the result back as a projection; the
+     * registration date keeps its original value. With an expected version the update only applies if nobody
+     * changed the spot in between, otherwise it fails with PRECONDITION_FAILED.
+     */
     @Override
-    public ParkingSpotResponseDto update(UUID id, ParkingSpotRequestDto parkingSpotRequestDto) {
-        ParkingSpotModel m = parkingSpotRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Could not find Parking Service Spot by id: " + id));
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PARKING_SPOTS, key = CacheConfig.PARKING_SPOT_KEY)
+    public ParkingSpotResponseDto update(UUID id, ParkingSpotRequestDto parkingSpotRequestDto, Long expectedVersion) {
+        ParkingSpotKeysDto previousKeys = currentKeysForIndex(id);
+
+        int updated;
+        try {
+            updated = updateSpot(id, parkingSpotRequestDto, expectedVersion);
+        } catch (DataIntegrityViolationException ex) {
+            throw conflictFor(ex, parkingSpotRequestDto.getParkingSpotNumber(), parkingSpotRequestDto.getLicensePlateCar(),
+                    parkingSpotRequestDto.getApartment(), parkingSpotRequestDto.getBlock());
+        }
+
+        if (updated == 0) {
+            if (expectedVersion != null && parkingSpotRepository.existsById(id))
+                throw new ParkingSpotModifiedException(id);
+            throw new ParkingSpotNotFoundException(id);
+        }
 
-        ParkingSpotModel parkingSpotModel = parkingSpotMapper.toModel(parkingSpotRequestDto);
-        parkingSpotModel.setId(id);
+        if (previousKeys != null)
+            occupancyIndex.replaced(id, previousKeys, parkingSpotMapper.toKeysDto(parkingSpotRequestDto));
 
-        parkingSpotRepository.save(parkingSpotModel);
+        ParkingSpotResponseDto responseDto = parkingSpotRepository.findResponseById(id).orElseThrow(() -> new ParkingSpotNotFoundException(id));
+        eventBroadcaster.updated(id, responseDto);
+        return responseDto;
+    }
 
-        ParkingSpotResponseDto response = parkingSpotMapper.toResponseDto(parkingSpotModel);
+    private int updateSpot(UUID id, ParkingSpotRequestDto parkingSpotRequestDto, Long expectedVersion) {
+        if (expectedVersion == null)
+            return parkingSpotRepository.updateSpotById(id, parkingSpotRequestDto.getParkingSpotNumber(),
+                    parkingSpotRequestDto.getLicensePlateCar(), parkingSpotRequestDto.getBrandCar(),
+                    parkingSpotRequestDto.getModelCar(), parkingSpotRequestDto.getColorCar(),
+                    parkingSpotRequestDto.getResponsibleName(), parkingSpotRequestDto.getApartment(),
+                    parkingSpotRequestDto.getBlock());
+
+        return parkingSpotRepository.updateSpotByIdAndVersion(id, expectedVersion, parkingSpotRequestDto.getParkingSpotNumber(),
+                parkingSpotRequestDto.getLicensePlateCar(), parkingSpotRequestDto.getBrandCar(),
+                parkingSpotRequestDto.getModelCar(), parkingSpotRequestDto.getColorCar(),
+                parkingSpotRequestDto.getResponsibleName(), parkingSpotRequestDto.getApartment(),
+                parkingSpotRequestDto.getBlock());
+    }
 
-        return response;
+    /**
+     * The occupancy index needs the keys a mutation replaces; they are only read when the index is enabled, also
+     * before its first build, which replays the changes made meanwhile.
+     */
+    private ParkingSpotKeysDto currentKeysForIndex(UUID id) {
+        if (!occupancyIndex.isEnabled())
+            return null;
+        return parkingSpotRepository.findKeysById(id).orElse(null);
     }
 
+    /**
+     * Without a ready occupancy index every registration is checked against the table. With one, the query is
+     * only issued when the index reports a possible conflict; misses are still caught by the unique constraints.
+     */
+    private boolean mayConflict(ParkingSpotRequestDto parkingSpotRequestDto) {
+        return !occupancyIndex.isReady() || occupancyIndex.mayConflict(parkingSpotRequestDto.getParkingSpotNumber(),
+                parkingSpotRequestDto.getLicensePlateCar(), parkingSpotRequestDto.getApartment(), parkingSpotRequestDto.getBlock());
+    }
+
+    /**
+     * Checks the three uniqueness rules with a single query. The unique constraints on
+     * {@link ParkingSpotModel} remain the source of truth for concurrent registrations.
+     */
+    private void checkConflicts(ParkingSpotRequestDto parkingSpotRequestDto) {
+        List<ParkingSpotKeysDto> conflicts = parkingSpotRepository.findConflictingKeys(
+                parkingSpotRequestDto.getParkingSpotNumber(), parkingSpotRequestDto.getLicensePlateCar(),
+                parkingSpotRequestDto.getApartment(), parkingSpotRequestDto.getBlock());
+
+        if (conflicts.isEmpty())
+            return;
 
+        for (ParkingSpotKeysDto keys : conflicts) {
+            if (Objects.equals(keys.parkingSpotNumber(), parkingSpotRequestDto.getParkingSpotNumber()))
+                throw ParkingSpotConflictException.parkingSpotNumber(parkingSpotRequestDto.getParkingSpotNumber());
+        }
+
+        for (ParkingSpotKeysDto keys : conflicts) {
+            if (Objects.equals(keys.licensePlateCar(), parkingSpotRequestDto.getLicensePlateCar()))
+                throw ParkingSpotConflictException.licensePlateCar(parkingSpotRequestDto.getLicensePlateCar());
+        }
+
+        throw ParkingSpotConflictException.apartmentAndBlock(parkingSpotRequestDto.getApartment(), parkingSpotRequestDto.getBlock());
+    }
+
+    /**
+     * Flushes the insert/update immediately so a unique constraint violation raised by a concurrent
+     * registration surfaces here and is reported with the same CONFLICT message as the pre-check.
+     */
+    private ParkingSpotModel saveAndFlush(ParkingSpotModel parkingSpotModel) {
+        try {
+            return parkingSpotRepository.saveAndFlush(parkingSpotModel);
+        } catch (DataIntegrityViolationException ex) {
+            throw conflictFor(ex, parkingSpotModel.getParkingSpotNumber(), parkingSpotModel.getLicensePlateCar(),
+                    parkingSpotModel.getApartment(), parkingSpotModel.getBlock());
+        }
+    }
+
+    /**
+     * Maps a unique constraint violation to the CONFLICT the pre-check would have reported; anything else is
+     * returned unchanged.
+     */
+    private static RuntimeException conflictFor(DataIntegrityViolationException ex, String parkingSpotNumber,
+                                                String licensePlateCar, String apartment, String block) {
+        String constraintName = violatedConstraintName(ex);
+
+        if (constraintName.contains(ParkingSpotModel.UK_PARKING_SPOT_NUMBER))
+            return ParkingSpotConflictException.parkingSpotNumber(parkingSpotNumber);
+
+        if (constraintName.contains(ParkingSpotModel.UK_LICENSE_PLATE_CAR))
+            return ParkingSpotConflictException.licensePlateCar(licensePlateCar);
+
+        if (constraintName.contains(ParkingSpotModel.UK_APARTMENT_BLOCK))
+            return ParkingSpotConflictException.apartmentAndBlock(apartment, block);
+
+        return ex;
+    }
+
+    private static String violatedConstraintName(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException constraintViolation && constraintViolation.getConstraintName() != null)
+                return constraintViolation.getConstraintName().toUpperCase(Locale.ROOT);
+        }
+        return "";
+    }
+
+    /**
+     * Saves one write-behind batch like a bulk chunk, answering every caller with its own outcome. Earlier
+     * requests in the queue win keys claimed again later in the same batch.
+     */
+    private void saveRegistrations(List<ParkingSpotRegistrationQueue.Registration> registrations) {
+        List<ParkingSpotRequestDto> requestDtos = registrations.stream().map(ParkingSpotRegistrationQueue.Registration::request).toList();
+        saveChunk(requestDtos, 0, requestDtos.size(), new BulkKeys(), new ChunkResults() {
+            @Override
+            public void invalid(int index, String violations) {
+                registrations.get(index).failed(new ResponseStatusException(HttpStatus.BAD_REQUEST, violations));
+            }
+
+            @Override
+            public void conflict(int index, ParkingSpotConflictException conflict) {
+                registrations.get(index).failed(conflict);
+            }
+
+            @Override
+            public void failed(int index, DataIntegrityViolationException ex) {
+                registrations.get(index).failed(ex);
+            }
+
+            @Override
+            public void created(int index, ParkingSpotResponseDto parkingSpot) {
+                registrations.get(index).saved(parkingSpot);
+            }
+        });
+    }
+
+    private void saveChunk(List<ParkingSpotRequestDto> requestDtos, int from, int to, BulkKeys claimedKeys,
+                           ChunkResults results) {
+        List<Integer> validIndexes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            String violations = validate(requestDtos.get(i));
+            if (violations == null)
+                validIndexes.add(i);
+            else
+                results.invalid(i, violations);
+        }
+
+        if (validIndexes.isEmpty())
+            return;
+
+        BulkKeys existingKeys = validIndexes.stream().anyMatch(i -> mayConflict(requestDtos.get(i)))
+                ? findExistingKeys(requestDtos, validIndexes)
+                : new BulkKeys();
+        List<Integer> pendingIndexes = new ArrayList<>(validIndexes.size());
+        List<ParkingSpotModel> pendingModels = new ArrayList<>(validIndexes.size());
+
+        for (int i : validIndexes) {
+            ParkingSpotRequestDto requestDto = requestDtos.get(i);
+            ParkingSpotConflictException conflict = existingKeys.conflictWith(requestDto);
+            if (conflict == null)
+                conflict = claimedKeys.conflictWith(requestDto);
+
+            if (conflict != null) {
+                results.conflict(i, conflict);
+                continue;
+            }
+
+            claimedKeys.add(requestDto);
+            pendingIndexes.add(i);
+            pendingModels.add(parkingSpotMapper.toModel(requestDto, clock));
+        }
+
+        if (pendingModels.isEmpty())
+            return;
+
+        try {
+            List<ParkingSpotModel> savedModels = transactionTemplate.execute(status -> parkingSpotRepository.saveAllAndFlush(pendingModels));
+            for (int j = 0; j < pendingIndexes.size(); j++) {
+                ParkingSpotModel savedModel = savedModels.get(j);
+                ParkingSpotResponseDto responseDto = parkingSpotMapper.toResponseDto(savedModel);
+                occupancyIndex.added(savedModel.getId(), parkingSpotMapper.toKeysDto(savedModel));
+                eventBroadcaster.created(savedModel.getId(), responseDto);
+                results.created(pendingIndexes.get(j), responseDto);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer won a key between the conflict query and the INSERT: retry row by row.
+            for (int j = 0; j < pendingIndexes.size(); j++)
+                saveSingle(pendingIndexes.get(j), pendingModels.get(j), results);
+        }
+    }
+
+    private void saveSingle(int index, ParkingSpotModel parkingSpotModel, ChunkResults results) {
+        parkingSpotModel.setId(null);
+        parkingSpotModel.setVersion(null);
+        try {
+            ParkingSpotModel savedModel = transactionTemplate.execute(status -> saveAndFlush(parkingSpotModel));
+            ParkingSpotResponseDto responseDto = parkingSpotMapper.toResponseDto(savedModel);
+            occupancyIndex.added(savedModel.getId(), parkingSpotMapper.toKeysDto(savedModel));
+            eventBroadcaster.created(savedModel.getId(), responseDto);
+            results.created(index, responseDto);
+        } catch (ParkingSpotConflictException ex) {
+            results.conflict(index, ex);
+        } catch (DataIntegrityViolationException ex) {
+            results.failed(index, ex);
+        }
+    }
+
+    private String validate(ParkingSpotRequestDto requestDto) {
+        if (requestDto == null)
+            return "Parking Spot must not be null.";
+
+        Set<ConstraintViolation<ParkingSpotRequestDto>> violations = validator.validate(requestDto);
+        if (violations.isEmpty())
+            return null;
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private BulkKeys findExistingKeys(List<ParkingSpotRequestDto> requestDtos, List<Integer> indexes) {
+        Set<String> parkingSpotNumbers = new HashSet<>();
+        Set<String> licensePlateCars = new HashSet<>();
+        Set<String> apartments = new HashSet<>();
+        Set<String> blocks = new HashSet<>();
+
+        for (int i : indexes) {
+            ParkingSpotRequestDto requestDto = requestDtos.get(i);
+            parkingSpotNumbers.add(requestDto.getParkingSpotNumber());
+            licensePlateCars.add(requestDto.getLicensePlateCar());
+            apartments.add(requestDto.getApartment());
+            blocks.add(requestDto.getBlock());
+        }
+
+        BulkKeys existingKeys = new BulkKeys();
+        for (ParkingSpotKeysDto keys : parkingSpotRepository.findConflictingKeysIn(parkingSpotNumbers, licensePlateCars, apartments, blocks))
+            existingKeys.add(keys);
+        return existingKeys;
+    }
+
+    /**
+     * Receives the outcome of every entry of a chunk, indexed by position in the request list.
+     */
+    private interface ChunkResults {
+        void invalid(int index, String violations);
+
+        void conflict(int index, ParkingSpotConflictException conflict);
+
+        void failed(int index, DataIntegrityViolationException ex);
+
+        void created(int index, ParkingSpotResponseDto parkingSpot);
+    }
+
+    /**
+     * Unique keys already taken, either in the table or by an earlier entry of the same bulk request.
+     */
+    private static final class BulkKeys {
+        private final Set<String> parkingSpotNumbers = new HashSet<>();
+        private final Set<String> licensePlateCars = new HashSet<>();
+        private final Set<List<String>> apartmentBlocks = new HashSet<>();
+
+        void add(ParkingSpotKeysDto keys) {
+            parkingSpotNumbers.add(keys.parkingSpotNumber());
+            licensePlateCars.add(keys.licensePlateCar());
+            apartmentBlocks.add(List.of(keys.apartment(), keys.block()));
+        }
+
+        void add(ParkingSpotRequestDto requestDto) {
+            parkingSpotNumbers.add(requestDto.getParkingSpotNumber());
+            licensePlateCars.add(requestDto.getLicensePlateCar());
+            apartmentBlocks.add(List.of(requestDto.getApartment(), requestDto.getBlock()));
+        }
+
+        ParkingSpotConflictException conflictWith(ParkingSpotRequestDto requestDto) {
+            if (parkingSpotNumbers.contains(requestDto.getParkingSpotNumber()))
+                return ParkingSpotConflictException.parkingSpotNumber(requestDto.getParkingSpotNumber());
+
+            if (licensePlateCars.contains(requestDto.getLicensePlateCar()))
+                return ParkingSpotConflictException.licensePlateCar(requestDto.getLicensePlateCar());
+
+            if (apartmentBlocks.contains(List.of(requestDto.getApartment(), requestDto.getBlock())))
+                return ParkingSpotConflictException.apartmentAndBlock(requestDto.getApartment(), requestDto.getBlock());
+
+            return null;
+        }
+    }
 }
@@ -0,0 +1,221 @@
+package com.api.parkingcontrol.sessions;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import com.api.parkingcontrol.models.ParkingSessionEventModel;
+import com.api.parkingcontrol.repositories.ParkingSessionEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writer of the append-only {@code TB_PARKING_SESSION_EVENT} log. Callers hand their event to a single writer
+ * thread and wait until it is committed; the thread takes whatever queued up meanwhile, up to {@code batch-size},
+ * and inserts it as one JDBC batch in one transaction. An idle gate therefore pays no extra latency, while a
+ * rush of check-ins shares round trips and commits instead of queueing for pool connections.
+ * <p>
+ * Callers wait at most {@code write-timeout} for their turn. An event still queued by then is withdrawn and the
+ * caller is told to retry; one already in a batch is waited for once more, as long as the batch transaction may
+ * take. If the writer stops, shutdown included, every event it has not written is failed.
+ * <p>
+ * On PostgreSQL it also keeps the monthly partitions of the log created {@code partitions-ahead} months ahead.
+ */
+@Component
+public class ParkingSessionLog implements MeterBinder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ParkingSessionLog.class);
+
+    private final ParkingSessionEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ParkingSpotProperties.Sessions properties;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService writer;
+    private final LongAdder events = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean running = true;
+    private Boolean postgreSql;
+
+    public ParkingSessionLog(ParkingSessionEventRepository eventRepository, PlatformTransactionManager transactionManager,
+                             JdbcTemplate jdbcTemplate, ParkingSpotProperties properties) {
+        this.eventRepository = eventRepository;
+        this.properties = properties.getSessions();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, this.properties.getWriteTimeout().toSeconds()));
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(this.properties.getQueueCapacity());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("parking-session-log-");
+        threadFactory.setDaemon(true);
+        this.writer = Executors.newSingleThreadExecutor(threadFactory);
+        this.writer.execute(this::drain);
+    }
+
+    /**
+     * Appends the event and returns once the batch holding it has committed; a failed batch is rethrown to every
+     * caller in it. Fails with SERVICE_UNAVAILABLE when the event could not be queued or was not picked up within
+     * {@code write-timeout}; it is then never written.
+     */
+    public void append(ParkingSessionEventModel event) {
+        if (!running)
+            throw closed();
+
+        Duration timeout = properties.getWriteTimeout();
+        Pending pending = new Pending(event);
+        try {
+            if (!queue.offer(pending, timeout.toNanos(), TimeUnit.NANOSECONDS))
+                throw RequestThrottledException.overloaded(timeout);
+            if (!running)
+                failQueued();
+            try {
+                pending.written.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (queue.remove(pending))
+                    throw RequestThrottledException.overloaded(timeout);
+                pending.written.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing a parking session event.", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Parking session event not confirmed within " + timeout.multipliedBy(2)
+                    + "; the log is reconciled at the next restore.", ex);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${parking-spot.sessions.partition-check-interval:PT12H}",
+            fixedDelayString = "${parking-spot.sessions.partition-check-interval:PT12H}")
+    public void createPartitions() {
+        if (!isPostgreSql())
+            return;
+        Integer created = jdbcTemplate.queryForObject("select create_parking_session_event_partitions(?)",
+                Integer.class, properties.getPartitionsAhead());
+        if (created != null && created > 0)
+            log.info("Created {} parking session log partitions", created);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.sessions.log.queue", queue, BlockingQueue::size)
+                .description("Session events waiting for the log writer")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.sessions.log.events", events, LongAdder::sum)
+                .description("Session events written to the log")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.sessions.log.batches", batches, LongAdder::sum)
+                .description("Batches written to the log; events per batch shows how much writes are grouped")
+                .register(registry);
+    }
+
+    /**
+     * Lets the writer finish what is already queued before the connection pool closes.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+            writer.shutdownNow();
+        failQueued();
+    }
+
+    /**
+     * Runs until shutdown. However it ends, interrupted or by an Error from a batch, the log is closed and the
+     * events not written are failed, so no caller waits on a writer that is gone.
+     */
+    private void drain() {
+        int batchSize = properties.getBatchSize();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            log.error("Parking session log writer stopped", ex);
+            throw ex;
+        } finally {
+            running = false;
+            for (Pending pending : batch)
+                pending.written.completeExceptionally(closed());
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        Pending pending;
+        while ((pending = queue.poll()) != null)
+            pending.written.completeExceptionally(closed());
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("Parking session log is closed.");
+    }
+
+    private void write(List<Pending> batch) {
+        List<ParkingSessionEventModel> models = new ArrayList<>(batch.size());
+        for (Pending pending : batch)
+            models.add(pending.event);
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventRepository.saveAll(models));
+        } catch (RuntimeException ex) {
+            for (Pending pending : batch)
+                pending.written.completeExceptionally(ex);
+            return;
+        }
+        events.add(batch.size());
+        batches.increment();
+        for (Pending pending : batch)
+            pending.written.complete(null);
+    }
+
+    private boolean isPostgreSql() {
+        if (postgreSql == null)
+            postgreSql = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        return postgreSql;
+    }
+
+    private record Pending(ParkingSessionEventModel event, CompletableFuture<Void> written) {
+        Pending(ParkingSessionEventModel event) {
+            this(event, new CompletableFuture<>());
+        }
+    }
+}
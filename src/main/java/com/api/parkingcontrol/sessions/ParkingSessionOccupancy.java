@@ -0,0 +1,111 @@
+package com.api.parkingcontrol.sessions;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+import com.api.parkingcontrol.repositories.ParkingSessionEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Open parking sessions keyed by facility and spot, so current-occupancy reads never touch the session log and only
+ * see the caller's facility. Claiming a spot is atomic, which serializes check-ins and check-outs of the same spot
+ * without locking rows.
+ * <p>
+ * The map is restored from the log before the application takes requests, looking back {@code restore-window}.
+ * It only sees this instance's writes, so session requests must all be served by the same instance; a warning is
+ * logged at startup until {@code parking-spot.sessions.single-instance} confirms that they are.
+ */
+@Component
+public class ParkingSessionOccupancy implements InitializingBean, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(ParkingSessionOccupancy.class);
+
+    private final Map<String, Map<UUID, ParkingSessionResponseDto>> parked = new ConcurrentHashMap<>();
+    private final ParkingSessionEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ParkingSpotProperties properties;
+    private final Clock clock;
+
+    public ParkingSessionOccupancy(ParkingSessionEventRepository eventRepository, PlatformTransactionManager transactionManager,
+                                   ParkingSpotProperties properties, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public Optional<ParkingSessionResponseDto> find(String facility, UUID parkingSpotId) {
+        return Optional.ofNullable(facility(facility).get(parkingSpotId));
+    }
+
+    public List<ParkingSessionResponseDto> findAll(String facility) {
+        return List.copyOf(facility(facility).values());
+    }
+
+    /**
+     * Marks the spot as taken by the session; false when another session holds it.
+     */
+    public boolean claim(ParkingSessionResponseDto session) {
+        return facility(session.facility()).putIfAbsent(session.parkingSpotId(), session) == null;
+    }
+
+    /**
+     * Frees the spot if the session still holds it; false when it was already released.
+     */
+    public boolean release(ParkingSessionResponseDto session) {
+        return facility(session.facility()).remove(session.parkingSpotId(), session);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.getSessions().isSingleInstance())
+            log.warn("Open parking sessions are kept in the memory of each instance. Route every /parking-session "
+                    + "request to one instance and set parking-spot.sessions.single-instance=true; with several "
+                    + "instances a spot can be checked in twice.");
+        restore();
+    }
+
+    /**
+     * Reloads the open sessions from the log. Not read-only, so it is served by the primary even with replicas.
+     */
+    public void restore() {
+        long start = System.nanoTime();
+        parked.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ParkingSessionResponseDto> stream = eventRepository.streamOpenSessions(
+                    clock.instant().minus(properties.getSessions().getRestoreWindow()))) {
+                stream.forEach(session -> facility(session.facility()).put(session.parkingSpotId(), session));
+            }
+        });
+        log.info("Restored {} open parking sessions in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.sessions.parked", this, ParkingSessionOccupancy::size)
+                .description("Parking spots with a car checked in")
+                .register(registry);
+    }
+
+    private Map<UUID, ParkingSessionResponseDto> facility(String facility) {
+        return parked.computeIfAbsent(facility, ignored -> new ConcurrentHashMap<>());
+    }
+
+    private int size() {
+        return parked.values().stream().mapToInt(Map::size).sum();
+    }
+}
@@ -0,0 +1,148 @@
+package com.api.parkingcontrol.throttling;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the {@link ConcurrencyLimited} requests in flight and rejects the excess at once with SERVICE_UNAVAILABLE
+ * and Retry-After, instead of letting it queue for Tomcat threads and pool connections.
+ * <p>
+ * The limit follows latency (a gradient limit): every {@code window} the average latency is compared with a slowly
+ * moving baseline. While it stays within {@code rtt-tolerance} of the baseline the limit grows by about its
+ * square root, when latency climbs the limit shrinks in proportion, never by more than half per window. It only
+ * grows while at least half of it is in use, so an idle service does not drift to {@code max-limit}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements AsyncHandlerInterceptor, MeterBinder {
+    private static final String STARTED_AT = AdaptiveConcurrencyLimiter.class.getName() + ".STARTED_AT";
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOWS = 30;
+
+    private final ParkingSpotProperties.ConcurrencyLimit properties;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong windowEnd;
+
+    private double estimatedLimit;
+    private double baselineLatency;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(ParkingSpotProperties properties) {
+        this.properties = properties.getConcurrencyLimit();
+        this.windowNanos = this.properties.getWindow().toNanos();
+        this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+        this.estimatedLimit = this.properties.getInitialLimit();
+        this.limit = this.properties.getInitialLimit();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch resumes a request that already holds its permit.
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST || !isLimited(handler))
+            return true;
+
+        if (!tryAcquire())
+            throw RequestThrottledException.overloaded(properties.getRetryAfter());
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_AT) instanceof Long startedAt) {
+            request.removeAttribute(STARTED_AT);
+            release(System.nanoTime() - startedAt);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        latencySum.add(latencyNanos);
+        samples.increment();
+
+        long now = System.nanoTime();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos))
+            updateLimit();
+    }
+
+    /**
+     * Folds the latencies of the window that just ended into the limit.
+     */
+    synchronized void updateLimit() {
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (count == 0)
+            return;
+
+        double latency = (double) sum / count;
+        baselineLatency = baselineLatency == 0 ? latency : baselineLatency + (latency - baselineLatency) / BASELINE_WINDOWS;
+        // Let the baseline recover quickly once a slow period is over.
+        if (baselineLatency > 2 * latency)
+            baselineLatency *= 0.95;
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * baselineLatency / latency));
+        if (gradient >= 1.0 && peak < estimatedLimit / 2)
+            return;
+
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(),
+                estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.throttling.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current limit of concurrent database-bound requests")
+                .register(registry);
+        Gauge.builder("parking_spot.throttling.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("Database-bound requests in flight")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.throttling.rejected", rejected, LongAdder::sum)
+                .tag("limiter", "concurrency")
+                .description("Requests rejected by a limiter")
+                .register(registry);
+    }
+
+    private static boolean isLimited(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(ConcurrencyLimited.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.api.parkingcontrol.throttling;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client token bucket: {@code requests-per-second} sustained with bursts of up to {@code burst} requests,
+ * answered with TOO_MANY_REQUESTS and Retry-After beyond that. Clients are told apart by {@code client-id-header}
+ * when set, otherwise by remote address.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again (the generic cell
+ * rate algorithm), updated with compare-and-set, so concurrent requests never lock. Full buckets carry no state
+ * and are evicted every minute.
+ */
+@Component
+public class ClientRateLimiter implements HandlerInterceptor, MeterBinder {
+
+    private final ParkingSpotProperties.RateLimit properties;
+    private final Clock clock;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public ClientRateLimiter(ParkingSpotProperties properties, Clock clock) {
+        this.properties = properties.getRateLimit();
+        this.clock = clock;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / this.properties.getRequestsPerSecond());
+        this.burstToleranceNanos = emissionIntervalNanos * (this.properties.getBurst() - 1);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST)
+            return true;
+
+        long waitNanos = acquire(clientId(request));
+        if (waitNanos > 0)
+            throw RequestThrottledException.rateLimited(Duration.ofNanos(waitNanos));
+        return true;
+    }
+
+    /**
+     * Takes a token from the client's bucket. Returns 0 when the request may proceed, otherwise the nanoseconds
+     * until it would.
+     */
+    long acquire(String clientId) {
+        AtomicLong bucket = buckets.computeIfAbsent(clientId, id -> new AtomicLong());
+        long now = nanos();
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long waitNanos = start - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionIntervalNanos))
+                return 0;
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1M")
+    public void evictFullBuckets() {
+        long now = nanos();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("parking_spot.throttling.clients", buckets, Map::size)
+                .description("Clients with a partly used rate limit bucket")
+                .register(registry);
+        FunctionCounter.builder("parking_spot.throttling.rejected", rejected, LongAdder::sum)
+                .tag("limiter", "rate")
+                .description("Requests rejected by a limiter")
+                .register(registry);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String header = properties.getClientIdHeader();
+        if (header != null && !header.isBlank()) {
+            String clientId = request.getHeader(header);
+            if (clientId != null && !clientId.isBlank())
+                return clientId;
+        }
+        return request.getRemoteAddr();
+    }
+
+    private long nanos() {
+        Instant now = clock.instant();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+}
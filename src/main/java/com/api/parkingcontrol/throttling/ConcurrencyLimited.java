@@ -0,0 +1,15 @@
+package com.api.parkingcontrol.throttling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a database-bound handler method; {@link AdaptiveConcurrencyLimiter} caps how many run at once.
+ * Long-lived streams (export, events) are left out, their duration says nothing about database pressure.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+}
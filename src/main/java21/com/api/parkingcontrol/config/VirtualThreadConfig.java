@@ -0,0 +1,33 @@
+package com.api.parkingcontrol.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class running Tomcat request handling, and therefore the controller and service layers, on
+ * virtual threads. Only compiled on a Java 21 baseline (virtual-threads Maven profile).
+ * <p>
+ * Concurrency is then bounded by the connection pool rather than the Tomcat thread pool, see
+ * application-virtual-threads.properties for the matching pool settings.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "parking-spot.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
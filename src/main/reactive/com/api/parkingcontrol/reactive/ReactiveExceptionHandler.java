@@ -0,0 +1,56 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.exceptions.ParkingSpotException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code GlobalExceptionHandler} problems for the reactive variant: the same statuses, types and
+ * {@code errors} map, with the request path as {@code instance}.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler({WebExchangeBindException.class})
+    public ResponseEntity<ProblemDetail> bindException(WebExchangeBindException ex, ServerHttpRequest request) {
+        Map<String, String> errors = ex.getBindingResult().getFieldErrors().stream().collect(Collectors.toMap(FieldError::getField, FieldError::getDefaultMessage));
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Invalid request content.", request);
+        problem.setProperty("errors", errors);
+        return response(problem);
+    }
+
+    @ExceptionHandler({ParkingSpotException.class})
+    public ResponseEntity<ProblemDetail> handleParkingSpotException(ParkingSpotException ex, ServerHttpRequest request) {
+        ProblemDetail problem = problem(ex.getStatus(), ex.getMessage(), request);
+        problem.setType(ex.getType());
+        return response(problem);
+    }
+
+    @ExceptionHandler({ResponseStatusException.class})
+    public ResponseEntity<ProblemDetail> handleResponseStatusException(ResponseStatusException ex, ServerHttpRequest request) {
+        return response(problem(ex.getStatusCode(), ex.getReason(), request));
+    }
+
+    private static ProblemDetail problem(HttpStatusCode status, String detail, ServerHttpRequest request) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setInstance(URI.create(request.getPath().value()));
+        return problem;
+    }
+
+    private static ResponseEntity<ProblemDetail> response(ProblemDetail problem) {
+        return ResponseEntity.status(problem.getStatus()).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(problem);
+    }
+}
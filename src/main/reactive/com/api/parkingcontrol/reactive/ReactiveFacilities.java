@@ -0,0 +1,35 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.exceptions.UnknownFacilityException;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Facility resolution of the reactive variant, with the same {@code parking-spot.facilities} settings as
+ * {@code ParkingFacilities}: no header means the default facility, an unknown one is NOT_FOUND.
+ */
+@Component
+public class ReactiveFacilities {
+    /**
+     * Name of the facility header, resolved from the properties by {@code @RequestHeader}.
+     */
+    public static final String HEADER = "${parking-spot.facilities.header:X-Facility-Id}";
+
+    private final String defaultFacility;
+    private final Set<String> known;
+
+    public ReactiveFacilities(ParkingSpotProperties properties) {
+        this.defaultFacility = properties.getFacilities().getDefaultFacility();
+        this.known = Set.copyOf(properties.getFacilities().getIds());
+    }
+
+    public String resolve(String requested) {
+        if (requested == null)
+            return defaultFacility;
+        if (!known.contains(requested))
+            throw new UnknownFacilityException(requested);
+        return requested;
+    }
+}
@@ -0,0 +1,34 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.config.DateConfig;
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.mapper.ModelMapperImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The parking spot API on WebFlux and R2DBC: requests never hold a thread while the database answers, so
+ * thousands of slow clients cost connections and buffers rather than threads. It reuses the DTOs, the
+ * {@code ModelMapper} and the date settings of the servlet application; the schema is migrated by the latter.
+ * <p>
+ * Built by the {@code reactive} Maven profile and started with the {@code reactive} Spring profile.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class})
+@EnableConfigurationProperties(ParkingSpotProperties.class)
+@Import({DateConfig.class, ModelMapperImpl.class})
+public class ReactiveParkingControlApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveParkingControlApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,112 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.controllers.ParkingSpotETags;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code ParkingSpotController} endpoints on WebFlux, with the same paths, parameters, ETags and problem
+ * responses, and the same facility header. Bulk registration, server-sent events and {@code fields=} selection stay
+ * servlet-only.
+ */
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequestMapping(path = "/rest/api/v1/parking-spot")
+public class ReactiveParkingSpotController {
+    /**
+     * The formats the default WebFlux encoders write a parking spot in, in the order they are tried.
+     */
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.valueOf("application/x-jackson-smile"));
+
+    private final ReactiveParkingSpotServiceImpl parkingSpotService;
+    private final ReactiveFacilities facilities;
+
+    public ReactiveParkingSpotController(ReactiveParkingSpotServiceImpl parkingSpotService, ReactiveFacilities facilities) {
+        this.parkingSpotService = parkingSpotService;
+        this.facilities = facilities;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ParkingSpotResponseDto>> saveParkingSpot(@RequestBody @Valid ParkingSpotRequestDto parkingSpotRequestDto,
+                                                                        @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility) {
+        return parkingSpotService.save(facilities.resolve(facility), parkingSpotRequestDto)
+                .map(parkingSpotResponseDto -> ResponseEntity.status(HttpStatus.CREATED).body(parkingSpotResponseDto));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<ParkingSpotResponseDto>>> getAllParkingSpots(
+            @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility) {
+        return parkingSpotService.findAll(facilities.resolve(facility), pageable).map(page -> ResponseEntity.ok().body(page));
+    }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<ParkingSpotSliceResponseDto>> getParkingSpotsAfterCursor(
+            @RequestParam("cursor") String cursor, @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility) {
+        return parkingSpotService.findAllAfter(facilities.resolve(facility), cursor, size).map(slice -> ResponseEntity.ok().body(slice));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Page<ParkingSpotResponseDto>>> searchParkingSpots(
+            ParkingSpotSearchDto search,
+            @PageableDefault(page = 0, size = 10, sort = "registrationDate", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility) {
+        return parkingSpotService.search(facilities.resolve(facility), search, pageable).map(page -> ResponseEntity.ok().body(page));
+    }
+
+    /**
+     * Newline-delimited JSON written as rows arrive; the database is read only as fast as the client receives.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<ParkingSpotResponseDto>> exportParkingSpots(@RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"parking-spots.ndjson\"")
+                .body(parkingSpotService.exportAll(facilities.resolve(facility)));
+    }
+
+    /**
+     * WebFlux answers a matching If-None-Match with 304 itself, before the body is written.
+     */
+    @GetMapping(value = "/{id}")
+    public Mono<ResponseEntity<ParkingSpotResponseDto>> getParkingSpotById(@PathVariable("id") UUID id,
+                                                                           @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility,
+                                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return parkingSpotService.findById(facilities.resolve(facility), id)
+                .map(responseDto -> ResponseEntity.ok().eTag(ParkingSpotETags.eTag(responseDto.version(), accept, FORMATS, null))
+                        .varyBy(HttpHeaders.ACCEPT).body(responseDto));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteParkingSpot(@PathVariable("id") UUID id,
+                                                        @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility) {
+        return parkingSpotService.deleteById(facilities.resolve(facility), id).then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ParkingSpotResponseDto>> updateParkingSpot(@PathVariable("id") UUID id, @RequestBody @Valid ParkingSpotRequestDto parkingSpotRequestDto,
+                                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                          @RequestHeader(value = ReactiveFacilities.HEADER, required = false) String facility,
+                                                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return parkingSpotService.update(facilities.resolve(facility), id, parkingSpotRequestDto, ParkingSpotETags.expectedVersion(ifMatch))
+                .map(responseDto -> ResponseEntity.ok().eTag(ParkingSpotETags.eTag(responseDto.version(), accept, FORMATS, null))
+                        .varyBy(HttpHeaders.ACCEPT).body(responseDto));
+    }
+}
@@ -0,0 +1,307 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.services.ParkingSpotCursor;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * SQL access to {@code tb_parking_spot} over R2DBC. The statements are the ones Hibernate issues for
+ * {@code ParkingSpotRepository}, and the search predicates keep the shapes the {@code V4__create_search_indexes}
+ * migration indexes, so both variants read the same plans. Every statement is restricted to one facility, which
+ * PostgreSQL prunes to that facility's partition.
+ */
+@Repository
+public class ReactiveParkingSpotRepository {
+
+    private static final String COLUMNS = "id, parking_spot_number, license_plate_car, brand_car, model_car, color_car, " +
+            "registration_date, responsible_name, apartment, block, version";
+
+    private static final String SELECT = "select " + COLUMNS + " from tb_parking_spot";
+
+    private static final String IN_FACILITY = " where facility = :facility";
+
+    private static final String KEYSET_ORDER = " order by registration_date asc, id asc limit :limit";
+
+    private static final String UPDATE_SPOT = "update tb_parking_spot set parking_spot_number = :parkingSpotNumber, " +
+            "license_plate_car = :licensePlateCar, brand_car = :brandCar, model_car = :modelCar, color_car = :colorCar, " +
+            "responsible_name = :responsibleName, apartment = :apartment, block = :block, version = version + 1 " +
+            "where facility = :facility and id = :id";
+
+    /**
+     * Sortable properties of the list and search endpoints and their columns; anything else is a bad request.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "parkingSpotNumber", "parking_spot_number",
+            "licensePlateCar", "license_plate_car",
+            "brandCar", "brand_car",
+            "modelCar", "model_car",
+            "colorCar", "color_car",
+            "registrationDate", "registration_date",
+            "responsibleName", "responsible_name",
+            "apartment", "apartment",
+            "block", "block");
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveParkingSpotRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ParkingSpotModel> findById(String facility, UUID id) {
+        return databaseClient.sql(SELECT + IN_FACILITY + " and id = :id")
+                .bind("facility", facility)
+                .bind("id", id)
+                .map(ReactiveParkingSpotRepository::toModel)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(String facility, UUID id) {
+        return databaseClient.sql("select 1 from tb_parking_spot" + IN_FACILITY + " and id = :id")
+                .bind("facility", facility)
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Flux<ParkingSpotModel> findAll(String facility, Pageable pageable) {
+        return search(facility, new ParkingSpotSearchDto(null, null, null, null, null, null, null, null), pageable);
+    }
+
+    public Mono<Long> count(String facility) {
+        return count(facility, new ParkingSpotSearchDto(null, null, null, null, null, null, null, null));
+    }
+
+    /**
+     * First keyset slice when the cursor is null, else the rows after it, in (registrationDate, id) order.
+     */
+    public Flux<ParkingSpotModel> findSliceAfter(String facility, ParkingSpotCursor cursor, int limit) {
+        if (cursor == null)
+            return databaseClient.sql(SELECT + IN_FACILITY + KEYSET_ORDER)
+                    .bind("facility", facility)
+                    .bind("limit", limit)
+                    .map(ReactiveParkingSpotRepository::toModel)
+                    .all();
+
+        return databaseClient.sql(SELECT + IN_FACILITY + " and (registration_date, id) > (:registrationDate, :id)" + KEYSET_ORDER)
+                .bind("facility", facility)
+                .bind("registrationDate", cursor.registrationDate())
+                .bind("id", cursor.id())
+                .bind("limit", limit)
+                .map(ReactiveParkingSpotRepository::toModel)
+                .all();
+    }
+
+    public Flux<ParkingSpotModel> search(String facility, ParkingSpotSearchDto search, Pageable pageable) {
+        Where where = Where.matching(facility, search);
+        String sql = SELECT + where.sql() + orderBy(pageable.getSort());
+        if (pageable.isPaged())
+            sql += " limit " + pageable.getPageSize() + " offset " + pageable.getOffset();
+
+        return where.bindTo(databaseClient.sql(sql))
+                .map(ReactiveParkingSpotRepository::toModel)
+                .all();
+    }
+
+    public Mono<Long> count(String facility, ParkingSpotSearchDto search) {
+        Where where = Where.matching(facility, search);
+        return where.bindTo(databaseClient.sql("select count(*) from tb_parking_spot" + where.sql()))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Every row in (registrationDate, id) order, fetched {@value #EXPORT_FETCH_SIZE} at a time as the subscriber
+     * requests them, so a slow client slows the query down instead of filling memory.
+     */
+    public Flux<ParkingSpotModel> streamAll(String facility) {
+        return databaseClient.sql(SELECT + IN_FACILITY + " order by registration_date asc, id asc")
+                .bind("facility", facility)
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(ReactiveParkingSpotRepository::toModel)
+                .all();
+    }
+
+    public Flux<ParkingSpotKeysDto> findConflictingKeys(String facility, String parkingSpotNumber, String licensePlateCar,
+                                                        String apartment, String block) {
+        return databaseClient.sql("select parking_spot_number, license_plate_car, apartment, block from tb_parking_spot" +
+                        IN_FACILITY + " and (parking_spot_number = :parkingSpotNumber or license_plate_car = :licensePlateCar " +
+                        "or (apartment = :apartment and block = :block))")
+                .bind("facility", facility)
+                .bind("parkingSpotNumber", parkingSpotNumber)
+                .bind("licensePlateCar", licensePlateCar)
+                .bind("apartment", apartment)
+                .bind("block", block)
+                .map(row -> new ParkingSpotKeysDto(row.get("parking_spot_number", String.class),
+                        row.get("license_plate_car", String.class), row.get("apartment", String.class),
+                        row.get("block", String.class)))
+                .all();
+    }
+
+    /**
+     * Inserts the spot into the facility under a new random id and returns the stored row.
+     */
+    public Mono<ParkingSpotModel> insert(String facility, ParkingSpotModel parkingSpotModel) {
+        return databaseClient.sql("insert into tb_parking_spot (facility, " + COLUMNS + ") values (:facility, :id, " +
+                        ":parkingSpotNumber, :licensePlateCar, :brandCar, :modelCar, :colorCar, :registrationDate, " +
+                        ":responsibleName, :apartment, :block, 0) returning " + COLUMNS)
+                .bind("facility", facility)
+                .bind("id", UUID.randomUUID())
+                .bind("parkingSpotNumber", parkingSpotModel.getParkingSpotNumber())
+                .bind("licensePlateCar", parkingSpotModel.getLicensePlateCar())
+                .bind("brandCar", parkingSpotModel.getBrandCar())
+                .bind("modelCar", parkingSpotModel.getModelCar())
+                .bind("colorCar", parkingSpotModel.getColorCar())
+                .bind("registrationDate", parkingSpotModel.getRegistrationDate())
+                .bind("responsibleName", parkingSpotModel.getResponsibleName())
+                .bind("apartment", parkingSpotModel.getApartment())
+                .bind("block", parkingSpotModel.getBlock())
+                .map(ReactiveParkingSpotRepository::toModel)
+                .one();
+    }
+
+    /**
+     * Overwrites the editable columns and bumps the version in one statement, returning the new row. With an
+     * expected version nothing is returned unless it still matches; the registration date is never changed.
+     */
+    public Mono<ParkingSpotModel> update(String facility, UUID id, ParkingSpotModel values, Long expectedVersion) {
+        String sql = UPDATE_SPOT + (expectedVersion == null ? "" : " and version = :version") + " returning " + COLUMNS;
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("facility", facility)
+                .bind("id", id)
+                .bind("parkingSpotNumber", values.getParkingSpotNumber())
+                .bind("licensePlateCar", values.getLicensePlateCar())
+                .bind("brandCar", values.getBrandCar())
+                .bind("modelCar", values.getModelCar())
+                .bind("colorCar", values.getColorCar())
+                .bind("responsibleName", values.getResponsibleName())
+                .bind("apartment", values.getApartment())
+                .bind("block", values.getBlock());
+        if (expectedVersion != null)
+            spec = spec.bind("version", expectedVersion);
+
+        return spec.map(ReactiveParkingSpotRepository::toModel).one();
+    }
+
+    public Mono<Long> deleteById(String facility, UUID id) {
+        return databaseClient.sql("delete from tb_parking_spot" + IN_FACILITY + " and id = :id")
+                .bind("facility", facility)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted())
+            return "";
+        return sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null)
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort property: " + order.getProperty());
+                    return column + (order.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+
+    private static ParkingSpotModel toModel(Readable row) {
+        return ParkingSpotModel.builder()
+                .id(row.get("id", UUID.class))
+                .parkingSpotNumber(row.get("parking_spot_number", String.class))
+                .licensePlateCar(row.get("license_plate_car", String.class))
+                .brandCar(row.get("brand_car", String.class))
+                .modelCar(row.get("model_car", String.class))
+                .colorCar(row.get("color_car", String.class))
+                .registrationDate(row.get("registration_date", Instant.class))
+                .responsibleName(row.get("responsible_name", String.class))
+                .apartment(row.get("apartment", String.class))
+                .block(row.get("block", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    /**
+     * The facility and the search filters as a where clause with named parameters, mirroring
+     * {@code ParkingSpotSpecifications} and the tenant restriction Hibernate adds.
+     */
+    private record Where(List<String> predicates, Map<String, Object> parameters) {
+
+        static Where matching(String facility, ParkingSpotSearchDto search) {
+            Where where = new Where(new ArrayList<>(), new LinkedHashMap<>());
+            where.add("facility = :facility", "facility", facility);
+            if (StringUtils.hasText(search.block()))
+                where.add("block = :block", "block", search.block());
+            if (StringUtils.hasText(search.apartment()))
+                where.add("apartment = :apartment", "apartment", search.apartment());
+            if (StringUtils.hasText(search.brandCar()))
+                where.add("lower(brand_car) like :brandCar escape '\\'", "brandCar", contains(search.brandCar()));
+            if (StringUtils.hasText(search.modelCar()))
+                where.add("lower(model_car) like :modelCar escape '\\'", "modelCar", contains(search.modelCar()));
+            if (StringUtils.hasText(search.colorCar()))
+                where.add("lower(color_car) = :colorCar", "colorCar", search.colorCar().toLowerCase(Locale.ROOT));
+            if (StringUtils.hasText(search.licensePlateCarPrefix()))
+                where.add("license_plate_car like :licensePlateCarPrefix escape '\\'", "licensePlateCarPrefix",
+                        escapeLike(search.licensePlateCarPrefix()) + "%");
+            if (search.registeredFrom() != null)
+                where.add("registration_date >= :registeredFrom", "registeredFrom", search.registeredFrom());
+            if (search.registeredTo() != null)
+                where.add("registration_date < :registeredTo", "registeredTo", search.registeredTo());
+            return where;
+        }
+
+        String sql() {
+            return " where " + String.join(" and ", predicates);
+        }
+
+        DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient.GenericExecuteSpec spec) {
+            for (Map.Entry<String, Object> parameter : parameters.entrySet())
+                spec = spec.bind(parameter.getKey(), parameter.getValue());
+            return spec;
+        }
+
+        private void add(String predicate, String name, Object value) {
+            predicates.add(predicate);
+            parameters.put(name, value);
+        }
+
+        private static String contains(String value) {
+            return "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        }
+
+        private static String escapeLike(String value) {
+            StringBuilder escaped = new StringBuilder(value.length() + 4);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '%' || c == '_' || c == LIKE_ESCAPE)
+                    escaped.append(LIKE_ESCAPE);
+                escaped.append(c);
+            }
+            return escaped.toString();
+        }
+    }
+}
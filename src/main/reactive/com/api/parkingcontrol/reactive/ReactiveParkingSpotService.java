@@ -0,0 +1,35 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@code ParkingSpotService}, with the same rules and the same errors. Every method
+ * works on the given facility; it is passed along instead of held in a thread-local, since a request hops threads.
+ */
+public interface ReactiveParkingSpotService {
+
+    Mono<ParkingSpotResponseDto> save(String facility, ParkingSpotRequestDto parkingSpotRequestDto);
+
+    Mono<Page<ParkingSpotResponseDto>> findAll(String facility, Pageable pageable);
+
+    Mono<ParkingSpotSliceResponseDto> findAllAfter(String facility, String cursor, int size);
+
+    Mono<Page<ParkingSpotResponseDto>> search(String facility, ParkingSpotSearchDto search, Pageable pageable);
+
+    Mono<ParkingSpotResponseDto> findById(String facility, UUID id);
+
+    Flux<ParkingSpotResponseDto> exportAll(String facility);
+
+    Mono<Void> deleteById(String facility, UUID id);
+
+    Mono<ParkingSpotResponseDto> update(String facility, UUID id, ParkingSpotRequestDto parkingSpotRequestDto, Long expectedVersion);
+}
@@ -0,0 +1,190 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import com.api.parkingcontrol.exceptions.ParkingSpotConflictException;
+import com.api.parkingcontrol.exceptions.ParkingSpotModifiedException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.mapper.ModelMapper;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.services.ParkingSpotCursor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+public class ReactiveParkingSpotServiceImpl implements ReactiveParkingSpotService {
+    private final ReactiveParkingSpotRepository parkingSpotRepository;
+    private final ModelMapper parkingSpotMapper;
+    private final ParkingSpotProperties properties;
+    private final Clock clock;
+
+    public ReactiveParkingSpotServiceImpl(ReactiveParkingSpotRepository parkingSpotRepository, ModelMapper parkingSpotMapper,
+                                          ParkingSpotProperties properties, Clock clock) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.parkingSpotMapper = parkingSpotMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks the three uniqueness rules with one query before inserting; the unique constraints still decide
+     * between concurrent registrations and are reported with the same CONFLICT.
+     */
+    @Override
+    public Mono<ParkingSpotResponseDto> save(String facility, ParkingSpotRequestDto parkingSpotRequestDto) {
+        ParkingSpotModel parkingSpotModel = parkingSpotMapper.toModel(parkingSpotRequestDto, clock);
+        return parkingSpotRepository.findConflictingKeys(facility, parkingSpotRequestDto.getParkingSpotNumber(),
+                        parkingSpotRequestDto.getLicensePlateCar(), parkingSpotRequestDto.getApartment(),
+                        parkingSpotRequestDto.getBlock())
+                .collectList()
+                .flatMap(conflicts -> conflicts.isEmpty()
+                        ? parkingSpotRepository.insert(facility, parkingSpotModel)
+                        : Mono.error(conflictFor(conflicts, parkingSpotRequestDto)))
+                .onErrorMap(DataIntegrityViolationException.class, ex -> conflictFor(ex, parkingSpotRequestDto))
+                .map(parkingSpotMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<Page<ParkingSpotResponseDto>> findAll(String facility, Pageable pageable) {
+        return page(parkingSpotRepository.findAll(facility, pageable), pageable, parkingSpotRepository.count(facility));
+    }
+
+    /**
+     * Keyset pagination on (registrationDate, id): one row more than asked tells whether there is a next slice,
+     * and no count query is issued.
+     */
+    @Override
+    public Mono<ParkingSpotSliceResponseDto> findAllAfter(String facility, String cursor, int size) {
+        if (size < 1 || size > properties.getKeyset().getMaxSize())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + properties.getKeyset().getMaxSize() + "."));
+
+        ParkingSpotCursor position;
+        try {
+            position = cursor == null || cursor.isBlank() ? null : ParkingSpotCursor.decode(cursor);
+        } catch (ResponseStatusException ex) {
+            return Mono.error(ex);
+        }
+
+        return parkingSpotRepository.findSliceAfter(facility, position, size + 1)
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > size;
+                    List<ParkingSpotModel> content = hasNext ? rows.subList(0, size) : rows;
+                    String nextCursor = null;
+                    if (hasNext) {
+                        ParkingSpotModel last = content.get(content.size() - 1);
+                        nextCursor = new ParkingSpotCursor(last.getRegistrationDate(), last.getId()).encode();
+                    }
+                    return new ParkingSpotSliceResponseDto(parkingSpotMapper.toListResponseDto(content), size, hasNext, nextCursor);
+                });
+    }
+
+    @Override
+    public Mono<Page<ParkingSpotResponseDto>> search(String facility, ParkingSpotSearchDto search, Pageable pageable) {
+        if (search.registeredFrom() != null && search.registeredTo() != null
+                && !search.registeredFrom().isBefore(search.registeredTo()))
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "registeredFrom must be before registeredTo."));
+
+        return Mono.defer(() -> page(parkingSpotRepository.search(facility, search, pageable), pageable, parkingSpotRepository.count(facility, search)));
+    }
+
+    @Override
+    public Mono<ParkingSpotResponseDto> findById(String facility, UUID id) {
+        return parkingSpotRepository.findById(facility, id)
+                .map(parkingSpotMapper::toResponseDto)
+                .switchIfEmpty(Mono.error(() -> new ParkingSpotNotFoundException(id)));
+    }
+
+    @Override
+    public Flux<ParkingSpotResponseDto> exportAll(String facility) {
+        return parkingSpotRepository.streamAll(facility).map(parkingSpotMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String facility, UUID id) {
+        return parkingSpotRepository.deleteById(facility, id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(new ParkingSpotNotFoundException(id)) : Mono.empty());
+    }
+
+    /**
+     * A single conditional UPDATE returning the new row. When nothing is returned, an expected version that no
+     * longer matches is PRECONDITION_FAILED, anything else NOT_FOUND.
+     */
+    @Override
+    public Mono<ParkingSpotResponseDto> update(String facility, UUID id, ParkingSpotRequestDto parkingSpotRequestDto, Long expectedVersion) {
+        ParkingSpotModel values = parkingSpotMapper.toModel(parkingSpotRequestDto, clock);
+        return parkingSpotRepository.update(facility, id, values, expectedVersion)
+                .onErrorMap(DataIntegrityViolationException.class, ex -> conflictFor(ex, parkingSpotRequestDto))
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.error(new ParkingSpotNotFoundException(id))
+                        : parkingSpotRepository.existsById(facility, id).flatMap(exists -> Mono.error(exists
+                                ? new ParkingSpotModifiedException(id)
+                                : new ParkingSpotNotFoundException(id)))))
+                .map(parkingSpotMapper::toResponseDto);
+    }
+
+    /**
+     * Loads the page and counts only when the page itself cannot tell the total, like
+     * {@code PageableExecutionUtils} does for the servlet variant.
+     */
+    private Mono<Page<ParkingSpotResponseDto>> page(Flux<ParkingSpotModel> content, Pageable pageable, Mono<Long> count) {
+        return content.map(parkingSpotMapper::toResponseDto)
+                .collectList()
+                .flatMap(responses -> {
+                    if (pageable.isUnpaged() || (pageable.getOffset() == 0 && responses.size() < pageable.getPageSize()))
+                        return Mono.just(new PageImpl<>(responses, pageable, responses.size()));
+                    if (!responses.isEmpty() && responses.size() < pageable.getPageSize())
+                        return Mono.just(new PageImpl<>(responses, pageable, pageable.getOffset() + responses.size()));
+                    return count.map(total -> new PageImpl<>(responses, pageable, total));
+                });
+    }
+
+    /**
+     * The CONFLICT of the first rule the request breaks, in the order the servlet variant checks them.
+     */
+    private static ParkingSpotConflictException conflictFor(List<ParkingSpotKeysDto> conflicts, ParkingSpotRequestDto request) {
+        for (ParkingSpotKeysDto keys : conflicts) {
+            if (Objects.equals(keys.parkingSpotNumber(), request.getParkingSpotNumber()))
+                return ParkingSpotConflictException.parkingSpotNumber(request.getParkingSpotNumber());
+        }
+        for (ParkingSpotKeysDto keys : conflicts) {
+            if (Objects.equals(keys.licensePlateCar(), request.getLicensePlateCar()))
+                return ParkingSpotConflictException.licensePlateCar(request.getLicensePlateCar());
+        }
+        return ParkingSpotConflictException.apartmentAndBlock(request.getApartment(), request.getBlock());
+    }
+
+    /**
+     * Maps a unique constraint violation to the CONFLICT the pre-check would have reported. The driver only
+     * names the constraint in its message, so the message chain is searched for it.
+     */
+    private static Throwable conflictFor(DataIntegrityViolationException ex, ParkingSpotRequestDto request) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage() == null ? "" : cause.getMessage().toUpperCase(Locale.ROOT);
+            if (message.contains(ParkingSpotModel.UK_PARKING_SPOT_NUMBER))
+                return ParkingSpotConflictException.parkingSpotNumber(request.getParkingSpotNumber());
+            if (message.contains(ParkingSpotModel.UK_LICENSE_PLATE_CAR))
+                return ParkingSpotConflictException.licensePlateCar(request.getLicensePlateCar());
+            if (message.contains(ParkingSpotModel.UK_APARTMENT_BLOCK))
+                return ParkingSpotConflictException.apartmentAndBlock(request.getApartment(), request.getBlock());
+        }
+        return ex;
+    }
+}
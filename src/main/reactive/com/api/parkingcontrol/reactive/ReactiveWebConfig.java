@@ -0,0 +1,54 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.config.DateConfig;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Web setup of the reactive variant: Netty as the server, the Smile codecs and Spring Data's {@code Pageable}
+ * resolution.
+ */
+@Configuration
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /**
+     * Spring Boot would pick Tomcat, which the servlet application brings onto the same class path. On Netty an
+     * open connection costs a channel and its buffers, never a thread.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * WebFlux registers Smile ({@code application/x-jackson-smile}) by default, with a plain mapper that cannot
+     * write the DTOs; give it the JSON settings, as WireFormatConfig does for the servlet application. The media
+     * types are passed explicitly: without them the codecs claim the JSON ones.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        SmileMapper smileMapper = DateConfig.configure(new SmileMapper());
+        MediaType[] smileTypes = {MediaType.valueOf("application/x-jackson-smile"), MediaType.valueOf("application/*+x-jackson-smile")};
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, smileTypes));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, smileTypes));
+    }
+
+    /**
+     * Resolves {@code page}, {@code size} and {@code sort} into a {@code Pageable}, as Spring Data does for MVC.
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver(),
+                new ReactiveSortHandlerMethodArgumentResolver());
+    }
+}
@@ -0,0 +1,49 @@
+-- Schemas created by Hibernate before migrations were introduced are baselined at V1, so V1 never ran on them. This
+-- brings such a table to the shape V1 creates: registration dates with time zone, the uk_* constraints conflicts are
+-- reported by, and the registration date index. Those registration dates were written as UTC LocalDateTime values,
+-- so they are converted AT TIME ZONE 'UTC', never in the session time zone (which V6 would otherwise use).
+-- A no-op on tables created by V1, and on the partitioned table of V6, where spring.flyway.out-of-order applies it
+-- late. Existing unique constraints on the same columns are renamed; duplicate rows make the migration fail.
+DO
+$$
+DECLARE
+    parking_spot REGCLASS := to_regclass('tb_parking_spot');
+    expected     RECORD;
+    existing     TEXT;
+BEGIN
+    IF parking_spot IS NULL OR (SELECT relkind FROM pg_class WHERE oid = parking_spot) <> 'r' THEN
+        RETURN;
+    END IF;
+
+    IF (SELECT atttypid FROM pg_attribute WHERE attrelid = parking_spot AND attname = 'registration_date') = 'timestamp'::regtype THEN
+        ALTER TABLE tb_parking_spot
+            ALTER COLUMN registration_date TYPE TIMESTAMP(6) WITH TIME ZONE USING registration_date AT TIME ZONE 'UTC';
+    END IF;
+
+    FOR expected IN SELECT *
+                    FROM (VALUES ('uk_parking_spot_number', ARRAY ['parking_spot_number']),
+                                 ('uk_license_plate_car', ARRAY ['license_plate_car']),
+                                 ('uk_apartment_block', ARRAY ['apartment', 'block'])) AS keys (name, columns)
+        LOOP
+            CONTINUE WHEN EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = parking_spot AND conname = expected.name);
+
+            existing := (SELECT c.conname
+                         FROM pg_constraint c
+                         WHERE c.conrelid = parking_spot
+                           AND c.contype = 'u'
+                           AND ARRAY(SELECT a.attname::TEXT
+                                     FROM pg_attribute a
+                                     WHERE a.attrelid = parking_spot AND a.attnum = ANY (c.conkey)
+                                     ORDER BY 1) = ARRAY(SELECT unnest(expected.columns) ORDER BY 1)
+                         LIMIT 1);
+            IF existing IS NOT NULL THEN
+                EXECUTE format('ALTER TABLE tb_parking_spot RENAME CONSTRAINT %I TO %I', existing, expected.name);
+            ELSE
+                EXECUTE format('ALTER TABLE tb_parking_spot ADD CONSTRAINT %I UNIQUE (%s)', expected.name,
+                               array_to_string(expected.columns, ', '));
+            END IF;
+        END LOOP;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_parking_spot_registration_date_id ON tb_parking_spot (registration_date, id);
@@ -0,0 +1,22 @@
+-- Schema as mapped by ParkingSpotModel. Databases created before migrations were introduced are baselined at
+-- this version (spring.flyway.baseline-on-migrate), so this script only runs on empty schemas.
+CREATE TABLE tb_parking_spot
+(
+    id                  UUID                        NOT NULL,
+    parking_spot_number VARCHAR(10)                 NOT NULL,
+    license_plate_car   VARCHAR(7)                  NOT NULL,
+    brand_car           VARCHAR(70)                 NOT NULL,
+    model_car           VARCHAR(70)                 NOT NULL,
+    color_car           VARCHAR(70)                 NOT NULL,
+    registration_date   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    responsible_name    VARCHAR(130)                NOT NULL,
+    apartment           VARCHAR(30)                 NOT NULL,
+    block               VARCHAR(30)                 NOT NULL,
+    version             BIGINT DEFAULT 0            NOT NULL,
+    CONSTRAINT tb_parking_spot_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_parking_spot_number UNIQUE (parking_spot_number),
+    CONSTRAINT uk_license_plate_car UNIQUE (license_plate_car),
+    CONSTRAINT uk_apartment_block UNIQUE (apartment, block)
+);
+
+CREATE INDEX idx_parking_spot_registration_date_id ON tb_parking_spot (registration_date, id);
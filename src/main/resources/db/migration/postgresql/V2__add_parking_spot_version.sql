@@ -0,0 +1,2 @@
+-- Optimistic-locking column for schemas baselined before it existed; a no-op on schemas created by V1.
+ALTER TABLE tb_parking_spot ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- Trigram operator classes for the brand/model substring search. Needs a role allowed to create extensions.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,21 @@
+-- Indexes behind GET /parking-spot/search, one per filter shape of ParkingSpotSpecifications. They are built
+-- CONCURRENTLY so existing tables keep accepting writes; Flyway runs this script outside a transaction.
+
+-- block = ? [and apartment = ?]; uk_apartment_block already covers apartment-first lookups.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_parking_spot_block_apartment
+    ON tb_parking_spot (block, apartment);
+
+-- license_plate_car LIKE 'ABC%': pattern ops keep prefix matches index-backed under any database collation.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_parking_spot_plate_prefix
+    ON tb_parking_spot (license_plate_car varchar_pattern_ops);
+
+-- lower(brand_car|model_car) LIKE '%term%': trigram GIN handles unanchored, case-insensitive matches.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_parking_spot_brand_trgm
+    ON tb_parking_spot USING gin (lower(brand_car) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_parking_spot_model_trgm
+    ON tb_parking_spot USING gin (lower(model_car) gin_trgm_ops);
+
+-- lower(color_car) = ? ordered by registration date, the default search order.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_parking_spot_color_registration_date
+    ON tb_parking_spot (lower(color_car), registration_date, id);
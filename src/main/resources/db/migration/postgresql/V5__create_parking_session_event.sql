@@ -0,0 +1,64 @@
+-- Append-only log behind the check-in/check-out endpoints, as mapped by ParkingSessionEventModel. It is range
+-- partitioned by month so history can be archived by detaching or dropping whole partitions instead of DELETEs.
+CREATE TABLE tb_parking_session_event
+(
+    id                UUID                        NOT NULL,
+    session_id        UUID                        NOT NULL,
+    parking_spot_id   UUID                        NOT NULL,
+    license_plate_car VARCHAR(7)                  NOT NULL,
+    type              VARCHAR(10)                 NOT NULL,
+    occurred_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT tb_parking_session_event_pkey PRIMARY KEY (id, occurred_at),
+    CONSTRAINT ck_parking_session_event_type CHECK (type IN ('CHECK_IN', 'CHECK_OUT'))
+) PARTITION BY RANGE (occurred_at);
+
+-- Per-spot history for billing, and the check-out lookup of the open-session restore.
+CREATE INDEX idx_parking_session_event_spot_occurred_at ON tb_parking_session_event (parking_spot_id, occurred_at);
+CREATE INDEX idx_parking_session_event_session_id ON tb_parking_session_event (session_id);
+
+-- Catches rows outside the created months so inserts never fail. A month that already has rows here can only be
+-- partitioned after moving them out.
+CREATE TABLE tb_parking_session_event_default PARTITION OF tb_parking_session_event DEFAULT;
+
+-- Creates the partitions of the current month and the given number of following months (UTC) when missing.
+-- ParkingSessionLog calls it at startup and every parking-spot.sessions.partition-check-interval.
+CREATE FUNCTION create_parking_session_event_partitions(months_ahead INTEGER) RETURNS INTEGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    first_month TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC');
+    month_start TIMESTAMP;
+    partition   TEXT;
+    created     INTEGER   := 0;
+BEGIN
+    FOR i IN 0..months_ahead
+        LOOP
+            month_start := first_month + make_interval(months => i);
+            partition := 'tb_parking_session_event_' || to_char(month_start, 'YYYYMM');
+            IF to_regclass(partition) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF tb_parking_session_event FOR VALUES FROM (%L) TO (%L)',
+                               partition, month_start AT TIME ZONE 'UTC',
+                               (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+                created := created + 1;
+            END IF;
+        END LOOP;
+    RETURN created;
+END
+$$;
+
+SELECT create_parking_session_event_partitions(3);
+
+-- Rows are never changed once written.
+CREATE FUNCTION reject_parking_session_event_change() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    RAISE EXCEPTION 'tb_parking_session_event is append-only';
+END
+$$;
+
+CREATE TRIGGER tr_parking_session_event_append_only
+    BEFORE UPDATE OR DELETE
+    ON tb_parking_session_event
+    FOR EACH ROW
+EXECUTE FUNCTION reject_parking_session_event_change();
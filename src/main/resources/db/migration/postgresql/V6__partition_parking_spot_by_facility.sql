@@ -0,0 +1,64 @@
+-- Multi-facility deployments: tb_parking_spot becomes list partitioned by facility, so every lookup, uniqueness
+-- check and page of one facility only touches that facility's partition and its indexes. Unique keys are now per
+-- facility; PostgreSQL requires the partition key in the primary key and unique constraints, and the constraint
+-- names are kept so conflicts are still reported by name. Existing spots move to the 'default' facility.
+-- The table is rewritten under an exclusive lock, so run this migration in a maintenance window on large tables.
+ALTER TABLE tb_parking_spot RENAME TO tb_parking_spot_unpartitioned;
+
+CREATE TABLE tb_parking_spot
+(
+    id                  UUID                        NOT NULL,
+    facility            VARCHAR(30)                 NOT NULL,
+    parking_spot_number VARCHAR(10)                 NOT NULL,
+    license_plate_car   VARCHAR(7)                  NOT NULL,
+    brand_car           VARCHAR(70)                 NOT NULL,
+    model_car           VARCHAR(70)                 NOT NULL,
+    color_car           VARCHAR(70)                 NOT NULL,
+    registration_date   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    responsible_name    VARCHAR(130)                NOT NULL,
+    apartment           VARCHAR(30)                 NOT NULL,
+    block               VARCHAR(30)                 NOT NULL,
+    version             BIGINT DEFAULT 0            NOT NULL
+) PARTITION BY LIST (facility);
+
+CREATE TABLE tb_parking_spot_default PARTITION OF tb_parking_spot FOR VALUES IN ('default');
+
+INSERT INTO tb_parking_spot (id, facility, parking_spot_number, license_plate_car, brand_car, model_car, color_car,
+                             registration_date, responsible_name, apartment, block, version)
+SELECT id, 'default', parking_spot_number, license_plate_car, brand_car, model_car, color_car,
+       registration_date, responsible_name, apartment, block, version
+FROM tb_parking_spot_unpartitioned;
+
+DROP TABLE tb_parking_spot_unpartitioned;
+
+-- Built after the copy, once per partition.
+ALTER TABLE tb_parking_spot
+    ADD CONSTRAINT tb_parking_spot_pkey PRIMARY KEY (facility, id),
+    ADD CONSTRAINT uk_parking_spot_number UNIQUE (facility, parking_spot_number),
+    ADD CONSTRAINT uk_license_plate_car UNIQUE (facility, license_plate_car),
+    ADD CONSTRAINT uk_apartment_block UNIQUE (facility, apartment, block);
+
+-- The indexes of V1 and V4. Each partition holds a single facility, so they do not need the facility column.
+CREATE INDEX idx_parking_spot_registration_date_id ON tb_parking_spot (registration_date, id);
+CREATE INDEX idx_parking_spot_block_apartment ON tb_parking_spot (block, apartment);
+CREATE INDEX idx_parking_spot_plate_prefix ON tb_parking_spot (license_plate_car varchar_pattern_ops);
+CREATE INDEX idx_parking_spot_brand_trgm ON tb_parking_spot USING gin (lower(brand_car) gin_trgm_ops);
+CREATE INDEX idx_parking_spot_model_trgm ON tb_parking_spot USING gin (lower(model_car) gin_trgm_ops);
+CREATE INDEX idx_parking_spot_color_registration_date ON tb_parking_spot (lower(color_car), registration_date, id);
+
+-- Creates the partition of a facility when missing and returns whether it did. ParkingSpotPartitions calls it for
+-- every parking-spot.facilities.ids entry at startup; the lock keeps instances starting together from racing.
+CREATE FUNCTION create_parking_spot_partition(facility_id TEXT) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition TEXT := 'tb_parking_spot_' || facility_id;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('tb_parking_spot'));
+    IF to_regclass(format('%I', partition)) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF tb_parking_spot FOR VALUES IN (%L)', partition, facility_id);
+    RETURN TRUE;
+END
+$$;
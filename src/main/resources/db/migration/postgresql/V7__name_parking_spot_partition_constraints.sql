@@ -0,0 +1,46 @@
+-- A unique violation in a partition of tb_parking_spot is reported under the partition's own constraint, which
+-- PostgreSQL names after the partition and its columns (tb_parking_spot_default_facility_license_plate_car_key,
+-- truncated for long facility ids), not under the uk_* constraint of V6. The services map violations to conflicts by
+-- the uk_* name, so every partition constraint is renamed to <parent constraint>_<facility>, e.g.
+-- uk_license_plate_car_default. Renaming the index renames its constraint; no data is touched.
+CREATE FUNCTION name_parking_spot_partition_constraints(partition REGCLASS, facility_id TEXT) RETURNS VOID
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    constraint_names RECORD;
+BEGIN
+    FOR constraint_names IN
+        SELECT child.conname AS child_name, parent.conname || '_' || facility_id AS name
+        FROM pg_constraint child
+                 JOIN pg_constraint parent ON parent.oid = child.conparentid
+        WHERE child.conrelid = partition
+          AND parent.conname LIKE 'uk\_%'
+        LOOP
+            IF constraint_names.child_name <> constraint_names.name THEN
+                EXECUTE format('ALTER INDEX %I RENAME TO %I', constraint_names.child_name, constraint_names.name);
+            END IF;
+        END LOOP;
+END
+$$;
+
+SELECT name_parking_spot_partition_constraints(partition.oid, substr(partition.relname, length('tb_parking_spot_') + 1))
+FROM pg_inherits
+         JOIN pg_class partition ON partition.oid = pg_inherits.inhrelid
+WHERE pg_inherits.inhparent = 'tb_parking_spot'::regclass;
+
+-- Partitions created from now on get the same names.
+CREATE OR REPLACE FUNCTION create_parking_spot_partition(facility_id TEXT) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition TEXT := 'tb_parking_spot_' || facility_id;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('tb_parking_spot'));
+    IF to_regclass(format('%I', partition)) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF tb_parking_spot FOR VALUES IN (%L)', partition, facility_id);
+    PERFORM name_parking_spot_partition_constraints(format('%I', partition)::regclass, facility_id);
+    RETURN TRUE;
+END
+$$;
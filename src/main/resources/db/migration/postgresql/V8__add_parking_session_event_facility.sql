@@ -0,0 +1,4 @@
+-- Parking sessions belong to the facility of their spot, so occupancy reads and check-outs stay within the caller's
+-- facility like every spot query. Events written before are of the 'default' facility, where V6 moved every spot.
+-- A constant default is stored in the catalog only: no partition is rewritten and the append-only trigger never fires.
+ALTER TABLE tb_parking_session_event ADD COLUMN facility VARCHAR(30) DEFAULT 'default' NOT NULL;
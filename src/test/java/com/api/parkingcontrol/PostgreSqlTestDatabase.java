@@ -0,0 +1,130 @@
+package com.api.parkingcontrol;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL for the tests that depend on the real migrations: partitions, constraint names and the SQL of the
+ * reactive variant. An embedded server is started once per JVM, unless {@code -Dtest.postgresql.url} names a server
+ * that is already running (with {@code test.postgresql.username} and {@code test.postgresql.password}). When neither
+ * is possible, e.g. on a platform without embedded binaries, the tests using it are skipped with a warning.
+ * <p>
+ * Every test class gets an empty database of its own, dropped when the JVM exits.
+ */
+public final class PostgreSqlTestDatabase {
+    private static final Logger log = LoggerFactory.getLogger(PostgreSqlTestDatabase.class);
+
+    private static final List<String> databases = new ArrayList<>();
+    private static String serverUrl;
+    private static String username;
+    private static String password;
+    private static boolean started;
+
+    private PostgreSqlTestDatabase() {
+    }
+
+    /**
+     * Whether a server could be reached or started; used with {@code @EnabledIf}.
+     */
+    public static synchronized boolean isAvailable() {
+        if (!started) {
+            started = true;
+            start();
+        }
+        return serverUrl != null;
+    }
+
+    /**
+     * Points the datasource at a new database and lets Flyway create the schema, as in production.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        String url = createDatabase();
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> username);
+        registry.add("spring.datasource.password", () -> password);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    /**
+     * Creates an empty database and returns its JDBC URL.
+     */
+    public static synchronized String createDatabase() {
+        if (!isAvailable())
+            throw new IllegalStateException("No PostgreSQL server for the tests.");
+
+        String database = "parking_" + UUID.randomUUID().toString().replace("-", "");
+        execute("CREATE DATABASE " + database);
+        databases.add(database);
+        return serverUrl.substring(0, serverUrl.lastIndexOf('/') + 1) + database;
+    }
+
+    public static String username() {
+        return username;
+    }
+
+    public static String password() {
+        return password;
+    }
+
+    private static void start() {
+        String url = System.getProperty("test.postgresql.url");
+        try {
+            if (url != null) {
+                username = System.getProperty("test.postgresql.username", "postgres");
+                password = System.getProperty("test.postgresql.password", "postgres");
+                serverUrl = url;
+            } else {
+                EmbeddedPostgres server = EmbeddedPostgres.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> close(server)));
+                username = "postgres";
+                password = "postgres";
+                serverUrl = server.getJdbcUrl("postgres", "postgres");
+            }
+            execute("SELECT 1");
+        } catch (Exception ex) {
+            log.warn("PostgreSQL tests are skipped: no server at -Dtest.postgresql.url and the embedded one did not start", ex);
+            serverUrl = null;
+            return;
+        }
+        if (url != null)
+            Runtime.getRuntime().addShutdownHook(new Thread(PostgreSqlTestDatabase::dropDatabases));
+    }
+
+    private static synchronized void dropDatabases() {
+        for (String database : databases) {
+            try {
+                execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            } catch (RuntimeException ex) {
+                log.warn("Could not drop test database {}", database, ex);
+            }
+        }
+    }
+
+    private static void close(EmbeddedPostgres server) {
+        try {
+            server.close();
+        } catch (Exception ex) {
+            log.warn("Could not stop the embedded PostgreSQL server", ex);
+        }
+    }
+
+    private static void execute(String sql) {
+        try (Connection connection = DriverManager.getConnection(serverUrl, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.PostgreSqlTestDatabase;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PostgreSQL migrations on a schema created by Hibernate before Flyway was introduced, and on one that is
+ * already past V1_1. Flyway is configured as in application.properties and FlywayConfig.
+ */
+@EnabledIf("com.api.parkingcontrol.PostgreSqlTestDatabase#isAvailable")
+class FlywayMigrationPostgreSqlTest {
+
+    @DisplayName("Test: Migrations - Baselined Schema Brought To The V1 Shape")
+    @Test
+    public void testBaselinedSchema() {
+        DriverManagerDataSource dataSource = dataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tb_parking_spot (id UUID NOT NULL, apartment VARCHAR(30) NOT NULL, "
+                + "block VARCHAR(30) NOT NULL, brand_car VARCHAR(70) NOT NULL, color_car VARCHAR(70) NOT NULL, "
+                + "license_plate_car VARCHAR(7) NOT NULL, model_car VARCHAR(70) NOT NULL, "
+                + "parking_spot_number VARCHAR(10) NOT NULL, registration_date TIMESTAMP(6) NOT NULL, "
+                + "responsible_name VARCHAR(130) NOT NULL, PRIMARY KEY (id))");
+        jdbcTemplate.execute("ALTER TABLE tb_parking_spot ADD CONSTRAINT uk_3v1n0vxyfxq0jxm3m6m9sh3w0 UNIQUE (license_plate_car)");
+        jdbcTemplate.execute("INSERT INTO tb_parking_spot VALUES (gen_random_uuid(), '16', 'A', 'Hyundai', 'Black', "
+                + "'0000000', 'Veloster', '16A', '2023-05-01 12:00:00', 'Anyone')");
+
+        flyway(dataSource).target("1.1").load().migrate();
+
+        assertEquals(List.of("tb_parking_spot_pkey", "uk_apartment_block", "uk_license_plate_car", "uk_parking_spot_number"),
+                constraintNames(jdbcTemplate, "tb_parking_spot"));
+        assertEquals("timestamp with time zone", jdbcTemplate.queryForObject("SELECT data_type FROM "
+                + "information_schema.columns WHERE table_name = 'tb_parking_spot' AND column_name = 'registration_date'", String.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT to_regclass('idx_parking_spot_registration_date_id')", String.class));
+        assertRegisteredAtNoonUtc(jdbcTemplate);
+
+        flyway(dataSource).load().migrate();
+
+        assertEquals(List.of("tb_parking_spot_default_pkey", "uk_apartment_block_default", "uk_license_plate_car_default",
+                "uk_parking_spot_number_default"), constraintNames(jdbcTemplate, "tb_parking_spot_default"));
+        assertRegisteredAtNoonUtc(jdbcTemplate);
+    }
+
+    @DisplayName("Test: Migrations - V1_1 Applied Late To A Partitioned Schema Changes Nothing")
+    @Test
+    public void testAppliedOutOfOrder() {
+        DriverManagerDataSource dataSource = dataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource).load().migrate();
+        jdbcTemplate.update("DELETE FROM flyway_schema_history WHERE version = '1.1'");
+        List<String> constraints = constraintNames(jdbcTemplate, "tb_parking_spot");
+
+        assertEquals(1, flyway(dataSource).load().migrate().migrationsExecuted);
+
+        assertEquals(constraints, constraintNames(jdbcTemplate, "tb_parking_spot"));
+        assertEquals("p", jdbcTemplate.queryForObject("SELECT relkind::TEXT FROM pg_class WHERE relname = 'tb_parking_spot'", String.class));
+    }
+
+    private static void assertRegisteredAtNoonUtc(JdbcTemplate jdbcTemplate) {
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT registration_date = TIMESTAMPTZ '2023-05-01 12:00:00+00' FROM tb_parking_spot", Boolean.class));
+    }
+
+    private static List<String> constraintNames(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass "
+                + "AND contype IN ('p', 'u') ORDER BY conname", String.class, table);
+    }
+
+    /**
+     * A session time zone other than UTC, so an implicit timestamp cast would shift the registration dates.
+     */
+    private static FluentConfiguration flyway(DriverManagerDataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .outOfOrder(true)
+                .initSql("SET TIME ZONE 'America/Sao_Paulo'")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+
+    private static DriverManagerDataSource dataSource() {
+        return new DriverManagerDataSource(PostgreSqlTestDatabase.createDatabase(), PostgreSqlTestDatabase.username(),
+                PostgreSqlTestDatabase.password());
+    }
+}
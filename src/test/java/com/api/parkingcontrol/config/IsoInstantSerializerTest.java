@@ -0,0 +1,59 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IsoInstantSerializerTest {
+
+    private static final DateTimeFormatter REFERENCE = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+
+    private final ObjectMapper objectMapper = new DateConfig().objectMapper();
+
+    @DisplayName("Test: Format Matches DateTimeFormatter")
+    @Test
+    public void testFormatMatchesDateTimeFormatter() {
+        Random random = new Random(42);
+        long[] edges = {0, -1, 951_782_400L, 4_107_542_399L, -62_167_219_200L, 253_402_300_799L};
+
+        for (long epochSecond : edges)
+            assertFormatted(epochSecond);
+
+        for (int i = 0; i < 100_000; i++)
+            assertFormatted(-62_167_219_200L + (long) (random.nextDouble() * 315_569_520_000L));
+    }
+
+    @DisplayName("Test: Serialize Response Dto")
+    @Test
+    public void testSerializeResponseDto() throws Exception {
+        ParkingSpotResponseDto responseDto = new ParkingSpotResponseDto("16A", "0000000", "Hyundai", "Veloster", "Black",
+                Instant.parse("2023-05-01T12:34:56.789Z"), "Anyone", "16", "A", 0L);
+
+        String json = objectMapper.writeValueAsString(responseDto);
+
+        assertTrue(json.contains("\"registrationDate\":\"2023-05-01T12:34:56Z\""), json);
+        assertFalse(json.contains("version"), json);
+    }
+
+    @DisplayName("Test: Serialize Instant Outside Fast Range")
+    @Test
+    public void testSerializeInstantOutsideFastRange() throws Exception {
+        assertEquals("\"+10000-01-01T00:00:00Z\"", objectMapper.writeValueAsString(Instant.parse("+10000-01-01T00:00:00.5Z")));
+    }
+
+    private static void assertFormatted(long epochSecond) {
+        char[] buffer = new char[20];
+        IsoInstantSerializer.format(epochSecond, buffer);
+        assertEquals(REFERENCE.format(Instant.ofEpochSecond(epochSecond)), new String(buffer), Long.toString(epochSecond));
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.parkingcontrol.config;
+
+import com.api.parkingcontrol.services.ParkingSpotService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Test: Service And Repository Calls Are Timed")
+    @Test
+    public void testServiceAndRepositoryCallsAreTimed() {
+        parkingSpotService.existsByParkingSpotNumber("16A");
+
+        assertTrue(meterRegistry.get(MetricsConfig.SERVICE_TIMER).tag("method", "existsByParkingSpotNumber")
+                .timer().count() >= 1);
+        assertTrue(meterRegistry.get("spring.data.repository.invocations").tag("method", "existsByParkingSpotNumber")
+                .timer().count() >= 1);
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+    }
+
+    @DisplayName("Test: Prometheus Scrape Exposes SLO Histograms")
+    @Test
+    public void testPrometheusScrape() throws Exception {
+        parkingSpotService.existsByLicensePlateCar("0000000");
+
+        MvcResult result = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String scrape = result.getResponse().getContentAsString();
+
+        long buckets = scrape.lines()
+                .filter(line -> line.startsWith("parking_spot_service_seconds_bucket") && line.contains("method=\"existsByLicensePlateCar\""))
+                .count();
+        assertEquals(12, buckets, "one bucket per SLO boundary plus +Inf");
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+    }
+}
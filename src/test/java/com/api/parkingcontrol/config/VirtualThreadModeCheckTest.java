@@ -0,0 +1,62 @@
+package com.api.parkingcontrol.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds on a JDK before 21 leave out the virtual-threads Maven profile and with it VirtualThreadConfig. On a build
+ * with it, registering the check alone stands for an AOT-processed build whose conditions left VirtualThreadConfig out.
+ */
+class VirtualThreadModeCheckTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadModeCheck.class);
+
+    @DisplayName("Test: Virtual Threads - Enabled Without Java 21 Build Fails At Startup")
+    @DisabledIf("virtualThreadSupport")
+    @Test
+    public void testEnabledWithoutVirtualThreadConfig() {
+        contextRunner.withPropertyValues("parking-spot.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .rootCause().hasMessageContaining("JDK 21"));
+    }
+
+    @DisplayName("Test: Virtual Threads - Check Runs With Lazy Initialization")
+    @DisabledIf("virtualThreadSupport")
+    @Test
+    public void testEnabledWithLazyInitialization() {
+        contextRunner.withUserConfiguration(StartupConfig.class)
+                .withInitializer(context -> context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor()))
+                .withPropertyValues("parking-spot.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class));
+    }
+
+    @DisplayName("Test: Virtual Threads - Enabled On AOT Build Processed Without Fails At Startup")
+    @EnabledIf("virtualThreadSupport")
+    @Test
+    public void testEnabledOnBuildProcessedWithout() {
+        contextRunner.withPropertyValues("parking-spot.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .rootCause().hasMessageContaining("AOT"));
+    }
+
+    @DisplayName("Test: Virtual Threads - Platform-Thread Mode Starts")
+    @Test
+    public void testDisabled() {
+        contextRunner.withPropertyValues("parking-spot.threads.virtual.enabled=false")
+                .run(context -> assertThat(context).hasNotFailed().hasSingleBean(VirtualThreadModeCheck.class));
+    }
+
+    static boolean virtualThreadSupport() {
+        return ClassUtils.isPresent(VirtualThreadModeCheck.VIRTUAL_THREAD_CONFIG, VirtualThreadModeCheck.class.getClassLoader());
+    }
+}
@@ -0,0 +1,260 @@
+package com.api.parkingcontrol.controllers;
+
+import com.api.parkingcontrol.config.DateConfig;
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.config.WireFormatConfig;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.events.ParkingSpotEventBroadcaster;
+import com.api.parkingcontrol.exceptions.ParkingSpotModifiedException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.services.ParkingSpotServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import jakarta.servlet.ServletOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ParkingSpotController.class)
+@Import({DateConfig.class, WireFormatConfig.class})
+@EnableConfigurationProperties(ParkingSpotProperties.class)
+class ParkingSpotControllerTest {
+
+    private static final String REQUEST_BODY = "{\"parkingSpotNumber\":\"16A\",\"licensePlateCar\":\"0000000\"," +
+            "\"brandCar\":\"Hyundai\",\"modelCar\":\"Veloster\",\"colorCar\":\"Black\",\"responsibleName\":\"Anyone\"," +
+            "\"apartment\":\"16\",\"block\":\"A\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ParkingSpotController parkingSpotController;
+
+    @MockBean
+    private ParkingSpotServiceImpl parkingSpotService;
+
+    @MockBean
+    private ParkingSpotEventBroadcaster eventBroadcaster;
+
+    private final UUID id = UUID.randomUUID();
+
+    private final ParkingSpotResponseDto responseDto = new ParkingSpotResponseDto("16A", "0000000", "Hyundai",
+            "Veloster", "Black", Instant.parse("2023-05-01T12:00:00Z"), "Anyone", "16", "A", 3L);
+
+    @DisplayName("Test: Get By ID - Version Sent As ETag")
+    @Test
+    public void testGetByIdSendsETag() throws Exception {
+        when(parkingSpotService.findById(id)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.parkingSpotNumber").value("16A"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @DisplayName("Test: Get By ID - Matching If-None-Match Returns 304")
+    @Test
+    public void testGetByIdNotModified() throws Exception {
+        when(parkingSpotService.findById(id)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @DisplayName("Test: Get By ID - Each Representation Has Its Own ETag")
+    @Test
+    public void testGetByIdETagPerRepresentation() throws Exception {
+        when(parkingSpotService.findById(id)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/cbor"))
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-cbor\""));
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/x-jackson-smile")
+                        .param("fields", "parkingSpotNumber", "block"))
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-x-jackson-smile;block,parkingSpotNumber\""));
+
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).param("fields", "block")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3-cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @DisplayName("Test: Get By ID - CBOR And Smile Negotiated By Accept")
+    @Test
+    public void testGetByIdBinaryFormats() throws Exception {
+        when(parkingSpotService.findById(id)).thenReturn(responseDto);
+
+        byte[] cbor = mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode cborNode = new CBORMapper().readTree(cbor);
+        assertEquals("16A", cborNode.get("parkingSpotNumber").asText());
+        assertEquals("2023-05-01T12:00:00Z", cborNode.get("registrationDate").asText());
+        assertFalse(cborNode.has("version"));
+
+        byte[] smile = mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/x-jackson-smile")
+                        .param("fields", "block"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode smileNode = new SmileMapper().readTree(smile);
+        assertEquals("A", smileNode.get("block").asText());
+        assertFalse(smileNode.has("parkingSpotNumber"));
+
+        when(parkingSpotService.findById(id)).thenThrow(new ParkingSpotNotFoundException(id));
+        mockMvc.perform(get("/rest/api/v1/parking-spot/{id}", id).accept("application/cbor"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @DisplayName("Test: Search - Query Parameters Bound To Filters")
+    @Test
+    public void testSearchBindsFilters() throws Exception {
+        ParkingSpotSearchDto search = new ParkingSpotSearchDto("A", null, "hyun", null, null, "00",
+                Instant.parse("2023-05-01T00:00:00Z"), null);
+        when(parkingSpotService.search(eq(search), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(responseDto)));
+
+        mockMvc.perform(get("/rest/api/v1/parking-spot/search")
+                        .param("block", "A")
+                        .param("brandCar", "hyun")
+                        .param("licensePlateCarPrefix", "00")
+                        .param("registeredFrom", "2023-05-01T00:00:00Z")
+                        .param("fields", "parkingSpotNumber"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].parkingSpotNumber").value("16A"))
+                .andExpect(jsonPath("$.content[0].block").doesNotExist());
+    }
+
+    @DisplayName("Test: Update - If-Match Passed As Expected Version")
+    @Test
+    public void testUpdateWithIfMatch() throws Exception {
+        when(parkingSpotService.update(eq(id), any(ParkingSpotRequestDto.class), eq(3L))).thenReturn(responseDto);
+
+        mockMvc.perform(put("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @DisplayName("Test: Update - If-Match Of Any Representation Compares The Version")
+    @Test
+    public void testUpdateWithIfMatchOfRepresentation() throws Exception {
+        when(parkingSpotService.update(eq(id), any(ParkingSpotRequestDto.class), eq(3L))).thenReturn(responseDto);
+
+        mockMvc.perform(put("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.IF_MATCH, "\"3-cbor;block\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST_BODY))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.IF_MATCH, "\"3cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST_BODY))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(parkingSpotService).update(eq(id), any(ParkingSpotRequestDto.class), eq(3L));
+    }
+
+    @DisplayName("Test: Update - Stale If-Match Returns 412")
+    @Test
+    public void testUpdateWithStaleIfMatch() throws Exception {
+        when(parkingSpotService.update(eq(id), any(ParkingSpotRequestDto.class), eq(2L)))
+                .thenThrow(new ParkingSpotModifiedException(id));
+
+        mockMvc.perform(put("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST_BODY))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.type").value("/problems/parking-spot-modified"))
+                .andExpect(jsonPath("$.instance").value("/rest/api/v1/parking-spot/" + id));
+
+        mockMvc.perform(put("/rest/api/v1/parking-spot/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST_BODY))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(parkingSpotService, never()).update(any(), any(), eq(3L));
+    }
+
+    @DisplayName("Test: Export - Rows Not Flushed One By One")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportDoesNotFlushEveryRow() throws Exception {
+        int rows = 1000;
+        doAnswer(invocation -> {
+            Consumer<ParkingSpotResponseDto> consumer = invocation.getArgument(0);
+            for (int i = 0; i < rows; i++)
+                consumer.accept(responseDto);
+            return null;
+        }).when(parkingSpotService).exportAll(any(Consumer.class));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        AtomicInteger flushes = new AtomicInteger();
+        ServletOutputStream outputStream = new DelegatingServletOutputStream(body) {
+            @Override
+            public void flush() throws IOException {
+                flushes.incrementAndGet();
+                super.flush();
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return outputStream;
+            }
+        };
+
+        parkingSpotController.exportParkingSpots(response);
+
+        List<String> lines = body.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(rows, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"parkingSpotNumber\":\"16A\""), lines.get(0));
+        assertTrue(flushes.get() < rows / 10, "flushed " + flushes.get() + " times");
+    }
+}
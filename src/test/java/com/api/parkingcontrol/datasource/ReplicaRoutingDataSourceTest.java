@@ -0,0 +1,137 @@
+package com.api.parkingcontrol.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replica routing against two in-memory H2 databases; only the replica has the {@code replica_lag} table, which
+ * both tells them apart and feeds the lag check.
+ */
+@SpringBootTest(properties = {
+        "parking-spot.replicas.enabled=true",
+        "parking-spot.replicas.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "parking-spot.replicas.lag-query=select lag_seconds from replica_lag",
+        "parking-spot.replicas.max-lag=PT1S"})
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeAll
+    static void createReplica() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("create table replica_lag (lag_seconds double precision)");
+        replica.update("insert into replica_lag values (0)");
+    }
+
+    @AfterEach
+    void catchUp() {
+        replica.update("update replica_lag set lag_seconds = 0");
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @DisplayName("Test: Read-Only Transactions Use The Replica, Others The Primary")
+    @Test
+    public void testReadOnlyTransactionsUseReplica() {
+        replicaRoutingDataSource.checkLag();
+
+        assertTrue(readsFromReplica(true));
+        assertFalse(readsFromReplica(false));
+    }
+
+    @DisplayName("Test: Reads Pinned To The Primary")
+    @Test
+    public void testPinnedReadsUsePrimary() {
+        replicaRoutingDataSource.checkLag();
+
+        ReplicaRoutingDataSource.setPinnedToPrimary(true);
+        try {
+            assertFalse(readsFromReplica(true));
+        } finally {
+            ReplicaRoutingDataSource.setPinnedToPrimary(false);
+        }
+    }
+
+    @DisplayName("Test: Lagging Replica Gets No Reads Until It Catches Up")
+    @Test
+    public void testLaggingReplicaIsSkipped() {
+        replica.update("update replica_lag set lag_seconds = 30");
+        replicaRoutingDataSource.checkLag();
+        assertFalse(readsFromReplica(true));
+
+        replica.update("update replica_lag set lag_seconds = 0.5");
+        replicaRoutingDataSource.checkLag();
+        assertTrue(readsFromReplica(true));
+    }
+
+    @DisplayName("Test: Own Writes Keep The Client On The Primary")
+    @Test
+    public void testReadYourWritesStickiness() throws Exception {
+        Instant now = Instant.parse("2023-05-01T12:00:00Z");
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(now, ZoneOffset.UTC));
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (request, response) -> pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary());
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/rest/api/v1/parking-spot/1"), writeResponse, chain);
+        Cookie lastWrite = writeResponse.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertNotNull(lastWrite);
+        assertEquals(Long.toString(now.toEpochMilli()), lastWrite.getValue());
+        assertTrue(pinned.get());
+
+        MockHttpServletRequest recentRead = new MockHttpServletRequest("GET", "/rest/api/v1/parking-spot");
+        recentRead.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, Long.toString(now.minusSeconds(2).toEpochMilli())));
+        filter.doFilter(recentRead, new MockHttpServletResponse(), chain);
+        assertTrue(pinned.get());
+
+        MockHttpServletRequest laterRead = new MockHttpServletRequest("GET", "/rest/api/v1/parking-spot");
+        laterRead.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, Long.toString(now.minusSeconds(10).toEpochMilli())));
+        filter.doFilter(laterRead, new MockHttpServletResponse(), chain);
+        assertFalse(pinned.get());
+
+        MockHttpServletRequest forgedRead = new MockHttpServletRequest("GET", "/rest/api/v1/parking-spot");
+        forgedRead.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, Long.toString(Long.MAX_VALUE)));
+        filter.doFilter(forgedRead, new MockHttpServletResponse(), chain);
+        assertFalse(pinned.get());
+
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    private boolean readsFromReplica(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        Integer replicaTables = transaction.execute(status -> jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'REPLICA_LAG'", Integer.class));
+        return replicaTables == 1;
+    }
+}
@@ -0,0 +1,211 @@
+package com.api.parkingcontrol.events;
+
+import com.api.parkingcontrol.config.DateConfig;
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.controllers.ParkingSpotController;
+import com.api.parkingcontrol.dtos.ParkingSpotEventDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.services.ParkingSpotServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(controllers = ParkingSpotController.class, properties = "parking-spot.facilities.ids=default,north")
+@Import({DateConfig.class, ParkingSpotEventBroadcaster.class})
+@EnableConfigurationProperties(ParkingSpotProperties.class)
+class ParkingSpotEventBroadcasterTest {
+
+    private static final String DEFAULT = "default";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ParkingSpotEventBroadcaster eventBroadcaster;
+
+    @MockBean
+    private ParkingSpotServiceImpl parkingSpotService;
+
+    private final ParkingSpotResponseDto responseDto = new ParkingSpotResponseDto("16A", "0000000", "Hyundai",
+            "Veloster", "Black", Instant.parse("2023-05-01T12:00:00Z"), "Anyone", "16", "A", 0L);
+
+    @DisplayName("Test: Events - Published Change Pushed To Subscriber")
+    @Test
+    public void testPublishedEventIsStreamed() throws Exception {
+        MvcResult result = subscribe(null);
+        UUID id = UUID.randomUUID();
+
+        ParkingSpotEvent event = eventBroadcaster.publish(DEFAULT, ParkingSpotEvent.Type.CREATED, new ParkingSpotEventDto(id, responseDto));
+
+        String content = awaitContent(result, "\"parkingSpotNumber\":\"16A\"");
+        assertTrue(content.contains("id:" + event.id() + "\nevent:created\n"));
+        assertTrue(content.contains("\"id\":\"" + id + "\""));
+        assertFalse(content.contains("version"));
+    }
+
+    @DisplayName("Test: Events - Reconnect Replays Missed Events Only")
+    @Test
+    public void testReconnectReplaysFromLastEventId() throws Exception {
+        UUID seenId = UUID.randomUUID();
+        UUID missedId = UUID.randomUUID();
+        ParkingSpotEvent seen = eventBroadcaster.publish(DEFAULT, ParkingSpotEvent.Type.UPDATED, new ParkingSpotEventDto(seenId, responseDto));
+        ParkingSpotEvent missed = eventBroadcaster.publish(DEFAULT, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(missedId, null));
+
+        String content = awaitContent(subscribe(seen.id()), "{\"id\":\"" + missedId + "\"}");
+
+        assertTrue(content.contains("id:" + missed.id() + "\nevent:deleted\n"));
+        assertFalse(content.contains(seenId.toString()));
+    }
+
+    @DisplayName("Test: Events - Unknown Last-Event-ID Asks For Resync")
+    @Test
+    public void testStaleLastEventIdResyncs() throws Exception {
+        eventBroadcaster.publish(DEFAULT, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(UUID.randomUUID(), null));
+
+        String content = awaitContent(subscribe(1L), "data:" + ParkingSpotEventBroadcaster.RESYNC);
+
+        assertFalse(content.contains("event:deleted"));
+    }
+
+    @DisplayName("Test: Events - Stream Only Carries Its Facility")
+    @Test
+    public void testStreamIsScopedToFacility() throws Exception {
+        MvcResult result = subscribe(null, "north");
+        UUID otherId = UUID.randomUUID();
+        UUID ownId = UUID.randomUUID();
+
+        eventBroadcaster.publish(DEFAULT, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(otherId, null));
+        eventBroadcaster.publish("north", ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(ownId, null));
+
+        String content = awaitContent(result, "{\"id\":\"" + ownId + "\"}");
+        assertFalse(content.contains(otherId.toString()));
+    }
+
+    @DisplayName("Test: Events - Blocked Subscriber Dropped Without Stalling Others")
+    @Test
+    public void testBlockedSubscriberIsDropped() throws Exception {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getEvents().setDispatchThreads(1);
+        properties.getEvents().setSendTimeout(Duration.ofMillis(50));
+        ParkingSpotEventBroadcaster broadcaster = new ParkingSpotEventBroadcaster(properties, Clock.systemUTC(),
+                new ParkingFacilities(properties));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        broadcaster.bindTo(registry);
+        RecordingEmitter blocked = new RecordingEmitter(new CountDownLatch(1));
+        RecordingEmitter healthy = new RecordingEmitter(new CountDownLatch(0));
+        try {
+            broadcaster.subscribe(blocked, null);
+            broadcaster.publish(DEFAULT, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(UUID.randomUUID(), null));
+            assertTrue(blocked.sending.await(5, TimeUnit.SECONDS));
+
+            broadcaster.subscribe(healthy, null);
+            UUID id = UUID.randomUUID();
+            broadcaster.publish(DEFAULT, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(id, null));
+            Thread.sleep(100);
+            assertTrue(healthy.sent.isEmpty());
+
+            broadcaster.evictBlocked();
+
+            awaitSent(healthy, 1);
+            assertEquals(1, registry.get("parking_spot.events.evicted").functionCounter().count());
+            assertEquals(1, registry.get("parking_spot.events.subscribers").gauge().value());
+
+            broadcaster.publish(DEFAULT, ParkingSpotEvent.Type.DELETED, new ParkingSpotEventDto(UUID.randomUUID(), null));
+            awaitSent(healthy, 2);
+            blocked.release.countDown();
+            assertTrue(blocked.failed.await(5, TimeUnit.SECONDS));
+            assertEquals(1, blocked.sent.size());
+        } finally {
+            blocked.release.countDown();
+            broadcaster.destroy();
+        }
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        return subscribe(lastEventId, null);
+    }
+
+    private MvcResult subscribe(Long lastEventId, String facility) throws Exception {
+        var requestBuilder = get("/rest/api/v1/parking-spot/events");
+        if (facility != null)
+            requestBuilder.header("X-Facility-Id", facility);
+        if (lastEventId != null)
+            requestBuilder.header("Last-Event-ID", lastEventId);
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void awaitSent(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (emitter.sent.size() < count && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertEquals(count, emitter.sent.size());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+
+    /**
+     * Stands in for a client connection: a send blocks until {@code release} opens, as a write to a client that
+     * stops reading does.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch failed = new CountDownLatch(1);
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            sent.add(builder);
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failed.countDown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.api.parkingcontrol.facilities;
+
+import com.api.parkingcontrol.dtos.ParkingSessionRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.exceptions.ConflictType;
+import com.api.parkingcontrol.exceptions.ParkingSessionNotFoundException;
+import com.api.parkingcontrol.exceptions.ParkingSpotConflictException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.exceptions.UnknownFacilityException;
+import com.api.parkingcontrol.repositories.ParkingSessionEventRepository;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.services.ParkingSessionService;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import com.api.parkingcontrol.sessions.ParkingSessionOccupancy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two facilities on one H2 database: keys are unique per facility and no read or write crosses facilities.
+ */
+@SpringBootTest(properties = {
+        "parking-spot.facilities.ids=default,north",
+        "parking-spot.occupancy-index.enabled=true"})
+class ParkingFacilitiesTest {
+    private static final String NORTH = "north";
+
+    @Autowired
+    private ParkingFacilities parkingFacilities;
+
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private ParkingSessionService parkingSessionService;
+
+    @Autowired
+    private ParkingSessionEventRepository eventRepository;
+
+    @Autowired
+    private ParkingSessionOccupancy occupancy;
+
+    @AfterEach
+    public void tearDown() {
+        eventRepository.deleteAllInBatch();
+        occupancy.restore();
+        parkingSpotRepository.deleteAllInBatch();
+        parkingFacilities.runAs(NORTH, () -> {
+            parkingSpotRepository.deleteAllInBatch();
+            return null;
+        });
+    }
+
+    @DisplayName("Test: Facilities - Same Keys Registered In Each Facility")
+    @Test
+    public void testKeysAreUniquePerFacility() {
+        ParkingSpotResponseDto own = parkingSpotService.save(request("16A", "0000000"));
+        ParkingSpotResponseDto north = parkingFacilities.runAs(NORTH, () -> parkingSpotService.save(request("16A", "0000000")));
+
+        assertEquals(own.parkingSpotNumber(), north.parkingSpotNumber());
+        assertTrue(parkingFacilities.runAs(NORTH, () -> parkingSpotService.existsByLicensePlateCar("0000000")));
+        ParkingSpotConflictException ex = parkingFacilities.runAs(NORTH, () -> assertThrows(ParkingSpotConflictException.class,
+                () -> parkingSpotService.save(request("17A", "0000000"))));
+        assertEquals(ConflictType.LICENSE_PLATE_CAR, ex.getConflictType());
+    }
+
+    @DisplayName("Test: Facilities - Spots Of Another Facility Are Invisible")
+    @Test
+    public void testReadsAndWritesStayInFacility() {
+        parkingSpotService.save(request("16A", "0000000"));
+        parkingFacilities.runAs(NORTH, () -> parkingSpotService.save(request("20B", "2222222")));
+        UUID northId = parkingFacilities.runAs(NORTH, () -> parkingSpotRepository.findIdByLicensePlateCar("2222222")).orElseThrow();
+
+        assertThrows(ParkingSpotNotFoundException.class, () -> parkingSpotService.findById(northId));
+        assertThrows(ParkingSpotNotFoundException.class, () -> parkingSpotService.deleteById(northId));
+        assertThrows(ParkingSpotNotFoundException.class, () -> parkingSpotService.update(northId, request("21B", "3333333"), null));
+
+        Page<ParkingSpotResponseDto> page = parkingSpotService.search(new ParkingSpotSearchDto(null, null, null, null, null,
+                null, null, null), PageRequest.of(0, 10));
+        assertEquals(List.of("16A"), page.map(ParkingSpotResponseDto::parkingSpotNumber).getContent());
+        assertEquals("20B", parkingFacilities.runAs(NORTH, () -> parkingSpotService.findById(northId)).parkingSpotNumber());
+    }
+
+    @DisplayName("Test: Facilities - Sessions Of Another Facility Are Invisible")
+    @Test
+    public void testSessionsStayInFacility() {
+        parkingSpotService.save(request("16A", "0000000"));
+        parkingFacilities.runAs(NORTH, () -> parkingSpotService.save(request("20B", "2222222")));
+        UUID northId = parkingFacilities.runAs(NORTH, () -> parkingSpotRepository.findIdByLicensePlateCar("2222222")).orElseThrow();
+        ParkingSessionResponseDto own = parkingSessionService.checkIn(new ParkingSessionRequestDto("0000000", null));
+        ParkingSessionResponseDto north = parkingFacilities.runAs(NORTH,
+                () -> parkingSessionService.checkIn(new ParkingSessionRequestDto("2222222", null)));
+
+        assertEquals(List.of(own), parkingSessionService.findParked());
+        assertThrows(ParkingSessionNotFoundException.class, () -> parkingSessionService.findParked(northId));
+        assertThrows(ParkingSpotNotFoundException.class,
+                () -> parkingSessionService.checkOut(new ParkingSessionRequestDto("2222222", northId)));
+        assertThrows(ParkingSpotNotFoundException.class,
+                () -> parkingSessionService.checkIn(new ParkingSessionRequestDto("3333333", northId)));
+
+        occupancy.restore();
+
+        assertEquals(List.of(own), parkingSessionService.findParked());
+        assertEquals(List.of(north), parkingFacilities.runAs(NORTH, () -> parkingSessionService.findParked()));
+        assertNotNull(parkingFacilities.runAs(NORTH, () -> parkingSessionService.checkOut(
+                new ParkingSessionRequestDto("2222222", northId))).checkOutDate());
+    }
+
+    @DisplayName("Test: Facilities - Unknown Facility Header Rejected")
+    @Test
+    public void testUnknownFacilityRejected() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/api/v1/parking-spot");
+        request.addHeader("X-Facility-Id", "south");
+
+        UnknownFacilityException ex = assertThrows(UnknownFacilityException.class,
+                () -> parkingFacilities.preHandle(request, new MockHttpServletResponse(), null));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+    }
+
+    private static ParkingSpotRequestDto request(String parkingSpotNumber, String licensePlateCar) {
+        return ParkingSpotRequestDto.builder()
+                .parkingSpotNumber(parkingSpotNumber)
+                .licensePlateCar(licensePlateCar)
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .responsibleName("Anyone")
+                .apartment(parkingSpotNumber)
+                .block("A")
+                .build();
+    }
+}
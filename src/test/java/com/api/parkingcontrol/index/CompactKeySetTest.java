@@ -0,0 +1,86 @@
+package com.api.parkingcontrol.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactKeySetTest {
+
+    @DisplayName("Test: Pack - Short ASCII Keys Only")
+    @Test
+    public void testPack() {
+        assertEquals(0x4142L, CompactKeySet.pack("AB"));
+        assertNotEquals(0, CompactKeySet.pack("ABC1D23"));
+        assertNotEquals(CompactKeySet.pack("A"), CompactKeySet.pack("A\0"));
+        assertEquals(0, CompactKeySet.pack(""));
+        assertEquals(0, CompactKeySet.pack("123456789"));
+        assertEquals(0, CompactKeySet.pack("Ção"));
+        assertEquals(0, CompactKeySet.pack("\0A"));
+    }
+
+    @DisplayName("Test: Add, Contains and Remove")
+    @Test
+    public void testAddContainsRemove() {
+        CompactKeySet keySet = new CompactKeySet(4);
+
+        keySet.add("ABC1234");
+        keySet.add("Bloco Residencial\0Apto 1201");
+
+        assertTrue(keySet.contains("ABC1234"));
+        assertTrue(keySet.contains("Bloco Residencial\0Apto 1201"));
+        assertFalse(keySet.contains("ABC1235"));
+        assertFalse(keySet.contains(null));
+        assertEquals(2, keySet.size());
+
+        keySet.remove("ABC1234");
+        keySet.remove("Bloco Residencial\0Apto 1201");
+
+        assertFalse(keySet.contains("ABC1234"));
+        assertFalse(keySet.contains("Bloco Residencial\0Apto 1201"));
+        assertEquals(0, keySet.size());
+    }
+
+    @DisplayName("Test: Remove Before Add Converges")
+    @Test
+    public void testRemoveBeforeAddConverges() {
+        CompactKeySet keySet = new CompactKeySet(4);
+
+        keySet.remove("ABC1234");
+        assertFalse(keySet.contains("ABC1234"));
+
+        keySet.add("ABC1234");
+        assertFalse(keySet.contains("ABC1234"));
+
+        keySet.add("ABC1234");
+        assertTrue(keySet.contains("ABC1234"));
+    }
+
+    @DisplayName("Test: Matches A Reference Map Under Random Operations")
+    @Test
+    public void testMatchesReferenceMap() {
+        CompactKeySet keySet = new CompactKeySet(16);
+        Map<String, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            String key = Integer.toString(random.nextInt(5_000), 36).toUpperCase();
+            if (random.nextInt(3) == 0 && reference.getOrDefault(key, 0) > 0) {
+                keySet.remove(key);
+                reference.merge(key, -1, Integer::sum);
+            } else {
+                keySet.add(key);
+                reference.merge(key, 1, Integer::sum);
+            }
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            String key = Integer.toString(i, 36).toUpperCase();
+            assertEquals(reference.getOrDefault(key, 0) > 0, keySet.contains(key), key);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.api.parkingcontrol.index;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotIdKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Commits reported while a rebuild streams its snapshot. Outside a transaction the index applies a change at once,
+ * so the changes below land exactly where the stream hands out its rows.
+ */
+class ParkingSpotOccupancyIndexTest {
+    private static final UUID UPDATED = UUID.randomUUID();
+    private static final UUID DELETED = UUID.randomUUID();
+    private static final UUID COMMITTED_BEFORE_SNAPSHOT = UUID.randomUUID();
+    private static final UUID INSERTED = UUID.randomUUID();
+
+    private static final ParkingSpotKeysDto UPDATED_KEYS = new ParkingSpotKeysDto("16A", "0000000", "16", "A");
+    private static final ParkingSpotKeysDto DELETED_KEYS = new ParkingSpotKeysDto("17A", "1111111", "17", "A");
+    private static final ParkingSpotKeysDto COMMITTED_KEYS = new ParkingSpotKeysDto("18A", "2222222", "18", "A");
+    private static final ParkingSpotKeysDto INSERTED_KEYS = new ParkingSpotKeysDto("19A", "3333333", "19", "A");
+
+    private ParkingSpotRepository parkingSpotRepository;
+    private ParkingSpotOccupancyIndex occupancyIndex;
+
+    @BeforeEach
+    public void setUp() {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getOccupancyIndex().setEnabled(true);
+        properties.getOccupancyIndex().setExpectedSize(16);
+        parkingSpotRepository = mock(ParkingSpotRepository.class);
+        occupancyIndex = new ParkingSpotOccupancyIndex(parkingSpotRepository, mock(PlatformTransactionManager.class),
+                properties, new ParkingFacilities(properties));
+
+        when(parkingSpotRepository.findKeysByIdIn(anyCollection())).thenReturn(List.of(
+                new ParkingSpotIdKeysDto(UPDATED, UPDATED_KEYS),
+                new ParkingSpotIdKeysDto(DELETED, DELETED_KEYS),
+                new ParkingSpotIdKeysDto(COMMITTED_BEFORE_SNAPSHOT, COMMITTED_KEYS)));
+    }
+
+    @DisplayName("Test: Rebuild - Commits During The Stream Counted Once")
+    @Test
+    public void testCommitsInterleavedWithRebuild() {
+        ParkingSpotKeysDto newKeys = new ParkingSpotKeysDto("16B", "0000001", "16", "B");
+        AtomicBoolean committed = new AtomicBoolean();
+        when(parkingSpotRepository.streamAllKeys()).thenReturn(Stream.of(UPDATED_KEYS, COMMITTED_KEYS, DELETED_KEYS)
+                .peek(keys -> {
+                    if (committed.compareAndSet(false, true)) {
+                        // The row already streamed, the one the snapshot holds but reported late, the one not reached yet.
+                        occupancyIndex.replaced(UPDATED, UPDATED_KEYS, newKeys);
+                        occupancyIndex.added(COMMITTED_BEFORE_SNAPSHOT, COMMITTED_KEYS);
+                        occupancyIndex.removed(DELETED, DELETED_KEYS);
+                        occupancyIndex.added(INSERTED, INSERTED_KEYS);
+                    }
+                }));
+
+        occupancyIndex.rebuild();
+
+        assertTrue(occupancyIndex.isReady());
+        assertFalse(occupancyIndex.existsByLicensePlateCar(UPDATED_KEYS.licensePlateCar()));
+        assertTrue(occupancyIndex.existsByLicensePlateCar(newKeys.licensePlateCar()));
+        assertTrue(occupancyIndex.existsByApartmentAndBlock("16", "B"));
+        assertFalse(occupancyIndex.existsByParkingSpotNumber(DELETED_KEYS.parkingSpotNumber()));
+        assertTrue(occupancyIndex.existsByParkingSpotNumber(INSERTED_KEYS.parkingSpotNumber()));
+
+        occupancyIndex.removed(COMMITTED_BEFORE_SNAPSHOT, COMMITTED_KEYS);
+        assertFalse(occupancyIndex.existsByLicensePlateCar(COMMITTED_KEYS.licensePlateCar()));
+
+        occupancyIndex.added(DELETED, DELETED_KEYS);
+        occupancyIndex.removed(DELETED, DELETED_KEYS);
+        assertFalse(occupancyIndex.existsByParkingSpotNumber(DELETED_KEYS.parkingSpotNumber()));
+    }
+
+    @DisplayName("Test: Rebuild - Serving Sets Follow Commits Until The Swap")
+    @Test
+    public void testServingSetsFollowCommitsDuringRebuild() {
+        when(parkingSpotRepository.streamAllKeys()).thenReturn(Stream.of(UPDATED_KEYS, DELETED_KEYS));
+        occupancyIndex.rebuild();
+
+        when(parkingSpotRepository.streamAllKeys()).thenReturn(Stream.of(UPDATED_KEYS, DELETED_KEYS)
+                .peek(keys -> {
+                    if (keys == UPDATED_KEYS) {
+                        occupancyIndex.removed(DELETED, DELETED_KEYS);
+                        assertFalse(occupancyIndex.existsByLicensePlateCar(DELETED_KEYS.licensePlateCar()));
+                    }
+                }));
+        occupancyIndex.rebuild();
+
+        assertTrue(occupancyIndex.existsByLicensePlateCar(UPDATED_KEYS.licensePlateCar()));
+        assertFalse(occupancyIndex.existsByLicensePlateCar(DELETED_KEYS.licensePlateCar()));
+    }
+}
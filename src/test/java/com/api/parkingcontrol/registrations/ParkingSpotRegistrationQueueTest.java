@@ -0,0 +1,189 @@
+package com.api.parkingcontrol.registrations;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.exceptions.ConflictType;
+import com.api.parkingcontrol.exceptions.ParkingSpotConflictException;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single registrations through the write-behind queue on H2: shared batches, one answer per caller.
+ */
+@SpringBootTest(properties = {
+        "parking-spot.write-behind.enabled=true",
+        "parking-spot.write-behind.linger=PT0.05S"})
+class ParkingSpotRegistrationQueueTest {
+
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void tearDown() {
+        parkingSpotRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("Test: Write-Behind - Saved Once Committed")
+    @Test
+    public void testSaveReturnsCommittedSpot() {
+        ParkingSpotResponseDto saved = parkingSpotService.save(request(1, 1));
+
+        assertEquals("S1", saved.parkingSpotNumber());
+        assertNotNull(saved.registrationDate());
+        assertEquals(1, parkingSpotRepository.count());
+
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class,
+                () -> parkingSpotService.save(request(2, 1)));
+        assertEquals(ConflictType.LICENSE_PLATE_CAR, ex.getConflictType());
+    }
+
+    @DisplayName("Test: Write-Behind - Concurrent Registrations Share Batches")
+    @Test
+    public void testConcurrentRegistrations() throws Exception {
+        double batchesBefore = batches();
+        int spots = 40;
+        int duplicates = 10;
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<ParkingSpotResponseDto>> futures = new ArrayList<>();
+        try {
+            for (int n = 0; n < spots; n++) {
+                ParkingSpotRequestDto request = request(100 + n, 100 + n);
+                futures.add(executor.submit(() -> parkingSpotService.save(request)));
+            }
+            for (int n = 0; n < duplicates; n++) {
+                ParkingSpotRequestDto request = request(200 + n, 100 + n);
+                futures.add(executor.submit(() -> parkingSpotService.save(request)));
+            }
+
+            int created = 0;
+            int conflicts = 0;
+            for (Future<ParkingSpotResponseDto> future : futures) {
+                try {
+                    future.get();
+                    created++;
+                } catch (ExecutionException ex) {
+                    ParkingSpotConflictException conflict = assertInstanceOf(ParkingSpotConflictException.class, ex.getCause());
+                    assertEquals(ConflictType.LICENSE_PLATE_CAR, conflict.getConflictType());
+                    conflicts++;
+                }
+            }
+
+            assertEquals(spots, created);
+            assertEquals(duplicates, conflicts);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(spots, parkingSpotRepository.count());
+        assertTrue(batches() - batchesBefore < spots + duplicates, "registrations share batches");
+    }
+
+    @DisplayName("Test: Write-Behind - Registration Not Picked Up In Time Is Withdrawn")
+    @Test
+    public void testQueuedRegistrationTimesOut() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<ParkingSpotRequestDto> written = new CopyOnWriteArrayList<>();
+        ParkingSpotRegistrationQueue registrationQueue = standaloneQueue();
+        registrationQueue.start(batch -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            for (ParkingSpotRegistrationQueue.Registration registration : batch) {
+                written.add(registration.request());
+                registration.saved(new ParkingSpotResponseDto("S1", "ABC0001", "Hyundai", "Veloster", "Black",
+                        Instant.now(), "Anyone", "1", "W", 0L));
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ParkingSpotResponseDto> first = executor.submit(() -> registrationQueue.register(request(1, 1)));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            assertThrows(RequestThrottledException.class, () -> registrationQueue.register(request(2, 2)));
+            release.countDown();
+
+            assertEquals("S1", first.get(5, TimeUnit.SECONDS).parkingSpotNumber());
+            assertEquals(List.of(request(1, 1)), written);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            registrationQueue.stop();
+        }
+    }
+
+    @DisplayName("Test: Write-Behind - Writer Stopped By An Error Fails Its Callers")
+    @Test
+    public void testWriterErrorFailsQueuedRegistrations() throws Exception {
+        ParkingSpotRegistrationQueue registrationQueue = standaloneQueue();
+        registrationQueue.start(batch -> {
+            throw new StackOverflowError();
+        });
+        try {
+            long start = System.nanoTime();
+            IllegalStateException ex = assertThrows(IllegalStateException.class, () -> registrationQueue.register(request(1, 1)));
+            assertEquals("Parking spot registration queue is closed.", ex.getMessage());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+            assertThrows(IllegalStateException.class, () -> registrationQueue.register(request(2, 2)));
+        } finally {
+            registrationQueue.stop();
+        }
+    }
+
+    private static ParkingSpotRegistrationQueue standaloneQueue() {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getWriteBehind().setWriteTimeout(Duration.ofSeconds(1));
+        return new ParkingSpotRegistrationQueue(properties, new ParkingFacilities(properties));
+    }
+
+    private double batches() {
+        return meterRegistry.get("parking_spot.registrations.batches").functionCounter().count();
+    }
+
+    private static ParkingSpotRequestDto request(int n, int plate) {
+        return ParkingSpotRequestDto.builder()
+                .parkingSpotNumber("S" + n)
+                .licensePlateCar(String.format("ABC%04d", plate))
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .responsibleName("Anyone")
+                .apartment(Integer.toString(n))
+                .block("W")
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.PostgreSqlTestDatabase;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The plan PostgreSQL picks for a keyset slice deep into a facility: the index range has to start at the cursor, so
+ * the rows before it are never read. The SQL is the one Hibernate generated for {@code findSliceAfter}, explained
+ * with the cursor values in place of its parameters.
+ */
+@EnabledIf("com.api.parkingcontrol.PostgreSqlTestDatabase#isAvailable")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.api.parkingcontrol.repositories.ParkingSpotKeysetPostgreSqlTest$RecordingStatementInspector")
+class ParkingSpotKeysetPostgreSqlTest {
+    private static final int ROWS = 20_000;
+    private static final int SIZE = 10;
+    private static final Pattern PARAMETER = Pattern.compile("(facility|registration_date|id|offset|first)\\s*(>=|>|=)?\\s*\\?");
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgreSql(DynamicPropertyRegistry registry) {
+        PostgreSqlTestDatabase.register(registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_parking_spot");
+    }
+
+    @DisplayName("Test: PostgreSQL - Deep Keyset Slice Starts The Index Range At The Cursor")
+    @Test
+    public void testDeepSliceSeeksToCursor() throws Exception {
+        jdbcTemplate.update("INSERT INTO tb_parking_spot (id, facility, parking_spot_number, license_plate_car, brand_car, "
+                + "model_car, color_car, registration_date, responsible_name, apartment, block) "
+                + "SELECT gen_random_uuid(), 'default', 'S' || n, lpad(n::TEXT, 7, '0'), 'Hyundai', 'Veloster', 'Black', "
+                + "TIMESTAMPTZ '2023-05-01 00:00:00+00' + make_interval(secs => n / 2), 'Anyone', n::TEXT, 'A' "
+                + "FROM generate_series(1, ?) AS n", ROWS);
+        jdbcTemplate.execute("ANALYZE tb_parking_spot");
+        Map<String, Object> cursor = jdbcTemplate.queryForMap("SELECT registration_date, id FROM tb_parking_spot "
+                + "ORDER BY registration_date, id OFFSET ? LIMIT 1", ROWS - 2_000);
+
+        RecordingStatementInspector.statements.clear();
+        Slice<ParkingSpotModel> slice = parkingSpotRepository.findSliceAfter(
+                ((Timestamp) cursor.get("registration_date")).toInstant(), (UUID) cursor.get("id"),
+                PageRequest.ofSize(SIZE));
+        assertEquals(SIZE, slice.getNumberOfElements());
+
+        String sql = RecordingStatementInspector.statements.stream()
+                .filter(statement -> statement.contains("registration_date>="))
+                .findFirst().orElseThrow();
+        JsonNode plan = new ObjectMapper().readTree(jdbcTemplate.queryForObject(
+                "EXPLAIN (ANALYZE, FORMAT JSON) " + bind(sql, cursor), String.class)).get(0).get("Plan");
+
+        List<JsonNode> scans = new ArrayList<>();
+        collectScans(plan, scans);
+        assertEquals(1, scans.size(), plan.toPrettyString());
+        JsonNode scan = scans.get(0);
+        assertEquals("Index Scan", scan.get("Node Type").asText(), plan.toPrettyString());
+        assertTrue(scan.path("Index Cond").asText().contains("registration_date >="), plan.toPrettyString());
+        assertTrue(scan.path("Rows Removed by Filter").asInt() <= SIZE, plan.toPrettyString());
+    }
+
+    /**
+     * Puts the facility, the cursor and the slice bounds in place of the JDBC parameters, by the column or clause
+     * each one belongs to.
+     */
+    private static String bind(String sql, Map<String, Object> cursor) {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder bound = new StringBuilder();
+        while (matcher.find()) {
+            String value = switch (matcher.group(1)) {
+                case "facility" -> "'default'";
+                case "registration_date" -> "'" + ((Timestamp) cursor.get("registration_date")).toInstant() + "'::TIMESTAMPTZ";
+                case "id" -> "'" + cursor.get("id") + "'::UUID";
+                case "offset" -> "0";
+                default -> Integer.toString(SIZE + 1);
+            };
+            String operator = matcher.group(2) == null ? " " : matcher.group(2);
+            matcher.appendReplacement(bound, Matcher.quoteReplacement(matcher.group(1) + operator + value));
+        }
+        matcher.appendTail(bound);
+        assertFalse(bound.toString().contains("?"), bound.toString());
+        return bound.toString();
+    }
+
+    private static void collectScans(JsonNode node, List<JsonNode> scans) {
+        if (node.get("Node Type").asText().contains("Scan"))
+            scans.add(node);
+        for (JsonNode child : node.path("Plans"))
+            collectScans(child, scans);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
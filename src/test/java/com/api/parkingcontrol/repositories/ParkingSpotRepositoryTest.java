@@ -0,0 +1,219 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ParkingFacilities.class)
+@EnableConfigurationProperties(ParkingSpotProperties.class)
+class ParkingSpotRepositoryTest {
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        parkingSpotRepository.saveAndFlush(parkingSpot("16A", "0000000", "16", "A"));
+    }
+
+    @DisplayName("Test: Find Conflicting Keys (No Conflict)")
+    @Test
+    public void testFindConflictingKeysWithoutConflict() {
+        List<ParkingSpotKeysDto> conflicts = parkingSpotRepository.findConflictingKeys("17A", "1111111", "17", "A");
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @DisplayName("Test: Find Conflicting Keys (Apartment and Block)")
+    @Test
+    public void testFindConflictingKeysByApartmentAndBlock() {
+        List<ParkingSpotKeysDto> conflicts = parkingSpotRepository.findConflictingKeys("17A", "1111111", "16", "A");
+
+        assertEquals(List.of(new ParkingSpotKeysDto("16A", "0000000", "16", "A")), conflicts);
+    }
+
+    @DisplayName("Test: Find Conflicting Keys (Several Spots)")
+    @Test
+    public void testFindConflictingKeysAcrossSeveralSpots() {
+        parkingSpotRepository.saveAndFlush(parkingSpot("17A", "1111111", "17", "A"));
+
+        List<ParkingSpotKeysDto> conflicts = parkingSpotRepository.findConflictingKeys("16A", "1111111", "18", "A");
+
+        assertEquals(2, conflicts.size());
+    }
+
+    @DisplayName("Test: Unique Constraint On License Plate Car")
+    @Test
+    public void testUniqueConstraintOnLicensePlateCar() {
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> parkingSpotRepository.saveAndFlush(parkingSpot("17A", "0000000", "17", "A")));
+
+        assertTrue(ex.getMessage().toUpperCase().contains(ParkingSpotModel.UK_LICENSE_PLATE_CAR));
+    }
+
+    @DisplayName("Test: Keyset Slices Walk Every Row Once")
+    @Test
+    public void testKeysetSlicesWalkEveryRowOnce() {
+        Instant registrationDate = Instant.parse("2023-05-01T12:00:00Z");
+        for (int i = 0; i < 4; i++) {
+            ParkingSpotModel model = parkingSpot("2" + i, "111111" + i, "2" + i, "B");
+            model.setRegistrationDate(registrationDate.plusSeconds(60L * (i / 2)));
+            parkingSpotRepository.saveAndFlush(model);
+        }
+
+        Pageable pageable = PageRequest.ofSize(2);
+        Slice<ParkingSpotModel> slice = parkingSpotRepository.findFirstSlice(pageable);
+        List<UUID> visited = new ArrayList<>(slice.map(ParkingSpotModel::getId).getContent());
+
+        while (slice.hasNext()) {
+            ParkingSpotModel last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            slice = parkingSpotRepository.findSliceAfter(last.getRegistrationDate(), last.getId(), pageable);
+            visited.addAll(slice.map(ParkingSpotModel::getId).getContent());
+        }
+
+        assertEquals(5, visited.size());
+        assertEquals(5, new HashSet<>(visited).size());
+    }
+
+    @DisplayName("Test: Find Responses As Projections")
+    @Test
+    public void testFindResponsesAsProjections() {
+        ParkingSpotModel saved = parkingSpotRepository.saveAndFlush(parkingSpot("17A", "1111111", "17", "A"));
+        entityManager.clear();
+
+        Page<ParkingSpotResponseDto> page = parkingSpotRepository.findAllResponses(PageRequest.of(0, 1, Sort.by("parkingSpotNumber")));
+        Optional<ParkingSpotResponseDto> response = parkingSpotRepository.findResponseById(saved.getId());
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals("16A", page.getContent().get(0).parkingSpotNumber());
+        assertEquals("1111111", response.orElseThrow().licensePlateCar());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        assertTrue(parkingSpotRepository.findResponseById(UUID.randomUUID()).isEmpty());
+    }
+
+    @DisplayName("Test: Update And Delete In One Statement")
+    @Test
+    public void testUpdateAndDeleteInOneStatement() {
+        Instant registrationDate = Instant.parse("2023-05-01T12:00:00Z");
+        ParkingSpotModel model = parkingSpot("17A", "1111111", "17", "A");
+        model.setRegistrationDate(registrationDate);
+        ParkingSpotModel saved = parkingSpotRepository.saveAndFlush(model);
+        entityManager.clear();
+
+        int updated = parkingSpotRepository.updateSpotById(saved.getId(), "18A", "2222222", "Fiat", "Uno", "Red",
+                "Someone", "18", "A");
+
+        assertEquals(1, updated);
+        ParkingSpotResponseDto response = parkingSpotRepository.findResponseById(saved.getId()).orElseThrow();
+        assertEquals("2222222", response.licensePlateCar());
+        assertEquals(registrationDate, response.registrationDate());
+        assertEquals(saved.getVersion() + 1, response.version());
+
+        assertEquals(0, parkingSpotRepository.updateSpotByIdAndVersion(saved.getId(), saved.getVersion(), "18A",
+                "2222222", "Fiat", "Uno", "Red", "Someone", "18", "A"));
+        assertEquals(1, parkingSpotRepository.updateSpotByIdAndVersion(saved.getId(), response.version(), "18A",
+                "2222222", "Fiat", "Uno", "Red", "Someone", "18", "A"));
+
+        assertEquals(1, parkingSpotRepository.deleteSpotById(saved.getId()));
+        assertEquals(0, parkingSpotRepository.deleteSpotById(saved.getId()));
+        assertEquals(0, parkingSpotRepository.updateSpotById(saved.getId(), "18A", "2222222", "Fiat", "Uno", "Red",
+                "Someone", "18", "A"));
+    }
+
+    @DisplayName("Test: Search Responses By Specification")
+    @Test
+    public void testSearchResponsesBySpecification() {
+        Instant registrationDate = Instant.parse("2023-05-01T12:00:00Z");
+        String[][] spots = {
+                {"20", "ABC1234", "20", "B", "Fiat", "Uno", "Red"},
+                {"21", "ABD1234", "21", "B", "Hyundai", "HB20", "red"},
+                {"22", "AB_1234", "22", "C", "Hyundai", "Creta", "Blue"},
+        };
+        for (int i = 0; i < spots.length; i++) {
+            String[] spot = spots[i];
+            ParkingSpotModel model = parkingSpot(spot[0], spot[1], spot[2], spot[3]);
+            model.setBrandCar(spot[4]);
+            model.setModelCar(spot[5]);
+            model.setColorCar(spot[6]);
+            model.setRegistrationDate(registrationDate.plusSeconds(60L * i));
+            parkingSpotRepository.saveAndFlush(model);
+        }
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("registrationDate"));
+
+        assertEquals(List.of("21", "22", "16A"), numbers(search(new ParkingSpotSearchDto(null, null, "yUNd", null, null, null, null, null), pageable)));
+        assertEquals(List.of("21"), numbers(search(new ParkingSpotSearchDto("B", null, "hyundai", null, null, null, null, null), pageable)));
+        assertEquals(List.of("20", "21"), numbers(search(new ParkingSpotSearchDto(null, null, null, null, "RED", null, null, null), pageable)));
+        assertEquals(List.of("22"), numbers(search(new ParkingSpotSearchDto(null, null, null, null, null, "AB_", null, null), pageable)));
+        assertEquals(List.of("20", "21"), numbers(search(new ParkingSpotSearchDto(null, null, null, null, null, "", registrationDate, registrationDate.plusSeconds(120)), pageable)));
+
+        Page<ParkingSpotResponseDto> firstPage = search(new ParkingSpotSearchDto(null, null, null, "E", null, null, null, null), PageRequest.of(0, 1, Sort.by("parkingSpotNumber")));
+        assertEquals(List.of("16A"), numbers(firstPage));
+        assertEquals(2, firstPage.getTotalElements());
+    }
+
+    @DisplayName("Test: Stream All In Registration Order")
+    @Test
+    public void testStreamAllInRegistrationOrder() {
+        ParkingSpotModel earlier = parkingSpot("17A", "1111111", "17", "A");
+        earlier.setRegistrationDate(Instant.parse("2023-05-01T12:00:00Z"));
+        parkingSpotRepository.saveAndFlush(earlier);
+
+        try (Stream<ParkingSpotModel> parkingSpots = parkingSpotRepository.streamAll()) {
+            assertEquals(List.of("17A", "16A"), parkingSpots.map(ParkingSpotModel::getParkingSpotNumber).toList());
+        }
+    }
+
+    private Page<ParkingSpotResponseDto> search(ParkingSpotSearchDto search, Pageable pageable) {
+        return parkingSpotRepository.searchResponses(ParkingSpotSpecifications.matching(search), pageable);
+    }
+
+    private static List<String> numbers(Page<ParkingSpotResponseDto> page) {
+        return page.map(ParkingSpotResponseDto::parkingSpotNumber).getContent();
+    }
+
+    private static ParkingSpotModel parkingSpot(String number, String plate, String apartment, String block) {
+        return ParkingSpotModel.builder()
+                .parkingSpotNumber(number)
+                .licensePlateCar(plate)
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .registrationDate(Instant.now())
+                .responsibleName("Anyone")
+                .apartment(apartment)
+                .block(block)
+                .build();
+    }
+}
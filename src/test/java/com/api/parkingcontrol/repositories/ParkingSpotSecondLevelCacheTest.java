@@ -0,0 +1,122 @@
+package com.api.parkingcontrol.repositories;
+
+import com.api.parkingcontrol.config.HibernateCacheConfig;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.services.ParkingSpotService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "parking-spot.facilities.ids=default,north",
+        "parking-spot.second-level-cache.entity-cache=true",
+        "parking-spot.second-level-cache.query-cache=true",
+        "parking-spot.second-level-cache.time-to-live=10m"})
+class ParkingSpotSecondLevelCacheTest {
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+
+    @Autowired
+    private ParkingFacilities parkingFacilities;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        parkingSpotRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("Test: Find By ID - Served From Entity Region Until A Bulk Update")
+    @Test
+    public void testFindByIdServedFromEntityRegion() {
+        UUID id = parkingSpotRepository.save(parkingSpot("16A", "0000000")).getId();
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.PARKING_SPOT_REGION);
+
+        assertEquals("16A", parkingSpotRepository.findById(id).orElseThrow().getParkingSpotNumber());
+        assertEquals(1, region.getHitCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        parkingSpotService.update(id, ParkingSpotRequestDto.builder()
+                .parkingSpotNumber("17A")
+                .licensePlateCar("0000000")
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .responsibleName("Anyone")
+                .apartment("16")
+                .block("A")
+                .build(), null);
+
+        assertEquals("17A", parkingSpotRepository.findById(id).orElseThrow().getParkingSpotNumber());
+        assertEquals(1, region.getMissCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.PARKING_SPOT_REGION).tag("result", "hit").functionCounter().count() >= 1);
+    }
+
+    @DisplayName("Test: Find By ID - Cached Spot Invisible To Another Facility")
+    @Test
+    public void testEntityRegionIsScopedToFacility() {
+        UUID id = parkingSpotRepository.save(parkingSpot("16A", "0000000")).getId();
+
+        assertTrue(parkingSpotRepository.findById(id).isPresent());
+        assertTrue(parkingFacilities.runAs("north", () -> parkingSpotRepository.findById(id)).isEmpty());
+    }
+
+    @DisplayName("Test: Exists - Answered From Query Cache Until The Table Is Written")
+    @Test
+    public void testExistsServedFromQueryCache() {
+        assertFalse(parkingSpotRepository.existsByLicensePlateCar("0000000"));
+        assertFalse(parkingSpotRepository.existsByLicensePlateCar("0000000"));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        parkingSpotRepository.save(parkingSpot("16A", "0000000"));
+
+        assertTrue(parkingSpotRepository.existsByLicensePlateCar("0000000"));
+        assertFalse(parkingFacilities.runAs("north", () -> parkingSpotRepository.existsByLicensePlateCar("0000000")));
+    }
+
+    private static ParkingSpotModel parkingSpot(String parkingSpotNumber, String licensePlateCar) {
+        return ParkingSpotModel.builder()
+                .parkingSpotNumber(parkingSpotNumber)
+                .licensePlateCar(licensePlateCar)
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .registrationDate(Instant.now())
+                .responsibleName("Anyone")
+                .apartment("16")
+                .block("A")
+                .build();
+    }
+}
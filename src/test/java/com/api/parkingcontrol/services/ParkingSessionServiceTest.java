@@ -0,0 +1,148 @@
+package com.api.parkingcontrol.services;
+
+import com.api.parkingcontrol.dtos.ParkingSessionRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSessionResponseDto;
+import com.api.parkingcontrol.exceptions.ParkingSessionNotFoundException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.exceptions.ParkingSpotOccupiedException;
+import com.api.parkingcontrol.models.ParkingSessionEventModel;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.repositories.ParkingSessionEventRepository;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import com.api.parkingcontrol.sessions.ParkingSessionOccupancy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sessions end to end on H2: the occupancy map, the batched log writer and the restore from the log.
+ */
+@SpringBootTest
+class ParkingSessionServiceTest {
+
+    @Autowired
+    private ParkingSessionService parkingSessionService;
+
+    @Autowired
+    private ParkingSessionOccupancy occupancy;
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private ParkingSessionEventRepository eventRepository;
+
+    @AfterEach
+    public void tearDown() {
+        eventRepository.deleteAllInBatch();
+        parkingSpotRepository.deleteAllInBatch();
+        occupancy.restore();
+    }
+
+    @DisplayName("Test: Check In By License Plate")
+    @Test
+    public void testCheckInResolvesLicensePlate() {
+        UUID parkingSpotId = registerSpot(1);
+
+        ParkingSessionResponseDto session = parkingSessionService.checkIn(new ParkingSessionRequestDto(plate(1), null));
+
+        assertEquals(parkingSpotId, session.parkingSpotId());
+        assertNull(session.checkOutDate());
+        assertEquals(session, parkingSessionService.findParked(parkingSpotId));
+        assertThrows(ParkingSpotOccupiedException.class,
+                () -> parkingSessionService.checkIn(new ParkingSessionRequestDto("XYZ9876", parkingSpotId)));
+
+        occupancy.restore();
+
+        assertEquals(List.of(session), parkingSessionService.findParked());
+    }
+
+    @DisplayName("Test: Check Out Appends To The Log")
+    @Test
+    public void testCheckOutAppendsEvent() {
+        UUID parkingSpotId = registerSpot(2);
+        ParkingSessionResponseDto session = parkingSessionService.checkIn(new ParkingSessionRequestDto(plate(2), null));
+
+        assertThrows(ParkingSessionNotFoundException.class,
+                () -> parkingSessionService.checkOut(new ParkingSessionRequestDto("XYZ9876", parkingSpotId)));
+        ParkingSessionResponseDto checkedOut = parkingSessionService.checkOut(new ParkingSessionRequestDto(plate(2), null));
+
+        assertEquals(session.id(), checkedOut.id());
+        assertNotNull(checkedOut.checkOutDate());
+        assertTrue(parkingSessionService.findParked().isEmpty());
+        assertThrows(ParkingSessionNotFoundException.class,
+                () -> parkingSessionService.checkOut(new ParkingSessionRequestDto(plate(2), null)));
+
+        List<ParkingSessionEventModel> events = eventRepository.findAll();
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getSessionId().equals(session.id())));
+
+        occupancy.restore();
+
+        assertTrue(parkingSessionService.findParked().isEmpty());
+    }
+
+    @DisplayName("Test: Check In With Unknown License Plate")
+    @Test
+    public void testCheckInWithUnknownLicensePlate() {
+        assertThrows(ParkingSpotNotFoundException.class,
+                () -> parkingSessionService.checkIn(new ParkingSessionRequestDto("XYZ9876", null)));
+        assertThrows(ParkingSpotNotFoundException.class,
+                () -> parkingSessionService.checkIn(new ParkingSessionRequestDto("XYZ9876", UUID.randomUUID())));
+        assertEquals(0, eventRepository.count());
+    }
+
+    @DisplayName("Test: Concurrent Check Ins Are All Written")
+    @Test
+    public void testConcurrentCheckIns() throws Exception {
+        int spots = 40;
+        for (int n = 0; n < spots; n++)
+            registerSpot(100 + n);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ParkingSessionResponseDto>> futures = new ArrayList<>();
+            for (int n = 0; n < spots; n++) {
+                String licensePlateCar = plate(100 + n);
+                futures.add(executor.submit(() -> parkingSessionService.checkIn(new ParkingSessionRequestDto(licensePlateCar, null))));
+            }
+            for (Future<ParkingSessionResponseDto> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(spots, eventRepository.count());
+        assertEquals(spots, parkingSessionService.findParked().size());
+    }
+
+    private UUID registerSpot(int n) {
+        return parkingSpotRepository.saveAndFlush(ParkingSpotModel.builder()
+                .parkingSpotNumber("S" + n)
+                .licensePlateCar(plate(n))
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .registrationDate(Instant.now())
+                .responsibleName("Anyone")
+                .apartment(Integer.toString(n))
+                .block("A")
+                .build()).getId();
+    }
+
+    private static String plate(int n) {
+        return String.format("ABC%04d", n);
+    }
+}
@@ -0,0 +1,114 @@
+package com.api.parkingcontrol.services;
+
+import com.api.parkingcontrol.config.CacheConfig;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.mapper.ModelMapper;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class ParkingSpotCacheTest {
+
+    @MockBean
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ParkingSpotModel parkingSpotModel;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.PARKING_SPOTS).clear();
+
+        parkingSpotModel = ParkingSpotModel.builder()
+                .id(UUID.randomUUID())
+                .parkingSpotNumber("16A")
+                .licensePlateCar("0000000")
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .registrationDate(Instant.now())
+                .responsibleName("Anyone")
+                .apartment("16")
+                .block("A")
+                .colorCar("Black")
+                .build();
+
+        when(parkingSpotRepository.findById(parkingSpotModel.getId()))
+                .thenReturn(Optional.of(parkingSpotModel));
+        when(parkingSpotRepository.findResponseById(parkingSpotModel.getId()))
+                .thenReturn(Optional.of(modelMapper.toResponseDto(parkingSpotModel)));
+    }
+
+    @DisplayName("Test: Find By ID - Repeated Lookups Served From Cache")
+    @Test
+    public void testFindByIdIsCached() {
+        UUID id = parkingSpotModel.getId();
+
+        ParkingSpotResponseDto first = parkingSpotService.findById(id);
+        ParkingSpotResponseDto second = parkingSpotService.findById(id);
+
+        assertEquals(first, second);
+        verify(parkingSpotRepository, times(1)).findResponseById(id);
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", CacheConfig.PARKING_SPOTS).tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    @DisplayName("Test: Update - Evicts Cached Parking Spot")
+    @Test
+    public void testUpdateEvictsCachedParkingSpot() {
+        UUID id = parkingSpotModel.getId();
+        when(parkingSpotRepository.updateSpotById(eq(id), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(1);
+
+        parkingSpotService.findById(id);
+        assertNotNull(cacheManager.getCache(CacheConfig.PARKING_SPOTS).get(List.of("default", id)));
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+        parkingSpotService.update(id, requestDto, null);
+
+        assertNull(cacheManager.getCache(CacheConfig.PARKING_SPOTS).get(List.of("default", id)));
+    }
+
+    @DisplayName("Test: Delete - Evicts Cached Parking Spot")
+    @Test
+    public void testDeleteEvictsCachedParkingSpot() {
+        UUID id = parkingSpotModel.getId();
+        when(parkingSpotRepository.deleteSpotById(id))
+                .thenReturn(1);
+
+        parkingSpotService.findById(id);
+        parkingSpotService.deleteById(id);
+        parkingSpotService.findById(id);
+
+        verify(parkingSpotRepository, times(2)).findResponseById(id);
+    }
+}
@@ -0,0 +1,130 @@
+package com.api.parkingcontrol.services;
+
+import com.api.parkingcontrol.PostgreSqlTestDatabase;
+import com.api.parkingcontrol.dtos.ParkingSpotBulkItemResultDto;
+import com.api.parkingcontrol.dtos.ParkingSpotBulkResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import com.api.parkingcontrol.exceptions.ConflictType;
+import com.api.parkingcontrol.exceptions.ParkingSpotConflictException;
+import com.api.parkingcontrol.facilities.ParkingFacilities;
+import com.api.parkingcontrol.models.ParkingSpotModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unique violations on the partitioned PostgreSQL table, raised by rows another writer committed after the
+ * pre-check. The occupancy index is on and never sees those rows, so every registration goes straight to the INSERT,
+ * as in a race.
+ */
+@EnabledIf("com.api.parkingcontrol.PostgreSqlTestDatabase#isAvailable")
+@SpringBootTest(properties = {
+        "parking-spot.facilities.ids=default,north",
+        "parking-spot.occupancy-index.enabled=true",
+        "parking-spot.write-behind.enabled=true"})
+class ParkingSpotConflictPostgreSqlTest {
+    private static final String NORTH = "north";
+
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+
+    @Autowired
+    private ParkingFacilities parkingFacilities;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgreSql(DynamicPropertyRegistry registry) {
+        PostgreSqlTestDatabase.register(registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_parking_spot");
+    }
+
+    @DisplayName("Test: PostgreSQL - Constraints Of Every Partition Named After The Parent")
+    @Test
+    public void testPartitionConstraintNames() {
+        List<String> names = jdbcTemplate.queryForList("SELECT conname FROM pg_constraint WHERE conrelid = "
+                + "'tb_parking_spot_north'::regclass AND contype = 'u' ORDER BY conname", String.class);
+
+        assertEquals(List.of(
+                ParkingSpotModel.UK_APARTMENT_BLOCK.toLowerCase() + "_north",
+                ParkingSpotModel.UK_LICENSE_PLATE_CAR.toLowerCase() + "_north",
+                ParkingSpotModel.UK_PARKING_SPOT_NUMBER.toLowerCase() + "_north"), names);
+    }
+
+    @DisplayName("Test: PostgreSQL - Racing Registration Answered With Conflict")
+    @Test
+    public void testRacingRegistration() {
+        insertCommittedElsewhere("default", "16A", "0000000", "16", "A");
+
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class,
+                () -> parkingSpotService.save(request("17A", "0000000", "17", "A")));
+        assertEquals(ConflictType.LICENSE_PLATE_CAR, ex.getConflictType());
+    }
+
+    @DisplayName("Test: PostgreSQL - Update Collision Answered With Conflict")
+    @Test
+    public void testUpdateCollision() {
+        insertCommittedElsewhere(NORTH, "16A", "0000000", "16", "A");
+        UUID id = insertCommittedElsewhere(NORTH, "17A", "1111111", "17", "A");
+
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class,
+                () -> parkingFacilities.runAs(NORTH, () -> parkingSpotService.update(id, request("16A", "1111111", "17", "A"), null)));
+        assertEquals(ConflictType.PARKING_SPOT_NUMBER, ex.getConflictType());
+    }
+
+    @DisplayName("Test: PostgreSQL - Racing Bulk Entry Reported As Conflict")
+    @Test
+    public void testRacingBulkEntry() {
+        insertCommittedElsewhere("default", "16A", "0000000", "16", "A");
+
+        ParkingSpotBulkResponseDto response = parkingSpotService.saveAll(List.of(
+                request("17A", "1111111", "17", "A"),
+                request("18A", "2222222", "16", "A")));
+
+        assertEquals(1, response.created());
+        ParkingSpotBulkItemResultDto rejected = response.items().get(1);
+        assertEquals(ParkingSpotBulkItemResultDto.Status.CONFLICT, rejected.status());
+        assertEquals("Apartment 16 and A block already exists.", rejected.error());
+    }
+
+    private UUID insertCommittedElsewhere(String facility, String parkingSpotNumber, String licensePlateCar,
+                                          String apartment, String block) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tb_parking_spot (id, facility, parking_spot_number, license_plate_car, brand_car, "
+                        + "model_car, color_car, registration_date, responsible_name, apartment, block) "
+                        + "VALUES (?, ?, ?, ?, 'Hyundai', 'Veloster', 'Black', ?, 'Anyone', ?, ?)",
+                id, facility, parkingSpotNumber, licensePlateCar, Timestamp.from(Instant.now()), apartment, block);
+        return id;
+    }
+
+    private static ParkingSpotRequestDto request(String parkingSpotNumber, String licensePlateCar, String apartment, String block) {
+        return ParkingSpotRequestDto.builder()
+                .parkingSpotNumber(parkingSpotNumber)
+                .licensePlateCar(licensePlateCar)
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .responsibleName("Anyone")
+                .apartment(apartment)
+                .block(block)
+                .build();
+    }
+}
@@ -1,10 +1,26 @@
 package com.api.parkingcontrol.services;
 
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.dtos.ParkingSpotBulkItemResultDto;
+import com.api.parkingcontrol.dtos.ParkingSpotBulkResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotKeysDto;
 import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
 import com.api.parkingcontrol.dtos.ParkingSpotResponseDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSearchDto;
+import com.api.parkingcontrol.dtos.ParkingSpotSliceResponseDto;
+import com.api.parkingcontrol.events.ParkingSpotEventBroadcaster;
+import com.api.parkingcontrol.exceptions.ConflictType;
+import com.api.parkingcontrol.exceptions.ParkingSpotConflictException;
+import com.api.parkingcontrol.exceptions.ParkingSpotModifiedException;
+import com.api.parkingcontrol.exceptions.ParkingSpotNotFoundException;
+import com.api.parkingcontrol.index.ParkingSpotOccupancyIndex;
 import com.api.parkingcontrol.mapper.ModelMapper;
 import com.api.parkingcontrol.models.ParkingSpotModel;
 import com.api.parkingcontrol.repositories.ParkingSpotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,16 +30,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,15 +55,38 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ParkingSpotServiceTest {
 
+    private static final Instant NOW = Instant.parse("2023-05-01T12:00:00.123456Z");
+
     @Mock
     private ParkingSpotRepository parkingSpotRepository;
 
     @InjectMocks
     private ParkingSpotServiceImpl parkingSpotService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ParkingSpotOccupancyIndex occupancyIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ParkingSpotEventBroadcaster eventBroadcaster;
+
     @Spy
     private ModelMapper modelMapper = Mappers.getMapper(ModelMapper.class);
 
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ParkingSpotProperties properties = new ParkingSpotProperties();
+
+    @Spy
+    private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
     private ParkingSpotModel parkingSpotModel;
 
     @BeforeEach
@@ -50,7 +97,7 @@ class ParkingSpotServiceTest {
                 .licensePlateCar("0000000")
                 .brandCar("Hyundai")
                 .modelCar("Veloster")
-                .registrationDate(LocalDateTime.now())
+                .registrationDate(Instant.parse("2023-05-01T11:00:00Z"))
                 .responsibleName("Anyone")
                 .apartment("16")
                 .block("A")
@@ -74,10 +121,8 @@ class ParkingSpotServiceTest {
                 .map(modelMapper::toResponseDto)
                 .toList();
 
-        Page<ParkingSpotModel> page = new PageImpl<>(parkingSpotModelList, pageable, parkingSpotModelList.size());
-
-        when(parkingSpotRepository.findAll(pageable))
-                .thenReturn(page);
+        when(parkingSpotRepository.findAllResponses(pageable))
+                .thenReturn(new PageImpl<>(responseDtoList, pageable, responseDtoList.size()));
 
         Page<ParkingSpotResponseDto> expectedPage = new PageImpl<>(responseDtoList, pageable, responseDtoList.size());
         Page<ParkingSpotResponseDto> actualPage = parkingSpotService.findAll(pageable);
@@ -97,21 +142,64 @@ class ParkingSpotServiceTest {
     }
 
 
+    @DisplayName("Test: Find All After Cursor")
+    @Test
+    public void testFindAllAfterCursor() {
+        Pageable pageable = PageRequest.ofSize(1);
+        ParkingSpotCursor cursor = new ParkingSpotCursor(Instant.parse("2023-05-01T12:00:00Z"), UUID.randomUUID());
+
+        when(parkingSpotRepository.findSliceAfter(cursor.registrationDate(), cursor.id(), pageable))
+                .thenReturn(new SliceImpl<>(List.of(parkingSpotModel), pageable, true));
+
+        ParkingSpotSliceResponseDto slice = parkingSpotService.findAllAfter(cursor.encode(), 1);
+
+        assertEquals(List.of(modelMapper.toResponseDto(parkingSpotModel)), slice.content());
+        assertTrue(slice.hasNext());
+        assertEquals(new ParkingSpotCursor(parkingSpotModel.getRegistrationDate(), parkingSpotModel.getId()),
+                ParkingSpotCursor.decode(slice.nextCursor()));
+        verify(parkingSpotRepository, never()).count();
+    }
+
+    @DisplayName("Test: Find All After Cursor (Last Slice)")
+    @Test
+    public void testFindAllAfterEmptyCursorOnLastSlice() {
+        Pageable pageable = PageRequest.ofSize(10);
+
+        when(parkingSpotRepository.findFirstSlice(pageable))
+                .thenReturn(new SliceImpl<>(List.of(parkingSpotModel), pageable, false));
+
+        ParkingSpotSliceResponseDto slice = parkingSpotService.findAllAfter("", 10);
+
+        assertFalse(slice.hasNext());
+        assertNull(slice.nextCursor());
+    }
+
+    @DisplayName("Test: Find All After Cursor (Invalid Cursor)")
+    @Test
+    public void testFindAllAfterInvalidCursor() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> parkingSpotService.findAllAfter("not-a-cursor", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(parkingSpotRepository);
+    }
+
     @DisplayName("Test: Find Parking Spot By ID (Existent ID)")
     @Test
     public void testFindParkingSpotByIdWithExistentId() {
         UUID id = parkingSpotModel.getId();
 
-        when(parkingSpotRepository.findById(id))
-                .thenReturn(Optional.of(parkingSpotModel));
-
         ParkingSpotResponseDto expectedResponse = modelMapper.toResponseDto(parkingSpotModel);
+
+        when(parkingSpotRepository.findResponseById(id))
+                .thenReturn(Optional.of(expectedResponse));
+
         ParkingSpotResponseDto actualResponse = parkingSpotService.findById(id);
 
         assertNotNull(actualResponse);
         assertEquals(actualResponse, expectedResponse);
 
-        verify(parkingSpotRepository).findById(id);
+        verify(parkingSpotRepository).findResponseById(id);
+        verify(parkingSpotRepository, never()).findById(id);
     }
 
     @DisplayName("Test: Find Parking Spot By ID (Non-Existent ID)")
@@ -119,19 +207,19 @@ class ParkingSpotServiceTest {
     public void testFindParkingSpotByIdWithNonExistentId() {
         UUID noExistentId = UUID.randomUUID();
 
-        when(parkingSpotRepository.findById(noExistentId))
+        when(parkingSpotRepository.findResponseById(noExistentId))
                 .thenReturn(Optional.empty());
 
-        assertThrows(ResponseStatusException.class, () -> parkingSpotService.findById(noExistentId));
+        assertThrows(ParkingSpotNotFoundException.class, () -> parkingSpotService.findById(noExistentId));
 
-        verify(parkingSpotRepository).findById(noExistentId);
+        verify(parkingSpotRepository).findResponseById(noExistentId);
     }
 
     @DisplayName("Test: Save Parking Spot (New Parking Spot)")
     @Test
     public void testSaveNewParkingSpot() {
 
-        when(parkingSpotRepository.save(any(ParkingSpotModel.class)))
+        when(parkingSpotRepository.saveAndFlush(any(ParkingSpotModel.class)))
                 .thenReturn(parkingSpotModel);
 
         ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
@@ -140,7 +228,14 @@ class ParkingSpotServiceTest {
         ParkingSpotResponseDto savedParkingSpot = parkingSpotService.save(requestDto);
 
         verify(parkingSpotRepository, times(1))
-                .save(any(ParkingSpotModel.class));
+                .findConflictingKeys(requestDto.getParkingSpotNumber(), requestDto.getLicensePlateCar(),
+                        requestDto.getApartment(), requestDto.getBlock());
+        verify(parkingSpotRepository, times(1))
+                .saveAndFlush(any(ParkingSpotModel.class));
+        verify(parkingSpotRepository, never()).existsByParkingSpotNumber(anyString());
+        verify(parkingSpotRepository, never()).existsByLicensePlateCar(anyString());
+        verify(parkingSpotRepository, never()).existsByApartmentAndBlock(anyString(), anyString());
+        verify(eventBroadcaster).created(parkingSpotModel.getId(), savedParkingSpot);
 
         assertEquals(responseDto.apartment(), savedParkingSpot.apartment());
         assertEquals(responseDto.parkingSpotNumber(), savedParkingSpot.parkingSpotNumber());
@@ -153,6 +248,37 @@ class ParkingSpotServiceTest {
         assertEquals(responseDto.registrationDate(), savedParkingSpot.registrationDate());
     }
 
+    @DisplayName("Test: Save Parking Spot (Registration Date From Clock)")
+    @Test
+    public void testSaveTakesRegistrationDateFromClock() {
+        when(parkingSpotRepository.saveAndFlush(any(ParkingSpotModel.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ParkingSpotResponseDto savedParkingSpot = parkingSpotService.save(modelMapper.toRequestDto(parkingSpotModel));
+
+        assertEquals(NOW, savedParkingSpot.registrationDate());
+    }
+
+    @DisplayName("Test: Save Parking Spot (Occupancy Index Reports No Conflict)")
+    @Test
+    public void testSaveSkipsConflictQueryWhenIndexReportsNoConflict() {
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+        ParkingSpotResponseDto expectedResponse = modelMapper.toResponseDto(parkingSpotModel);
+
+        when(occupancyIndex.isReady()).thenReturn(true);
+        when(occupancyIndex.mayConflict(requestDto.getParkingSpotNumber(), requestDto.getLicensePlateCar(),
+                requestDto.getApartment(), requestDto.getBlock()))
+                .thenReturn(false);
+        when(parkingSpotRepository.saveAndFlush(any(ParkingSpotModel.class)))
+                .thenReturn(parkingSpotModel);
+
+        parkingSpotService.save(requestDto);
+
+        verify(parkingSpotRepository, never())
+                .findConflictingKeys(anyString(), anyString(), anyString(), anyString());
+        verify(occupancyIndex).added(parkingSpotModel.getId(), modelMapper.toKeysDto(parkingSpotModel));
+    }
+
     @DisplayName("Test: Save Parking Spot (Null Fields)")
     @Test
     public void testSaveParkingSpotWithNullFields() {
@@ -165,10 +291,14 @@ class ParkingSpotServiceTest {
                 .apartment(null)
                 .block(null)
                 .build();
+        when(parkingSpotRepository.saveAndFlush(any(ParkingSpotModel.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
 
         ParkingSpotResponseDto savedParkingSpot = parkingSpotService.save(requestDto);
 
-        assertNull(savedParkingSpot);
+        assertNull(savedParkingSpot.parkingSpotNumber());
+        assertNull(savedParkingSpot.licensePlateCar());
+        assertNull(savedParkingSpot.block());
     }
 
     @DisplayName("Test: Save Parking Spot (Exists By Parking Spot Number)")
@@ -179,10 +309,15 @@ class ParkingSpotServiceTest {
         ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
         requestDto.setParkingSpotNumber(parkingSpotNumber);
 
-        when(parkingSpotRepository.existsByParkingSpotNumber(parkingSpotNumber))
-                .thenReturn(true);
+        when(parkingSpotRepository.findConflictingKeys(parkingSpotNumber, requestDto.getLicensePlateCar(),
+                requestDto.getApartment(), requestDto.getBlock()))
+                .thenReturn(List.of(new ParkingSpotKeysDto(parkingSpotNumber, "1111111", "99", "Z")));
 
-        assertThrows(ResponseStatusException.class, () -> parkingSpotService.save(requestDto));
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class, () -> parkingSpotService.save(requestDto));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        assertEquals(ConflictType.PARKING_SPOT_NUMBER, ex.getConflictType());
+        assertEquals("Parking Spot Number 85 already exists.", ex.getMessage());
+        verify(parkingSpotRepository, never()).saveAndFlush(any(ParkingSpotModel.class));
     }
 
     @DisplayName("Test: Save Parking Spot (Exists By License Plate Car)")
@@ -193,10 +328,13 @@ class ParkingSpotServiceTest {
         ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
         requestDto.setLicensePlateCar(licensePlateCar);
 
-        when(parkingSpotRepository.existsByLicensePlateCar(licensePlateCar))
-                .thenReturn(true);
+        when(parkingSpotRepository.findConflictingKeys(requestDto.getParkingSpotNumber(), licensePlateCar,
+                requestDto.getApartment(), requestDto.getBlock()))
+                .thenReturn(List.of(new ParkingSpotKeysDto("99", licensePlateCar, "99", "Z")));
 
-        assertThrows(ResponseStatusException.class, () -> parkingSpotService.save(requestDto));
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class, () -> parkingSpotService.save(requestDto));
+        assertEquals(ConflictType.LICENSE_PLATE_CAR, ex.getConflictType());
+        assertEquals("License Plate Car 0000000 already exists.", ex.getMessage());
     }
 
     @DisplayName("Test: Save - Exists by Apartment and Block")
@@ -209,10 +347,79 @@ class ParkingSpotServiceTest {
         requestDto.setApartment(apartment);
         requestDto.setBlock(block);
 
-        when(parkingSpotRepository.existsByApartmentAndBlock(apartment, block))
-                .thenReturn(true);
+        when(parkingSpotRepository.findConflictingKeys(requestDto.getParkingSpotNumber(), requestDto.getLicensePlateCar(),
+                apartment, block))
+                .thenReturn(List.of(new ParkingSpotKeysDto("99", "1111111", apartment, block)));
+
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class, () -> parkingSpotService.save(requestDto));
+        assertEquals(ConflictType.APARTMENT_AND_BLOCK, ex.getConflictType());
+        assertEquals("Apartment 16 and A block already exists.", ex.getMessage());
+    }
+
+    @DisplayName("Test: Save - Unique Constraint Violation From Concurrent Registration")
+    @Test
+    public void testSaveTranslatesUniqueConstraintViolation() {
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+
+        ConstraintViolationException cause = new ConstraintViolationException("duplicate key", null,
+                ParkingSpotModel.UK_LICENSE_PLATE_CAR.toLowerCase());
+        when(parkingSpotRepository.saveAndFlush(any(ParkingSpotModel.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key", cause));
+
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class, () -> parkingSpotService.save(requestDto));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        assertEquals("License Plate Car 0000000 already exists.", ex.getMessage());
+    }
+
+    @DisplayName("Test: Save All - Per Item Results")
+    @Test
+    public void testSaveAllReportsPerItemResults() {
+        ParkingSpotRequestDto created = modelMapper.toRequestDto(parkingSpotModel);
 
-        assertThrows(ResponseStatusException.class, () -> parkingSpotService.save(requestDto));
+        ParkingSpotRequestDto invalid = modelMapper.toRequestDto(parkingSpotModel);
+        invalid.setLicensePlateCar("123");
+
+        ParkingSpotRequestDto existing = modelMapper.toRequestDto(parkingSpotModel);
+        existing.setParkingSpotNumber("85");
+        existing.setLicensePlateCar("8585858");
+        existing.setApartment("85");
+
+        ParkingSpotRequestDto duplicated = modelMapper.toRequestDto(parkingSpotModel);
+        duplicated.setParkingSpotNumber("17A");
+        duplicated.setApartment("17");
+
+        when(parkingSpotRepository.findConflictingKeysIn(anyCollection(), anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of(new ParkingSpotKeysDto("85", "1111111", "99", "Z")));
+        when(parkingSpotRepository.saveAllAndFlush(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ParkingSpotBulkResponseDto response = parkingSpotService.saveAll(List.of(created, invalid, existing, duplicated));
+
+        assertEquals(1, response.created());
+        assertEquals(3, response.rejected());
+        assertEquals(ParkingSpotBulkItemResultDto.Status.CREATED, response.items().get(0).status());
+        assertEquals(ParkingSpotBulkItemResultDto.Status.INVALID, response.items().get(1).status());
+        assertEquals(ParkingSpotBulkItemResultDto.Status.CONFLICT, response.items().get(2).status());
+        assertEquals("Parking Spot Number 85 already exists.", response.items().get(2).error());
+        assertEquals(ParkingSpotBulkItemResultDto.Status.CONFLICT, response.items().get(3).status());
+        assertEquals("License Plate Car 0000000 already exists.", response.items().get(3).error());
+
+        verify(parkingSpotRepository, times(1))
+                .findConflictingKeysIn(anyCollection(), anyCollection(), anyCollection(), anyCollection());
+        verify(parkingSpotRepository, times(1)).saveAllAndFlush(anyList());
+    }
+
+    @DisplayName("Test: Save All - Too Many Items")
+    @Test
+    public void testSaveAllRejectsOversizedRequest() {
+        properties.getBulk().setMaxItems(1);
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> parkingSpotService.saveAll(List.of(requestDto, requestDto)));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getStatusCode());
+        verifyNoInteractions(parkingSpotRepository);
     }
 
     @DisplayName("Test: Delete - Existing ID")
@@ -220,12 +427,15 @@ class ParkingSpotServiceTest {
     public void testDeleteParkingSpotByID() {
         UUID id = parkingSpotModel.getId();
 
-        when(parkingSpotRepository.findById(id))
-                .thenReturn(Optional.of(parkingSpotModel));
+        when(parkingSpotRepository.deleteSpotById(id))
+                .thenReturn(1);
 
         parkingSpotService.deleteById(id);
 
-        verify(parkingSpotRepository, times(1)).deleteById(id);
+        verify(parkingSpotRepository, times(1)).deleteSpotById(id);
+        verify(parkingSpotRepository, never()).findById(id);
+        verify(parkingSpotRepository, never()).findKeysById(id);
+        verify(eventBroadcaster).deleted(id);
     }
 
     @DisplayName("Test: Delete - Non-Existing ID")
@@ -233,10 +443,13 @@ class ParkingSpotServiceTest {
     public void testDeleteParkingSpotByNonExistingID() {
         UUID id = UUID.randomUUID();
 
-        when(parkingSpotRepository.findById(id))
-                .thenReturn(Optional.empty());
+        when(parkingSpotRepository.deleteSpotById(id))
+                .thenReturn(0);
+
+        ParkingSpotNotFoundException ex = assertThrows(ParkingSpotNotFoundException.class, () -> parkingSpotService.deleteById(id));
 
-        assertThrows(ResponseStatusException.class, () -> parkingSpotService.deleteById(id));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        verifyNoInteractions(eventBroadcaster);
     }
 
     @DisplayName("Test: Exists by Apartment and Block")
@@ -255,6 +468,18 @@ class ParkingSpotServiceTest {
         assertTrue(existsByApartmentAndBlock);
     }
 
+    @DisplayName("Test: Exists by License Plate Car (Occupancy Index)")
+    @Test
+    public void testExistsByLicensePlateCarFromOccupancyIndex() {
+        String licensePlateCar = "0000000";
+
+        when(occupancyIndex.isReady()).thenReturn(true);
+        when(occupancyIndex.existsByLicensePlateCar(licensePlateCar)).thenReturn(true);
+
+        assertTrue(parkingSpotService.existsByLicensePlateCar(licensePlateCar));
+        verifyNoInteractions(parkingSpotRepository);
+    }
+
     @DisplayName("Test: Exists by License Plate Car")
     @Test
     public void testExistsByLicensePlateCar() {
@@ -285,20 +510,41 @@ class ParkingSpotServiceTest {
         assertTrue(existsByParkingSpotNumber);
     }
 
+    @DisplayName("Test: Export Parking Spots")
+    @Test
+    public void testExportAll() {
+        ParkingSpotModel other = modelMapper.toModel(modelMapper.toRequestDto(parkingSpotModel), clock);
+        other.setParkingSpotNumber("17A");
+        when(parkingSpotRepository.streamAll())
+                .thenReturn(Stream.of(parkingSpotModel, other));
+
+        List<ParkingSpotResponseDto> exported = new ArrayList<>();
+        parkingSpotService.exportAll(exported::add);
+
+        assertEquals(List.of("16A", "17A"), exported.stream().map(ParkingSpotResponseDto::parkingSpotNumber).toList());
+        verify(entityManager).detach(parkingSpotModel);
+        verify(entityManager).detach(other);
+    }
+
     @DisplayName("Test: Update Parking Spot")
     @Test
     public void testUpdateParkingSpot() {
         UUID id = parkingSpotModel.getId();
         parkingSpotModel.setApartment("85");
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+        ParkingSpotResponseDto expectedResponse = modelMapper.toResponseDto(parkingSpotModel);
 
-        when(parkingSpotRepository.findById(id))
-                .thenReturn(Optional.of(parkingSpotModel));
+        when(parkingSpotRepository.updateSpotById(id, "16A", "0000000", "Hyundai", "Veloster", "Black", "Anyone", "85", "A"))
+                .thenReturn(1);
+        when(parkingSpotRepository.findResponseById(id))
+                .thenReturn(Optional.of(expectedResponse));
 
-        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
-        ParkingSpotResponseDto responseDto = parkingSpotService.update(id, requestDto);
+        ParkingSpotResponseDto responseDto = parkingSpotService.update(id, requestDto, null);
 
-        verify(parkingSpotRepository, times(1))
-                .save(any(ParkingSpotModel.class));
+        verify(parkingSpotRepository, never()).findById(id);
+        verify(parkingSpotRepository, never()).saveAndFlush(any(ParkingSpotModel.class));
+        verify(eventBroadcaster).updated(id, expectedResponse);
+        assertEquals(parkingSpotModel.getRegistrationDate(), responseDto.registrationDate());
 
         assertEquals(responseDto.apartment(), requestDto.getApartment());
         assertEquals(responseDto.parkingSpotNumber(), requestDto.getParkingSpotNumber());
@@ -311,4 +557,84 @@ class ParkingSpotServiceTest {
         assertNotNull(responseDto.registrationDate());
     }
 
-}
\ No newline at end of file
+    @DisplayName("Test: Update Parking Spot (Non-Existent ID)")
+    @Test
+    public void testUpdateParkingSpotWithNonExistentId() {
+        UUID id = UUID.randomUUID();
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+
+        ParkingSpotNotFoundException ex = assertThrows(ParkingSpotNotFoundException.class, () -> parkingSpotService.update(id, requestDto, null));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        verify(parkingSpotRepository, never()).findResponseById(id);
+    }
+
+    @DisplayName("Test: Update Parking Spot (Unique Constraint Violated)")
+    @Test
+    public void testUpdateParkingSpotViolatingUniqueConstraint() {
+        UUID id = parkingSpotModel.getId();
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+
+        when(parkingSpotRepository.updateSpotById(eq(id), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("duplicate", null, ParkingSpotModel.UK_LICENSE_PLATE_CAR)));
+
+        ParkingSpotConflictException ex = assertThrows(ParkingSpotConflictException.class, () -> parkingSpotService.update(id, requestDto, null));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        assertEquals("License Plate Car 0000000 already exists.", ex.getMessage());
+    }
+
+    @DisplayName("Test: Update Parking Spot (Occupancy Index Ready)")
+    @Test
+    public void testUpdateParkingSpotMaintainsOccupancyIndex() {
+        UUID id = parkingSpotModel.getId();
+        ParkingSpotKeysDto previousKeys = modelMapper.toKeysDto(parkingSpotModel);
+        parkingSpotModel.setLicensePlateCar("1111111");
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+        ParkingSpotResponseDto expectedResponse = modelMapper.toResponseDto(parkingSpotModel);
+
+        when(occupancyIndex.isEnabled()).thenReturn(true);
+        when(parkingSpotRepository.findKeysById(id)).thenReturn(Optional.of(previousKeys));
+        when(parkingSpotRepository.updateSpotById(eq(id), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(1);
+        when(parkingSpotRepository.findResponseById(id))
+                .thenReturn(Optional.of(expectedResponse));
+
+        parkingSpotService.update(id, requestDto, null);
+
+        verify(occupancyIndex).replaced(id, previousKeys, new ParkingSpotKeysDto("16A", "1111111", "16", "A"));
+    }
+
+    @DisplayName("Test: Update Parking Spot (Stale Version)")
+    @Test
+    public void testUpdateParkingSpotWithStaleVersion() {
+        UUID id = parkingSpotModel.getId();
+        ParkingSpotRequestDto requestDto = modelMapper.toRequestDto(parkingSpotModel);
+
+        when(parkingSpotRepository.updateSpotByIdAndVersion(eq(id), eq(3L), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(0);
+        when(parkingSpotRepository.existsById(id))
+                .thenReturn(true);
+
+        ParkingSpotModifiedException ex = assertThrows(ParkingSpotModifiedException.class, () -> parkingSpotService.update(id, requestDto, 3L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getStatus());
+        verify(parkingSpotRepository, never()).updateSpotById(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @DisplayName("Test: Search (Empty Registration Range)")
+    @Test
+    public void testSearchWithEmptyRegistrationRange() {
+        ParkingSpotSearchDto search = new ParkingSpotSearchDto(null, null, null, null, null, null, NOW, NOW);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> parkingSpotService.search(search, PageRequest.of(0, 10)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(parkingSpotRepository);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.api.parkingcontrol.sessions;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import com.api.parkingcontrol.models.ParkingSessionEventModel;
+import com.api.parkingcontrol.repositories.ParkingSessionEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * The log writer against a stubbed repository: callers never wait longer than the write timeout allows, and
+ * never on a writer that has stopped.
+ */
+class ParkingSessionLogTest {
+    private ParkingSessionEventRepository eventRepository;
+    private ParkingSessionLog sessionLog;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getSessions().setWriteTimeout(Duration.ofSeconds(1));
+        eventRepository = mock(ParkingSessionEventRepository.class);
+        sessionLog = new ParkingSessionLog(eventRepository, mock(PlatformTransactionManager.class),
+                mock(JdbcTemplate.class), properties);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        sessionLog.destroy();
+    }
+
+    @DisplayName("Test: Session Log - Event Not Picked Up In Time Is Withdrawn")
+    @Test
+    public void testQueuedEventTimesOut() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ParkingSessionEventModel first = event();
+        ParkingSessionEventModel second = event();
+        when(eventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+
+        Future<?> written = executor.submit(() -> sessionLog.append(first));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertThrows(RequestThrottledException.class, () -> sessionLog.append(second));
+        release.countDown();
+
+        written.get(5, TimeUnit.SECONDS);
+        verify(eventRepository).saveAll(List.of(first));
+    }
+
+    @DisplayName("Test: Session Log - Writer Stopped By An Error Fails Its Callers")
+    @Test
+    public void testWriterErrorFailsPendingEvents() {
+        when(eventRepository.saveAll(anyList())).thenThrow(new StackOverflowError());
+
+        long start = System.nanoTime();
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> sessionLog.append(event()));
+        assertEquals("Parking session log is closed.", ex.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        assertThrows(IllegalStateException.class, () -> sessionLog.append(event()));
+    }
+
+    private static ParkingSessionEventModel event() {
+        return ParkingSessionEventModel.builder()
+                .sessionId(UUID.randomUUID())
+                .facility("default")
+                .parkingSpotId(UUID.randomUUID())
+                .licensePlateCar("ABC1234")
+                .type(ParkingSessionEventModel.Type.CHECK_IN)
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.api.parkingcontrol.throttling;
+
+import com.api.parkingcontrol.config.ParkingSpotProperties;
+import com.api.parkingcontrol.config.ThrottlingConfig;
+import com.api.parkingcontrol.exceptions.GlobalExceptionHandler;
+import com.api.parkingcontrol.exceptions.RequestThrottledException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The rate limiter against a hand-driven clock, and the concurrency limiter with latencies fed in directly.
+ */
+class ThrottlingTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-05-01T12:00:00Z"));
+
+    @DisplayName("Test: Rate Limit - Burst Then Refill Per Client")
+    @Test
+    public void testRateLimitBurstAndRefill() {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setRequestsPerSecond(10);
+        properties.getRateLimit().setBurst(5);
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, clock);
+
+        for (int n = 0; n < 5; n++)
+            assertEquals(0, limiter.acquire("gate-1"));
+        long waitNanos = limiter.acquire("gate-1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+        assertEquals(0, limiter.acquire("gate-2"));
+
+        clock.advance(Duration.ofMillis(100));
+        assertEquals(0, limiter.acquire("gate-1"));
+        assertTrue(limiter.acquire("gate-1") > 0);
+
+        clock.advance(Duration.ofSeconds(1));
+        limiter.evictFullBuckets();
+        for (int n = 0; n < 5; n++)
+            assertEquals(0, limiter.acquire("gate-1"));
+    }
+
+    @DisplayName("Test: Rate Limit - Client Id Header")
+    @Test
+    public void testRateLimitByClientIdHeader() {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setClientIdHeader("X-Client-Id");
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, clock);
+
+        assertTrue(limiter.preHandle(request("camera-1"), new MockHttpServletResponse(), null));
+        assertTrue(limiter.preHandle(request("camera-2"), new MockHttpServletResponse(), null));
+        RequestThrottledException ex = assertThrows(RequestThrottledException.class,
+                () -> limiter.preHandle(request("camera-1"), new MockHttpServletResponse(), null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+
+        ResponseEntity<ProblemDetail> response = new GlobalExceptionHandler()
+                .handleRequestThrottledException(ex, request("camera-1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        assertEquals(URI.create("/problems/rate-limited"), response.getBody().getType());
+    }
+
+    @DisplayName("Test: Rate Limit - Refuses To Key Proxied Clients By Remote Address")
+    @Test
+    public void testRateLimitNeedsClientIdentity() {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        ServerProperties serverProperties = new ServerProperties();
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(properties, clock);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties);
+
+        assertDoesNotThrow(() -> new ThrottlingConfig(rateLimiter, concurrencyLimiter, properties, serverProperties));
+
+        properties.getRateLimit().setEnabled(true);
+        assertThrows(IllegalStateException.class,
+                () -> new ThrottlingConfig(rateLimiter, concurrencyLimiter, properties, serverProperties));
+
+        serverProperties.setForwardHeadersStrategy(ServerProperties.ForwardHeadersStrategy.NATIVE);
+        assertDoesNotThrow(() -> new ThrottlingConfig(rateLimiter, concurrencyLimiter, properties, serverProperties));
+
+        serverProperties.setForwardHeadersStrategy(ServerProperties.ForwardHeadersStrategy.NONE);
+        properties.getRateLimit().setClientIdHeader("X-Client-Id");
+        assertDoesNotThrow(() -> new ThrottlingConfig(rateLimiter, concurrencyLimiter, properties, serverProperties));
+    }
+
+    @DisplayName("Test: Concurrency Limit - Sheds Beyond The Limit")
+    @Test
+    public void testConcurrencyLimitSheds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(concurrencyProperties(4));
+
+        for (int n = 0; n < 4; n++)
+            assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @DisplayName("Test: Concurrency Limit - Follows Latency")
+    @Test
+    public void testConcurrencyLimitFollowsLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(concurrencyProperties(20));
+
+        for (int window = 0; window < 10; window++)
+            busyWindow(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        int healthy = limiter.getLimit();
+        assertTrue(healthy > 20, "limit grows while latency is flat: " + healthy);
+
+        for (int window = 0; window < 5; window++)
+            busyWindow(limiter, TimeUnit.MILLISECONDS.toNanos(50));
+        int slow = limiter.getLimit();
+        assertTrue(slow < healthy, "limit shrinks when latency climbs: " + slow);
+        assertTrue(slow >= 4);
+    }
+
+    @DisplayName("Test: Concurrency Limit - No Growth While Idle")
+    @Test
+    public void testConcurrencyLimitIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(concurrencyProperties(20));
+
+        for (int window = 0; window < 10; window++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+            limiter.updateLimit();
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private static void busyWindow(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        int permits = limiter.getLimit();
+        for (int n = 0; n < permits; n++)
+            assertTrue(limiter.tryAcquire());
+        for (int n = 0; n < permits; n++)
+            limiter.release(latencyNanos);
+        limiter.updateLimit();
+    }
+
+    private static ParkingSpotProperties concurrencyProperties(int initialLimit) {
+        ParkingSpotProperties properties = new ParkingSpotProperties();
+        properties.getConcurrencyLimit().setInitialLimit(initialLimit);
+        properties.getConcurrencyLimit().setMinLimit(4);
+        properties.getConcurrencyLimit().setWindow(Duration.ofHours(1));
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/api/v1/parking-spot");
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.api.parkingcontrol.reactive;
+
+import com.api.parkingcontrol.PostgreSqlTestDatabase;
+import com.api.parkingcontrol.dtos.ParkingSpotRequestDto;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive endpoints on Netty and R2DBC against the PostgreSQL schema the servlet application migrates: the
+ * problem responses of conflicts, unknown ids and stale versions, and conditional reads.
+ */
+@EnabledIf("com.api.parkingcontrol.PostgreSqlTestDatabase#isAvailable")
+@SpringBootTest(classes = ReactiveParkingControlApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveParkingSpotControllerPostgreSqlTest {
+    private static final String PATH = "/rest/api/v1/parking-spot";
+
+    private static DriverManagerDataSource dataSource;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * The reactive application does not migrate, so the schema is created here as the servlet application would.
+     */
+    @DynamicPropertySource
+    static void postgreSql(DynamicPropertyRegistry registry) {
+        String url = PostgreSqlTestDatabase.createDatabase();
+        dataSource = new DriverManagerDataSource(url, PostgreSqlTestDatabase.username(), PostgreSqlTestDatabase.password());
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        registry.add("spring.r2dbc.url", () -> url.replaceFirst("^jdbc:", "r2dbc:"));
+        registry.add("spring.r2dbc.username", PostgreSqlTestDatabase::username);
+        registry.add("spring.r2dbc.password", PostgreSqlTestDatabase::password);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new JdbcTemplate(dataSource).update("DELETE FROM tb_parking_spot");
+    }
+
+    @DisplayName("Test: Reactive - Taken License Plate Answered With Conflict")
+    @Test
+    public void testConflict() {
+        save(request("16A", "0000000", "16", "A"));
+
+        post(request("17A", "0000000", "17", "A"))
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("/problems/license-plate-car-taken")
+                .jsonPath("$.instance").isEqualTo(PATH);
+    }
+
+    /**
+     * The other writer has inserted the same plate but not committed when the pre-check runs, so the INSERT waits
+     * on the unique index and fails once that writer commits.
+     */
+    @DisplayName("Test: Reactive - Racing Registration Answered With Conflict")
+    @Test
+    public void testRacingRegistration() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO tb_parking_spot (id, facility, "
+                    + "parking_spot_number, license_plate_car, brand_car, model_car, color_car, registration_date, "
+                    + "responsible_name, apartment, block) VALUES (?, 'default', '16A', '0000000', 'Hyundai', "
+                    + "'Veloster', 'Black', ?, 'Anyone', '16', 'A')")) {
+                statement.setObject(1, UUID.randomUUID());
+                statement.setTimestamp(2, Timestamp.from(Instant.now()));
+                statement.executeUpdate();
+            }
+
+            CompletableFuture<WebTestClient.ResponseSpec> response = CompletableFuture.supplyAsync(
+                    () -> post(request("17A", "0000000", "17", "A")));
+            awaitLockWait();
+            connection.commit();
+
+            response.get(10, TimeUnit.SECONDS)
+                    .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                    .expectBody()
+                    .jsonPath("$.type").isEqualTo("/problems/license-plate-car-taken");
+        }
+    }
+
+    @DisplayName("Test: Reactive - Unknown Id Answered With Not Found")
+    @Test
+    public void testNotFound() {
+        webTestClient.get().uri(PATH + "/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("/problems/parking-spot-not-found");
+    }
+
+    @DisplayName("Test: Reactive - Stale If-Match Answered With Precondition Failed")
+    @Test
+    public void testStaleIfMatch() {
+        UUID id = save(request("16A", "0000000", "16", "A"));
+        String eTag = eTag(id);
+        String updatedETag = webTestClient.put().uri(PATH + "/{id}", id)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(request("16A", "0000000", "16", "B"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        assertNotEquals(eTag, updatedETag);
+
+        webTestClient.put().uri(PATH + "/{id}", id)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(request("16A", "0000000", "16", "C"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("/problems/parking-spot-modified");
+
+        webTestClient.put().uri(PATH + "/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "W/" + updatedETag)
+                .bodyValue(request("16A", "0000000", "16", "C"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @DisplayName("Test: Reactive - Matching If-None-Match Answered With Not Modified")
+    @Test
+    public void testNotModified() {
+        UUID id = save(request("16A", "0000000", "16", "A"));
+
+        webTestClient.get().uri(PATH + "/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag(id))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @DisplayName("Test: Reactive - Smile Representation Has Its Own ETag")
+    @Test
+    public void testETagPerRepresentation() {
+        UUID id = save(request("16A", "0000000", "16", "A"));
+        String eTag = eTag(id);
+
+        String smileETag = webTestClient.get().uri(PATH + "/{id}", id)
+                .accept(MediaType.valueOf("application/x-jackson-smile"))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+        assertEquals(eTag.replaceFirst("\"$", "-x-jackson-smile\""), smileETag);
+
+        webTestClient.put().uri(PATH + "/{id}", id)
+                .header(HttpHeaders.IF_MATCH, smileETag)
+                .bodyValue(request("16A", "0000000", "16", "B"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private WebTestClient.ResponseSpec post(ParkingSpotRequestDto request) {
+        return webTestClient.post().uri(PATH).bodyValue(request).exchange();
+    }
+
+    /**
+     * Registers a spot and returns its id, which the response body does not carry.
+     */
+    private UUID save(ParkingSpotRequestDto request) {
+        post(request).expectStatus().isCreated();
+        return new JdbcTemplate(dataSource).queryForObject("SELECT id FROM tb_parking_spot WHERE license_plate_car = ?",
+                UUID.class, request.getLicensePlateCar());
+    }
+
+    private String eTag(UUID id) {
+        String eTag = webTestClient.get().uri(PATH + "/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    /**
+     * Waits until a statement of the application blocks on a row lock.
+     */
+    private static void awaitLockWait() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE datname = current_database() "
+                + "AND wait_event_type = 'Lock'", Integer.class) == 0) {
+            if (System.nanoTime() > deadline)
+                fail("The registration never waited on the uncommitted row.");
+            Thread.sleep(20);
+        }
+    }
+
+    private static ParkingSpotRequestDto request(String parkingSpotNumber, String licensePlateCar, String apartment, String block) {
+        return ParkingSpotRequestDto.builder()
+                .parkingSpotNumber(parkingSpotNumber)
+                .licensePlateCar(licensePlateCar)
+                .brandCar("Hyundai")
+                .modelCar("Veloster")
+                .colorCar("Black")
+                .responsibleName("Anyone")
+                .apartment(apartment)
+                .block(block)
+                .build();
+    }
+}